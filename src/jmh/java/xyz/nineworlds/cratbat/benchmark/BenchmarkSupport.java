@@ -0,0 +1,80 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.registries.RegistryObject;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
+import xyz.nineworlds.cratbat.CratBatConfig;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.integration.BatFormTracker;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+
+/**
+ * Shared setup for the benchmarks.
+ * Bootstraps the vanilla registries and binds the mod's item registry objects
+ * to vanilla stand-ins, since Forge registration does not run outside the game.
+ */
+final class BenchmarkSupport {
+    static final String TARGET_NAME = "TestCrat";
+    static final String TARGET_UUID = "550e8400-e29b-41d4-a716-446655440000";
+    static final String TARGET_TEXTURE = "http://textures.minecraft.net/texture/1a4af718455d4aab528e7a61f86fa25e6a369d1768dcb13f7df319a713eb810b";
+
+    /** Stand-in for the CratBat item. */
+    static final Item CRATBAT_STAND_IN = Items.NETHERITE_SWORD;
+    /** Stand-in for the Bat Wing item. */
+    static final Item BAT_WING_STAND_IN = Items.PHANTOM_MEMBRANE;
+    /** Stand-in for the Crank Skull item, any skull other than the plain player head. */
+    static final Item CRANK_SKULL_STAND_IN = Items.WITHER_SKELETON_SKULL;
+
+    private static boolean initialized;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Bootstraps Minecraft and the mod's static state. Safe to call more than once.
+     */
+    static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        bind(CratBatMod.CRATBAT, CRATBAT_STAND_IN);
+        bind(CratBatMod.BAT_WING, BAT_WING_STAND_IN);
+        bind(CratBatMod.CRANK_SKULL, CRANK_SKULL_STAND_IN);
+
+        CratBatConfig.setLocalSnapshot(new ConfigSnapshot(TARGET_NAME, TARGET_UUID, TARGET_TEXTURE, false));
+        CratBatConfig.clearServerConfig();
+        initialized = true;
+    }
+
+    /**
+     * Marks a player as being in bat form, as the server tick would.
+     */
+    static void markInBatForm(UUID uuid) {
+        try {
+            Field field = BatFormTracker.class.getDeclaredField("IN_BAT_FORM");
+            field.setAccessible(true);
+            ((UuidHashSet) field.get(null)).add(uuid);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to mark bat form", e);
+        }
+    }
+
+    private static <T> void bind(RegistryObject<T> registryObject, T value) {
+        try {
+            Field field = RegistryObject.class.getDeclaredField("value");
+            field.setAccessible(true);
+            field.set(registryObject, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to bind " + registryObject.getId(), e);
+        }
+    }
+}
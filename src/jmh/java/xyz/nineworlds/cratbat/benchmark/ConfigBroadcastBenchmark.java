@@ -0,0 +1,96 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.network.ConfigFanOut;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+import xyz.nineworlds.cratbat.network.LegacyConfigSyncPacket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a config broadcast to many connections: encoding the packet for
+ * every recipient, as CHANNEL.send per player does, against encoding it once
+ * with ConfigFanOut. Each simulated connection writes the packet into its
+ * outbound buffer the way the vanilla packet encoder would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBroadcastBenchmark {
+    private static final ResourceLocation CHANNEL_NAME = ResourceLocation.fromNamespaceAndPath(CratBatMod.MODID, "main");
+    // Discriminators the packets are registered under in CratBatNetwork
+    private static final int LEGACY_CONFIG_ID = 0;
+    private static final int CONFIG_ID = 4;
+
+    @Param({"500"})
+    public int connections;
+
+    private ConfigSyncPacket config;
+    private FriendlyByteBuf wire;
+
+    @Setup
+    public void setUp() {
+        config = new ConfigSyncPacket(BenchmarkSupport.TARGET_NAME, BenchmarkSupport.TARGET_UUID,
+                BenchmarkSupport.TARGET_TEXTURE, true);
+        wire = new FriendlyByteBuf(Unpooled.buffer(256));
+    }
+
+    @Benchmark
+    public long encodePerRecipient() {
+        long written = 0;
+        for (int i = 0; i < connections; i++) {
+            written += send(toVanillaPacket(config));
+        }
+        return written;
+    }
+
+    @Benchmark
+    public long encodeOnce() {
+        ConfigFanOut fanOut = new ConfigFanOut(config, ConfigBroadcastBenchmark::toVanillaPacket);
+        long written = 0;
+        for (int i = 0; i < connections; i++) {
+            written += send(fanOut.packetFor(false));
+        }
+        return written;
+    }
+
+    private int send(Packet<?> packet) {
+        wire.clear();
+        packet.write(wire);
+        return wire.writerIndex();
+    }
+
+    /**
+     * Mirrors SimpleChannel.toVanillaPacket without needing a registered channel.
+     */
+    private static Packet<?> toVanillaPacket(Object message) {
+        FriendlyByteBuf payload = new FriendlyByteBuf(Unpooled.buffer());
+        if (message instanceof LegacyConfigSyncPacket legacy) {
+            payload.writeByte(LEGACY_CONFIG_ID);
+            legacy.encode(payload);
+        } else {
+            payload.writeByte(CONFIG_ID);
+            ((ConfigSyncPacket) message).encode(payload);
+        }
+        return new ClientboundCustomPayloadPacket(CHANNEL_NAME, payload);
+    }
+}
@@ -0,0 +1,71 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ConfigSyncPacket encoding and decoding into a reused buffer,
+ * in both the compact and the legacy wire formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigSyncPacketBenchmark {
+    private ConfigSyncPacket packet;
+    private FriendlyByteBuf encodeBuffer;
+    private FriendlyByteBuf decodeBuffer;
+    private FriendlyByteBuf legacyDecodeBuffer;
+
+    @Setup
+    public void setUp() {
+        packet = new ConfigSyncPacket(BenchmarkSupport.TARGET_NAME, BenchmarkSupport.TARGET_UUID,
+                BenchmarkSupport.TARGET_TEXTURE, true);
+        encodeBuffer = new FriendlyByteBuf(Unpooled.buffer(256));
+        decodeBuffer = new FriendlyByteBuf(Unpooled.buffer(256));
+        packet.encode(decodeBuffer);
+        legacyDecodeBuffer = new FriendlyByteBuf(Unpooled.buffer(256));
+        packet.encodeLegacy(legacyDecodeBuffer);
+    }
+
+    @Benchmark
+    public int encode() {
+        encodeBuffer.clear();
+        packet.encode(encodeBuffer);
+        return encodeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public ConfigSyncPacket decode() {
+        decodeBuffer.readerIndex(0);
+        return ConfigSyncPacket.decode(decodeBuffer);
+    }
+
+    @Benchmark
+    public int encodeLegacy() {
+        encodeBuffer.clear();
+        packet.encodeLegacy(encodeBuffer);
+        return encodeBuffer.writerIndex();
+    }
+
+    @Benchmark
+    public ConfigSyncPacket decodeLegacy() {
+        legacyDecodeBuffer.readerIndex(0);
+        return ConfigSyncPacket.decodeLegacy(legacyDecodeBuffer);
+    }
+}
@@ -0,0 +1,66 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.item.CrankSkullItem;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating and identifying Crank Skulls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrankSkullBenchmark {
+    private ItemStack crankSkull;
+    private ItemStack plainHead;
+    private ItemStack otherItem;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.init();
+        crankSkull = CrankSkullItem.createCrankSkull();
+        plainHead = new ItemStack(Items.PLAYER_HEAD);
+        otherItem = new ItemStack(Items.STICK);
+    }
+
+    @Benchmark
+    public ItemStack createCrankSkull() {
+        return CrankSkullItem.createCrankSkull();
+    }
+
+    @Benchmark
+    public List<ItemStack> createCrankSkulls100() {
+        return CrankSkullItem.createCrankSkulls(100);
+    }
+
+    @Benchmark
+    public boolean isCrankSkull() {
+        return CrankSkullItem.isCrankSkull(crankSkull);
+    }
+
+    @Benchmark
+    public boolean isCrankSkullPlainHead() {
+        return CrankSkullItem.isCrankSkull(plainHead);
+    }
+
+    @Benchmark
+    public boolean isCrankSkullOtherItem() {
+        return CrankSkullItem.isCrankSkull(otherItem);
+    }
+}
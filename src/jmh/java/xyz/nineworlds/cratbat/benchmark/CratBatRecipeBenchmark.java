@@ -0,0 +1,88 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.CraftingBookCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.item.CrankSkullItem;
+import xyz.nineworlds.cratbat.recipe.CratBatRecipe;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmarks CratBatRecipe.matches against a valid grid, a grid that fails on
+ * the first slot, and a grid that fails only on the Crank Skull check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CratBatRecipeBenchmark {
+    private CratBatRecipe recipe;
+    private CraftingContainer validGrid;
+    private CraftingContainer emptyGrid;
+    private CraftingContainer plainHeadGrid;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.init();
+        recipe = new CratBatRecipe(ResourceLocation.fromNamespaceAndPath(CratBatMod.MODID, "cratbat"), CraftingBookCategory.EQUIPMENT);
+
+        ItemStack batWing = new ItemStack(BenchmarkSupport.BAT_WING_STAND_IN);
+        ItemStack stick = new ItemStack(Items.STICK);
+        validGrid = grid(batWing, CrankSkullItem.createCrankSkull(), batWing, stick);
+        emptyGrid = grid(ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY, ItemStack.EMPTY);
+        plainHeadGrid = grid(batWing, new ItemStack(Items.PLAYER_HEAD), batWing, stick);
+    }
+
+    @Benchmark
+    public boolean matchesValid() {
+        return recipe.matches(validGrid, null);
+    }
+
+    @Benchmark
+    public boolean matchesEmpty() {
+        return recipe.matches(emptyGrid, null);
+    }
+
+    @Benchmark
+    public boolean matchesPlainHead() {
+        return recipe.matches(plainHeadGrid, null);
+    }
+
+    /**
+     * Builds a 3x3 grid laid out as the CratBat pattern with the given stacks.
+     */
+    private static CraftingContainer grid(ItemStack left, ItemStack center, ItemStack right, ItemStack handle) {
+        ItemStack[] slots = {
+                left, center, right,
+                ItemStack.EMPTY, handle, ItemStack.EMPTY,
+                ItemStack.EMPTY, handle, ItemStack.EMPTY
+        };
+        CraftingContainer container = mock(CraftingContainer.class, withSettings().stubOnly());
+        for (int i = 0; i < slots.length; i++) {
+            when(container.getItem(i)).thenReturn(slots[i]);
+        }
+        when(container.getWidth()).thenReturn(3);
+        when(container.getHeight()).thenReturn(3);
+        return container;
+    }
+}
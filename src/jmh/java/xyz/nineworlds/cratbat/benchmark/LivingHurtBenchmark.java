@@ -0,0 +1,130 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.entity.living.LivingHurtEvent;
+import org.mockito.MockSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
+import xyz.nineworlds.cratbat.event.CratBatEventHandler;
+import xyz.nineworlds.cratbat.event.CratBatHolderTracker;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmarks CratBatEventHandler.onLivingHurt for each branch of the hit pipeline.
+ * Entities and events are stub-only mocks, so scores include mock dispatch and
+ * are best read relative to each other and to the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LivingHurtBenchmark {
+    private static final UUID ATTACKER_UUID = UUID.fromString("12345678-1234-1234-1234-123456789012");
+    private static final UUID BYSTANDER_UUID = UUID.fromString("87654321-4321-4321-4321-210987654321");
+
+    /**
+     * non_holder: the attacker is not holding a CratBat (the common case).
+     * non_target: a CratBat hits a player who is not a Crat.
+     * target: a CratBat hits a Crat who is not in bat form.
+     * shielded: a CratBat hits a Crat wearing a CratBat Shield.
+     * bat_form: a CratBat swats a Crat in bat form.
+     */
+    @Param({"non_holder", "non_target", "target", "shielded", "bat_form"})
+    public String scenario;
+
+    private CratBatEventHandler handler;
+    private LivingHurtEvent event;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.init();
+        handler = new CratBatEventHandler();
+
+        UUID victimUuid = scenario.equals("non_target") ? BYSTANDER_UUID : UUID.fromString(BenchmarkSupport.TARGET_UUID);
+        CratTargetRegistry.setConfiguredTarget(BenchmarkSupport.TARGET_UUID);
+        if (scenario.equals("shielded")) {
+            ShieldProtectionCache.onEquip(victimUuid);
+        }
+        if (scenario.equals("bat_form")) {
+            BenchmarkSupport.markInBatForm(victimUuid);
+        }
+
+        Player attacker = mock(Player.class, stubOnly());
+        ItemStack mainHand = new ItemStack(BenchmarkSupport.CRATBAT_STAND_IN);
+        when(attacker.getUUID()).thenReturn(ATTACKER_UUID);
+        when(attacker.getMainHandItem()).thenReturn(mainHand);
+        if (!scenario.equals("non_holder")) {
+            CratBatHolderTracker.update(attacker, mainHand);
+        }
+
+        Player victim = mock(Player.class, stubOnly());
+        Level level = mockLevel();
+        when(victim.getUUID()).thenReturn(victimUuid);
+        when(victim.level()).thenReturn(level);
+
+        DamageSource source = mock(DamageSource.class, stubOnly());
+        when(source.getEntity()).thenReturn(attacker);
+
+        event = mock(LivingHurtEvent.class, stubOnly());
+        when(event.getSource()).thenReturn(source);
+        when(event.getEntity()).thenReturn(victim);
+    }
+
+    @Benchmark
+    public void onLivingHurt() {
+        handler.onLivingHurt(event);
+    }
+
+    /**
+     * Builds a level whose registries resolve the crat_bat_strike damage type.
+     */
+    @SuppressWarnings("unchecked")
+    private static Level mockLevel() {
+        Holder.Reference<DamageType> damageType = mock(Holder.Reference.class, stubOnly());
+        Registry<DamageType> damageTypes = mock(Registry.class, stubOnly());
+        doReturn(damageType).when(damageTypes).getHolderOrThrow(any());
+
+        RegistryAccess registryAccess = mock(RegistryAccess.class, stubOnly());
+        doReturn(damageTypes).when(registryAccess).registryOrThrow(Registries.DAMAGE_TYPE);
+
+        Level level = mock(Level.class, stubOnly());
+        when(level.registryAccess()).thenReturn(registryAccess);
+        return level;
+    }
+
+    /**
+     * Stub-only mocks do not record invocations, so they do not grow over millions of calls.
+     */
+    private static MockSettings stubOnly() {
+        return withSettings().stubOnly();
+    }
+}
@@ -0,0 +1,97 @@
+package xyz.nineworlds.cratbat.benchmark;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import xyz.nineworlds.cratbat.util.PlayerTextureUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks PlayerTextureUtil.getTextureUrl for a profile carrying a signed
+ * textures property and for one that falls back to the UUID-based URL.
+ *
+ * The property is laid out like a real session server response: pretty
+ * printed, with a slim model, a cape and a 684 character signature.
+ * getTextureUrl answers it from the cache, decodeSkinUrl measures the
+ * single-pass scanner on a miss, and gsonBaseline the full Gson parse every
+ * lookup used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerTextureUtilBenchmark {
+    private GameProfile texturedProfile;
+    private GameProfile bareProfile;
+    private String propertyValue;
+
+    @Setup
+    public void setUp() {
+        UUID uuid = UUID.fromString(BenchmarkSupport.TARGET_UUID);
+        String json = "{\n  \"timestamp\" : 1700000000000,\n  \"profileId\" : \"" + uuid.toString().replace("-", "")
+                + "\",\n  \"profileName\" : \"" + BenchmarkSupport.TARGET_NAME
+                + "\",\n  \"signatureRequired\" : true,\n  \"textures\" : {\n    \"SKIN\" : {\n      \"url\" : \""
+                + BenchmarkSupport.TARGET_TEXTURE + "\",\n      \"metadata\" : {\n        \"model\" : \"slim\"\n      }\n"
+                + "    },\n    \"CAPE\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/"
+                + "2340c0e03dd24a11b15a8b33c2a7e9e32abb2051b2481d0ba7defd635ca7a933\"\n    }\n  }\n}";
+        propertyValue = Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+        // Session server signatures are 512 byte RSA signatures, base64 encoded
+        byte[] signature = new byte[512];
+        new Random(42).nextBytes(signature);
+
+        texturedProfile = new GameProfile(uuid, BenchmarkSupport.TARGET_NAME);
+        texturedProfile.getProperties().put("textures",
+                new Property("textures", propertyValue, Base64.getEncoder().encodeToString(signature)));
+        bareProfile = new GameProfile(uuid, BenchmarkSupport.TARGET_NAME);
+    }
+
+    @Benchmark
+    public String getTextureUrl() {
+        return PlayerTextureUtil.getTextureUrl(texturedProfile);
+    }
+
+    @Benchmark
+    public String getTextureUrlFallback() {
+        return PlayerTextureUtil.getTextureUrl(bareProfile);
+    }
+
+    @Benchmark
+    public String decodeSkinUrl() {
+        return PlayerTextureUtil.decodeSkinUrl(propertyValue);
+    }
+
+    @Benchmark
+    public String gsonBaseline() {
+        // The extraction every lookup performed before the cache and scanner
+        String decodedJson = new String(Base64.getDecoder().decode(propertyValue));
+        JsonObject json = JsonParser.parseString(decodedJson).getAsJsonObject();
+        if (!json.has("textures")) {
+            return "";
+        }
+        JsonObject texturesObj = json.getAsJsonObject("textures");
+        if (!texturesObj.has("SKIN")) {
+            return "";
+        }
+        JsonObject skinObj = texturesObj.getAsJsonObject("SKIN");
+        return skinObj.has("url") ? skinObj.get("url").getAsString() : "";
+    }
+}
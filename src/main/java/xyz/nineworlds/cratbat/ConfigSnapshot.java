@@ -0,0 +1,20 @@
+package xyz.nineworlds.cratbat;
+
+/**
+ * Immutable view of the CratBat target configuration.
+ * CratBatConfig publishes a new snapshot whenever any value changes, so a
+ * reader that takes one snapshot always sees values that belong together.
+ *
+ * @param targetPlayerName    The name of the target player
+ * @param targetPlayerUUID    The UUID of the target player
+ * @param targetPlayerTexture The texture URL for the target player's skin
+ * @param enableTestCrat      Whether the TestCrat entity is enabled
+ */
+public record ConfigSnapshot(String targetPlayerName, String targetPlayerUUID, String targetPlayerTexture,
+                             boolean enableTestCrat) {
+
+    /**
+     * Snapshot used before the config file has been loaded.
+     */
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot("", "", "", false);
+}
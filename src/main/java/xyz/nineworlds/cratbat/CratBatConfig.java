@@ -6,7 +6,18 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
+import net.minecraftforge.fml.loading.FMLPaths;
 import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
+import xyz.nineworlds.cratbat.core.LocalSkin;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+import xyz.nineworlds.cratbat.diagnostics.HitEventLog;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
+import xyz.nineworlds.cratbat.event.ConfigReloadBroadcaster;
+import xyz.nineworlds.cratbat.event.SwatAnnouncer;
+import xyz.nineworlds.cratbat.event.SwatEffects;
+
+import java.util.List;
 
 /**
  * Configuration for the CratBat mod.
@@ -30,33 +41,123 @@ public class CratBatConfig {
             .comment("Texture URL for the target player's skin (used for Crank Skull)")
             .define("targetPlayerTexture", "");
 
+    private static final ForgeConfigSpec.ConfigValue<String> TARGET_SKIN_FILE = BUILDER
+            .comment("Server-side skin PNG for the target player, relative to the config folder. When set, the server",
+                     "sends the skin to clients itself instead of them downloading it, for servers without internet",
+                     "access. Overrides targetPlayerTexture. Re-read whenever this config file is reloaded.")
+            .define("targetSkinFile", "");
+
     private static final ForgeConfigSpec.BooleanValue ENABLE_TEST_CRAT = BUILDER
             .comment("Enable the TestCrat entity and spawner item for testing the CratBat in singleplayer.",
                      "Requires a game restart to take effect.")
             .define("enableTestCrat", false);
 
-    static final ForgeConfigSpec SPEC = BUILDER.build();
+    private static final ForgeConfigSpec.BooleanValue EVENT_LOG_ENABLED = BUILDER
+            .comment("Record CratBat hits, blocks and swats to logs/cratbat-events.log on a background thread")
+            .define("eventLogEnabled", true);
+
+    private static final ForgeConfigSpec.ConfigValue<List<? extends String>> EVENT_LOG_SAMPLING = BUILDER
+            .comment("Per-category event log sampling as category=N, recording one in every N events.",
+                     "Categories: non_target_hit, shield_blocked, not_in_bat_form, swat,",
+                     "testcrat_not_in_bat_form, testcrat_swat, kill, testcrat_kill. Unlisted categories record every event.")
+            .defineList("eventLogSampling", List.of("non_target_hit=16", "not_in_bat_form=4"), entry -> entry instanceof String);
+
+    private static final ForgeConfigSpec.EnumValue<SwatAnnouncer.Scope> SWAT_ANNOUNCE_SCOPE = BUILDER
+            .comment("Who sees swat announcements: ALL players, players in the same DIMENSION, or players within swatAnnounceRadius (RADIUS)")
+            .defineEnum("swatAnnounceScope", SwatAnnouncer.Scope.ALL);
+
+    private static final ForgeConfigSpec.IntValue SWAT_ANNOUNCE_RADIUS = BUILDER
+            .comment("Radius in blocks for the RADIUS swat announcement scope")
+            .defineInRange("swatAnnounceRadius", 128, 1, 30_000_000);
 
-    // Local config values (from file)
-    public static String targetPlayerName;
-    public static String targetPlayerUUID;
-    public static String targetPlayerTexture;
-    public static boolean enableTestCrat;
+    private static final ForgeConfigSpec.BooleanValue SWAT_LIGHTNING = BUILDER
+            .comment("Spawn a real visual-only lightning bolt for swats instead of the lightweight particle and sound effect")
+            .define("swatLightning", false);
 
-    // Server override values
-    private static String serverTargetPlayerName;
-    private static String serverTargetPlayerUUID;
-    private static String serverTargetPlayerTexture;
-    private static boolean serverEnableTestCrat;
-    private static boolean hasServerConfig = false;
+    private static final ForgeConfigSpec.ConfigValue<List<? extends String>> TEAM_TARGETS = BUILDER
+            .comment("Server-side crats for individual scoreboard teams, as team=uuid,uuid,...",
+                     "Members of a team can swat that team's crats in addition to the global ones.")
+            .defineList("teamTargets", List.of(), entry -> entry instanceof String);
+
+    private static final ForgeConfigSpec.BooleanValue PERF_ENABLED = BUILDER
+            .comment("Time each stage of the CratBat hit pipeline. View results with /cratbat perf or over JMX")
+            .define("perfEnabled", false);
+
+    static final ForgeConfigSpec SPEC = BUILDER.build();
+
+    // Values from the config file
+    private static volatile ConfigSnapshot localSnapshot = ConfigSnapshot.EMPTY;
+    // Values received from a multiplayer server, null when not connected to one
+    private static volatile ConfigSnapshot serverSnapshot;
+    // The snapshot readers see: the server snapshot if present, otherwise the local one
+    private static volatile ConfigSnapshot effectiveSnapshot = ConfigSnapshot.EMPTY;
+    // The perfEnabled value last applied, null before the first load
+    private static Boolean appliedPerfEnabled;
 
     @SubscribeEvent
     static void onLoad(final ModConfigEvent event) {
-        targetPlayerName = TARGET_PLAYER_NAME.get();
-        targetPlayerUUID = TARGET_PLAYER_UUID.get();
-        targetPlayerTexture = TARGET_PLAYER_TEXTURE.get();
-        enableTestCrat = ENABLE_TEST_CRAT.get();
-        LOGGER.debug("CratBat config loaded: targetPlayer={}, uuid={}, enableTestCrat={}", targetPlayerName, targetPlayerUUID, enableTestCrat);
+        LocalSkin.configure(FMLPaths.CONFIGDIR.get(), TARGET_SKIN_FILE.get());
+        ConfigSnapshot loaded = new ConfigSnapshot(TARGET_PLAYER_NAME.get(), TARGET_PLAYER_UUID.get(),
+                LocalSkin.textureUrlOr(TARGET_PLAYER_TEXTURE.get()), ENABLE_TEST_CRAT.get());
+        HitEventLog.configure(EVENT_LOG_ENABLED.get(), EVENT_LOG_SAMPLING.get());
+        applyPerfEnabled(PERF_ENABLED.get());
+        SwatAnnouncer.configure(SWAT_ANNOUNCE_SCOPE.get(), SWAT_ANNOUNCE_RADIUS.get());
+        SwatEffects.configure(SWAT_LIGHTNING.get());
+        TeamTargets.configure(TEAM_TARGETS.get());
+        LOGGER.debug("CratBat config loaded: targetPlayer={}, uuid={}, enableTestCrat={}",
+                loaded.targetPlayerName(), loaded.targetPlayerUUID(), loaded.enableTestCrat());
+        ConfigSnapshot previous = localSnapshot;
+        setLocalSnapshot(loaded);
+        if (event instanceof ModConfigEvent.Reloading) {
+            ConfigReloadBroadcaster.onReloaded(previous, loaded);
+        }
+    }
+
+    /**
+     * Applies the perfEnabled setting when it changed. A reload that leaves it
+     * as it was keeps collection turned on or off with /cratbat perf.
+     *
+     * @param configured The perfEnabled value from the config file
+     */
+    static synchronized void applyPerfEnabled(boolean configured) {
+        if (appliedPerfEnabled == null || appliedPerfEnabled != configured) {
+            appliedPerfEnabled = configured;
+            PerfStats.setEnabled(configured);
+        }
+    }
+
+    /**
+     * Gets the effective configuration: the server's values while connected
+     * to a server that sent them, the local values otherwise. Read all values
+     * for one operation from a single snapshot.
+     *
+     * @return The current snapshot, never null
+     */
+    public static ConfigSnapshot snapshot() {
+        return effectiveSnapshot;
+    }
+
+    /**
+     * Gets the values loaded from the local config file, ignoring any server override.
+     *
+     * @return The local snapshot, never null
+     */
+    public static ConfigSnapshot getLocalSnapshot() {
+        return localSnapshot;
+    }
+
+    /**
+     * Replaces the local config values without writing the config file.
+     * Used when the file is (re)loaded, and by tests.
+     *
+     * @param snapshot The new local values
+     */
+    public static void setLocalSnapshot(ConfigSnapshot snapshot) {
+        synchronized (CratBatConfig.class) {
+            localSnapshot = snapshot;
+            publish();
+        }
+        syncTargetRegistry();
     }
 
     /**
@@ -67,7 +168,7 @@ public class CratBatConfig {
      * @return true if TestCrat entity and spawner should be enabled
      */
     public static boolean isTestCratEnabled() {
-        return hasServerConfig ? serverEnableTestCrat : enableTestCrat;
+        return effectiveSnapshot.enableTestCrat();
     }
 
     /**
@@ -86,7 +187,7 @@ public class CratBatConfig {
      * @return The target player name
      */
     public static String getTargetPlayerName() {
-        return hasServerConfig ? serverTargetPlayerName : targetPlayerName;
+        return effectiveSnapshot.targetPlayerName();
     }
 
     /**
@@ -95,7 +196,7 @@ public class CratBatConfig {
      * @return The target player UUID
      */
     public static String getTargetPlayerUUID() {
-        return hasServerConfig ? serverTargetPlayerUUID : targetPlayerUUID;
+        return effectiveSnapshot.targetPlayerUUID();
     }
 
     /**
@@ -104,7 +205,7 @@ public class CratBatConfig {
      * @return The target player texture URL
      */
     public static String getTargetPlayerTexture() {
-        return hasServerConfig ? serverTargetPlayerTexture : targetPlayerTexture;
+        return effectiveSnapshot.targetPlayerTexture();
     }
 
     /**
@@ -113,12 +214,13 @@ public class CratBatConfig {
      * @return true if server config overrides are in effect
      */
     public static boolean hasServerConfig() {
-        return hasServerConfig;
+        return serverSnapshot != null;
     }
 
     /**
      * Applies server configuration received from a multiplayer server.
-     * These values will override local config until cleared.
+     * These values will override local config until cleared. Applying the
+     * config that is already in effect does nothing.
      *
      * @param name           The target player name from the server
      * @param uuid           The target player UUID from the server
@@ -126,13 +228,18 @@ public class CratBatConfig {
      * @param enableTestCrat Whether the TestCrat entity is enabled on the server
      */
     public static void applyServerConfig(String name, String uuid, String texture, boolean enableTestCrat) {
-        serverTargetPlayerName = name;
-        serverTargetPlayerUUID = uuid;
-        serverTargetPlayerTexture = texture;
-        serverEnableTestCrat = enableTestCrat;
-        hasServerConfig = true;
+        ConfigSnapshot received = new ConfigSnapshot(name, uuid, texture, enableTestCrat);
+        synchronized (CratBatConfig.class) {
+            if (received.equals(serverSnapshot)) {
+                // Re-sent unchanged, e.g. a login sync after the cached copy was applied
+                return;
+            }
+            serverSnapshot = received;
+            publish();
+        }
         LOGGER.info("Applied server config: targetPlayer={}, uuid={}, hasTexture={}, enableTestCrat={}",
                 name, uuid, texture != null && !texture.isEmpty(), enableTestCrat);
+        syncTargetRegistry();
         updateJeiVisibility();
     }
 
@@ -141,18 +248,19 @@ public class CratBatConfig {
      * Should be called when disconnecting from a server.
      */
     public static void clearServerConfig() {
-        serverTargetPlayerName = null;
-        serverTargetPlayerUUID = null;
-        serverTargetPlayerTexture = null;
-        serverEnableTestCrat = false;
-        hasServerConfig = false;
+        synchronized (CratBatConfig.class) {
+            serverSnapshot = null;
+            publish();
+        }
         LOGGER.info("Cleared server config, reverting to local config");
+        syncTargetRegistry();
         updateJeiVisibility();
     }
 
     /**
      * Updates the local config values programmatically.
-     * Used by the server command system to persist changes.
+     * Used by the server command system to persist changes. A loaded local
+     * skin keeps taking precedence over the texture URL.
      *
      * @param name    The new target player name
      * @param uuid    The new target player UUID
@@ -162,11 +270,28 @@ public class CratBatConfig {
         TARGET_PLAYER_NAME.set(name);
         TARGET_PLAYER_UUID.set(uuid);
         TARGET_PLAYER_TEXTURE.set(texture);
-        // Update cached values
-        targetPlayerName = name;
-        targetPlayerUUID = uuid;
-        targetPlayerTexture = texture;
+        synchronized (CratBatConfig.class) {
+            localSnapshot = new ConfigSnapshot(name, uuid, LocalSkin.textureUrlOr(texture), localSnapshot.enableTestCrat());
+            publish();
+        }
         LOGGER.info("Updated local config: targetPlayer={}, uuid={}", name, uuid);
+        syncTargetRegistry();
+    }
+
+    /**
+     * Recomputes the effective snapshot. Must be called while holding the class lock.
+     */
+    private static void publish() {
+        ConfigSnapshot server = serverSnapshot;
+        effectiveSnapshot = server != null ? server : localSnapshot;
+    }
+
+    /**
+     * Points the target registry at the currently effective target UUID.
+     */
+    private static void syncTargetRegistry() {
+        ConfigSnapshot snapshot = effectiveSnapshot;
+        CratTargetRegistry.setConfiguredTarget(snapshot.targetPlayerName(), snapshot.targetPlayerUUID());
     }
 
     /**
@@ -7,6 +7,7 @@ import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.CreativeModeTabs;
 import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Rarity;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
@@ -24,12 +25,14 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 import org.slf4j.Logger;
 import xyz.nineworlds.cratbat.command.CratBatCommand;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
 import xyz.nineworlds.cratbat.entity.TestCratEntity;
 import xyz.nineworlds.cratbat.event.CratBatEventHandler;
 import xyz.nineworlds.cratbat.item.BatWingItem;
 import xyz.nineworlds.cratbat.item.CratBatItem;
 import xyz.nineworlds.cratbat.item.CratBatShieldItem;
 import xyz.nineworlds.cratbat.item.CrankCrankDollItem;
+import xyz.nineworlds.cratbat.item.CrankSkullItem;
 import xyz.nineworlds.cratbat.item.TestCratSpawnerItem;
 import xyz.nineworlds.cratbat.network.CratBatNetwork;
 import xyz.nineworlds.cratbat.recipe.CratBatRecipeSerializer;
@@ -50,6 +53,9 @@ public class CratBatMod {
     public static final RegistryObject<Item> CRANKCRANK_DOLL = ITEMS.register("crankcrank_doll",
         () -> new CrankCrankDollItem(new Item.Properties()));
 
+    public static final RegistryObject<Item> CRANK_SKULL = ITEMS.register("crank_skull",
+        () -> new CrankSkullItem(new Item.Properties().rarity(Rarity.UNCOMMON)));
+
     public static final RegistryObject<Item> BAT_WING = ITEMS.register("bat_wing",
         () -> new BatWingItem(new Item.Properties()));
 
@@ -111,6 +117,7 @@ public class CratBatMod {
             CratBatNetwork.register();
             LOGGER.info("CratBat network channel registered");
         });
+        PerfStats.registerMBean();
         LOGGER.info("CratBat mod initialized!");
         LOGGER.info("Ready to bat the crat out of the sky!");
     }
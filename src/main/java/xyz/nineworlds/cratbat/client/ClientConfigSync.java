@@ -0,0 +1,114 @@
+package xyz.nineworlds.cratbat.client;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+import xyz.nineworlds.cratbat.network.ConfigDeltaPacket;
+import xyz.nineworlds.cratbat.network.ConfigHelloPacket;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+import xyz.nineworlds.cratbat.network.CratBatNetwork;
+
+/**
+ * Client side of the hash-gated config sync.
+ * On login the client announces the hash of the config it cached for the
+ * server. The server either confirms it is unchanged, and the cached copy is
+ * applied, or sends the full config, which is applied and cached. Later
+ * config edits on the server arrive as deltas against the last full config.
+ *
+ * Received configs are not applied right away: the latest one is applied once
+ * at the start of the next frame. A burst of sync packets, as after a server
+ * restart, then costs a single target registry update and JEI ingredient
+ * refresh. The target's skin is prewarmed as soon as a config arrives, see
+ * SkinPrewarmer. Only touched on the client thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID, value = Dist.CLIENT)
+public class ClientConfigSync {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final ConfigSyncCache CACHE = new ConfigSyncCache(
+            FMLPaths.GAMEDIR.get().resolve("cratbat").resolve("server-configs.json"));
+
+    private static String serverAddress;
+    private static ConfigSyncPacket cached;
+    // The config to apply at the start of the next frame, null when nothing is pending
+    private static ConfigSyncPacket pendingApply;
+
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase != TickEvent.Phase.START || pendingApply == null) {
+            return;
+        }
+        ConfigSyncPacket packet = pendingApply;
+        pendingApply = null;
+        packet.apply();
+    }
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        ServerData server = Minecraft.getInstance().getCurrentServer();
+        // Singleplayer has no address and nothing worth caching
+        serverAddress = server != null ? server.ip : null;
+        cached = serverAddress != null ? CACHE.get(serverAddress) : null;
+
+        CratBatNetwork.sendHello(cached != null ? cached.contentHash() : ConfigHelloPacket.NO_CACHE);
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        serverAddress = null;
+        cached = null;
+        pendingApply = null;
+        TeamTargets.clearClientAssignment();
+    }
+
+    /**
+     * Applies the cached config after the server confirmed it is current.
+     *
+     * @param configHash The hash of the server's current config
+     */
+    public static void onConfigUnchanged(long configHash) {
+        if (cached == null || cached.contentHash() != configHash) {
+            LOGGER.warn("Server confirmed a CratBat config that is not cached, waiting for a full sync");
+            return;
+        }
+        LOGGER.debug("CratBat config unchanged since last login, using cached copy");
+        pendingApply = cached;
+        SkinPrewarmer.prewarm(cached.getTargetPlayerTexture());
+    }
+
+    /**
+     * Applies a config delta on top of the last config received from the
+     * server, and caches the result.
+     *
+     * @param delta The received delta
+     */
+    public static void onConfigDelta(ConfigDeltaPacket delta) {
+        if (cached == null) {
+            LOGGER.warn("Received a CratBat config delta before the full config, ignoring it");
+            return;
+        }
+        onFullConfig(delta.applyTo(cached));
+    }
+
+    /**
+     * Caches a full config received from the server and schedules it to be applied.
+     *
+     * @param packet The received config
+     */
+    public static void onFullConfig(ConfigSyncPacket packet) {
+        cached = packet;
+        pendingApply = packet;
+        SkinPrewarmer.prewarm(packet.getTargetPlayerTexture());
+        if (serverAddress != null) {
+            CACHE.put(serverAddress, packet);
+        }
+    }
+}
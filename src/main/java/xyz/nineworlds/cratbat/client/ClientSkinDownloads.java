@@ -0,0 +1,96 @@
+package xyz.nineworlds.cratbat.client;
+
+import com.mojang.logging.LogUtils;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.network.CratBatNetwork;
+import xyz.nineworlds.cratbat.network.SkinChunkPacket;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Client side of the server-held skin transfer.
+ * When the server offers its local skin, a skin already in the disk cache is
+ * registered right away; otherwise it is requested, reassembled from the
+ * chunks the server sends, stored in the cache and then registered, so later
+ * joins skip the transfer. Only touched on the client thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID, value = Dist.CLIENT)
+public class ClientSkinDownloads {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Pattern SKIN_KEY = Pattern.compile("[0-9a-f]{64}");
+
+    // Skins requested from the server and not yet complete, by key
+    private static final Map<String, SkinAssembler> DOWNLOADS = new HashMap<>();
+
+    /**
+     * Handles the server offering its local skin.
+     *
+     * @param key  The SHA-256 of the skin
+     * @param size The size of the skin in bytes
+     */
+    public static void onOffer(String key, int size) {
+        if (!SKIN_KEY.matcher(key).matches()) {
+            LOGGER.warn("Ignoring CratBat skin offer with invalid key {}", key);
+            return;
+        }
+
+        String url = SkinFiles.textureUrl(key);
+        // The skin host does not know this skin, so never try to download it from there
+        SkinPrewarmer.markWarmed(url);
+        Path cached = SkinPrewarmer.getCache().getByKey(key);
+        if (cached != null) {
+            LOGGER.debug("Offered skin {} is already cached", key);
+            SkinPrewarmer.registerLocalSkin(url, cached);
+            return;
+        }
+        if (DOWNLOADS.containsKey(key)) {
+            return;
+        }
+
+        try {
+            DOWNLOADS.put(key, new SkinAssembler(key, size));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring CratBat skin offer: {}", e.getMessage());
+            return;
+        }
+        CratBatNetwork.requestSkin(key);
+    }
+
+    /**
+     * Handles one chunk of a requested skin.
+     *
+     * @param chunk The received chunk
+     */
+    public static void onChunk(SkinChunkPacket chunk) {
+        SkinAssembler download = DOWNLOADS.get(chunk.getKey());
+        if (download == null) {
+            LOGGER.debug("Ignoring chunk of skin {} that was not requested", chunk.getKey());
+            return;
+        }
+
+        try {
+            if (!download.accept(chunk.getOffset(), chunk.getTotal(), chunk.getData())) {
+                return;
+            }
+            DOWNLOADS.remove(chunk.getKey());
+            SkinPrewarmer.storeAndRegister(chunk.getKey(), download.finish());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            DOWNLOADS.remove(chunk.getKey());
+            LOGGER.warn("Discarding CratBat skin from server: {}", e.getMessage());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        DOWNLOADS.clear();
+    }
+}
@@ -0,0 +1,44 @@
+package xyz.nineworlds.cratbat.client;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.RandomSource;
+
+/**
+ * Client-side rendering of the swat effect: a flash, a burst of sparks and
+ * the lightning sounds, without a LightningBolt entity.
+ */
+public class ClientSwatEffects {
+    private static final int SPARK_COUNT = 24;
+
+    /**
+     * Plays the swat effect at a position in the client level.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     */
+    public static void play(double x, double y, double z) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) {
+            return;
+        }
+
+        RandomSource random = level.getRandom();
+        level.addParticle(ParticleTypes.FLASH, x, y + 1.0, z, 0.0, 0.0, 0.0);
+        for (int i = 0; i < SPARK_COUNT; i++) {
+            level.addParticle(ParticleTypes.ELECTRIC_SPARK,
+                    x + random.nextGaussian() * 0.3, y + random.nextDouble() * 2.0, z + random.nextGaussian() * 0.3,
+                    random.nextGaussian() * 0.2, random.nextDouble() * 0.3, random.nextGaussian() * 0.2);
+        }
+
+        // Same sounds and volumes as a vanilla lightning strike
+        level.playLocalSound(x, y, z, SoundEvents.LIGHTNING_BOLT_THUNDER, SoundSource.WEATHER,
+                10000.0F, 0.8F + random.nextFloat() * 0.2F, false);
+        level.playLocalSound(x, y, z, SoundEvents.LIGHTNING_BOLT_IMPACT, SoundSource.WEATHER,
+                2.0F, 0.5F + random.nextFloat() * 0.2F, false);
+    }
+}
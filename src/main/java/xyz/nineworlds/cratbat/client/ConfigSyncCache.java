@@ -0,0 +1,122 @@
+package xyz.nineworlds.cratbat.client;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small on-disk cache of the last config received from each server, keyed by
+ * server address. Lets the client announce what it already has on login, so
+ * an unchanged config does not have to be sent again.
+ *
+ * The file is read lazily on first use and rewritten only when a server's
+ * config actually changes. The least recently used servers are evicted past
+ * a fixed number of entries.
+ */
+public class ConfigSyncCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAX_ENTRIES = 32;
+
+    private final Path file;
+    private final Map<String, ConfigSyncPacket> entries = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ConfigSyncPacket> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private boolean loaded;
+
+    /**
+     * Creates a cache backed by the given file. Nothing is read until first use.
+     *
+     * @param file The cache file
+     */
+    public ConfigSyncCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the config last received from a server.
+     *
+     * @param address The server address
+     * @return The cached config, or null if none is cached
+     */
+    public synchronized ConfigSyncPacket get(String address) {
+        load();
+        return entries.get(address);
+    }
+
+    /**
+     * Remembers the config received from a server, writing the file if it changed.
+     *
+     * @param address The server address
+     * @param packet  The config received from the server
+     */
+    public synchronized void put(String address, ConfigSyncPacket packet) {
+        load();
+        ConfigSyncPacket previous = entries.put(address, packet);
+        if (previous == null || previous.contentHash() != packet.contentHash()) {
+            save();
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+                JsonObject config = entry.getValue().getAsJsonObject();
+                entries.put(entry.getKey(), new ConfigSyncPacket(
+                        config.get("targetPlayerName").getAsString(),
+                        config.get("targetPlayerUUID").getAsString(),
+                        config.get("targetPlayerTexture").getAsString(),
+                        config.get("enableTestCrat").getAsBoolean()));
+            }
+        } catch (IOException | RuntimeException e) {
+            // A broken cache only costs a full sync on the next login
+            LOGGER.warn("Ignoring unreadable CratBat config cache {}: {}", file, e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void save() {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, ConfigSyncPacket> entry : entries.entrySet()) {
+            ConfigSyncPacket packet = entry.getValue();
+            JsonObject config = new JsonObject();
+            config.addProperty("targetPlayerName", packet.getTargetPlayerName());
+            config.addProperty("targetPlayerUUID", packet.getTargetPlayerUUID());
+            config.addProperty("targetPlayerTexture", packet.getTargetPlayerTexture());
+            config.addProperty("enableTestCrat", packet.isEnableTestCrat());
+            root.add(entry.getKey(), config);
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, root.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write CratBat config cache {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package xyz.nineworlds.cratbat.client;
+
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+/**
+ * Reassembles a skin the server sends in chunks. Chunks must arrive in
+ * order and agree on the total size; the finished skin is only accepted if
+ * its SHA-256 matches the key it was offered under.
+ */
+class SkinAssembler {
+    private final String key;
+    private final byte[] data;
+    private int received;
+
+    /**
+     * @param key   The key the skin was offered under
+     * @param total The size of the skin in bytes
+     */
+    SkinAssembler(String key, int total) {
+        if (total <= 0 || total > SkinFiles.MAX_SKIN_BYTES) {
+            throw new IllegalArgumentException("Invalid skin size: " + total);
+        }
+        this.key = key;
+        this.data = new byte[total];
+    }
+
+    /**
+     * Adds the next chunk.
+     *
+     * @param offset Where the chunk starts within the skin
+     * @param total  The size of the whole skin, as stated by the chunk
+     * @param chunk  The chunk's bytes
+     * @return true once the last chunk has been added
+     * @throws IllegalArgumentException If the chunk is out of order or does not fit
+     */
+    boolean accept(int offset, int total, byte[] chunk) {
+        if (total != data.length || offset != received || chunk.length == 0 || chunk.length > data.length - received) {
+            throw new IllegalArgumentException("Unexpected chunk at " + offset + " of skin " + key);
+        }
+        System.arraycopy(chunk, 0, data, offset, chunk.length);
+        received += chunk.length;
+        return received == data.length;
+    }
+
+    /**
+     * Gets the finished skin.
+     *
+     * @return The skin bytes
+     * @throws IllegalStateException If chunks are missing or the skin does not match its key
+     */
+    byte[] finish() {
+        if (received != data.length) {
+            throw new IllegalStateException("Skin " + key + " is incomplete");
+        }
+        if (!SkinFiles.hashHex("SHA-256", data).equals(key)) {
+            throw new IllegalStateException("Skin does not match its key " + key);
+        }
+        return data;
+    }
+}
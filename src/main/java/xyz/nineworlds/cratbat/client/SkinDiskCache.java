@@ -0,0 +1,134 @@
+package xyz.nineworlds.cratbat.client;
+
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed disk cache of skin textures, so skulls can be drawn from
+ * local disk instead of waiting on the skin host, including offline.
+ *
+ * Skins are keyed by their texture hash, which Mojang texture URLs end in.
+ * Other URLs, such as the Crafatar fallback, serve whatever skin the player
+ * has now, so they are never cached: an entry for them would go stale for
+ * good when the player changes skin. Files live at root/ab/abcdef....png, mirroring vanilla's skin cache. An
+ * entry never changes once written, so lookups need no locking and files are
+ * written through a temporary file and an atomic move.
+ */
+public class SkinDiskCache {
+    private static final Pattern HASH_KEY = Pattern.compile("[0-9a-f]{16,128}");
+    private static final Pattern TEXTURE_URL = Pattern.compile("https?://textures\\.minecraft\\.net/texture/([0-9a-f]{16,128})");
+
+    private final Path root;
+    private final SkinSource source;
+
+    /**
+     * Creates a cache in a directory. Nothing is created until the first skin is stored.
+     *
+     * @param root   The cache directory
+     * @param source Where skins missing from the cache are fetched from
+     */
+    public SkinDiskCache(Path root, SkinSource source) {
+        this.root = root;
+        this.source = source;
+    }
+
+    /**
+     * Gets the cache key of a texture URL.
+     *
+     * @param url The texture URL
+     * @return The texture hash, as lowercase hex, or null if the URL is not a Mojang texture URL
+     */
+    public static String keyFor(String url) {
+        Matcher matcher = TEXTURE_URL.matcher(url);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Gets where a skin is stored, whether or not it is cached.
+     *
+     * @param key The cache key
+     * @return The path of the cache file
+     */
+    public Path pathFor(String key) {
+        if (!HASH_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid skin cache key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key + ".png");
+    }
+
+    /**
+     * Gets a cached skin without fetching it.
+     *
+     * @param url The texture URL
+     * @return The cache file, or null if the skin is not cached
+     */
+    public Path get(String url) {
+        String key = keyFor(url);
+        return key != null ? getByKey(key) : null;
+    }
+
+    /**
+     * Gets a cached skin by its key without fetching it.
+     *
+     * @param key The cache key
+     * @return The cache file, or null if the skin is not cached
+     */
+    public Path getByKey(String key) {
+        Path file = pathFor(key);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Gets a skin, fetching and storing it first if it is not cached.
+     * Blocks while fetching, so call it off the render thread.
+     *
+     * @param url The texture URL
+     * @return The cache file
+     * @throws IOException If the URL is not cacheable, or the skin is not cached and could not be fetched
+     */
+    public Path fetch(String url) throws IOException {
+        String key = keyFor(url);
+        if (key == null) {
+            throw new IOException("Skin " + url + " is not a Mojang texture, not caching it");
+        }
+        Path cached = getByKey(key);
+        if (cached != null) {
+            return cached;
+        }
+        return store(key, source.fetch(url, SkinFiles.MAX_SKIN_BYTES));
+    }
+
+    /**
+     * Stores a skin under a key. An existing entry is kept as is.
+     *
+     * @param key   The cache key
+     * @param bytes The PNG bytes
+     * @return The cache file
+     * @throws IOException If the bytes are not a PNG or could not be written
+     */
+    public Path store(String key, byte[] bytes) throws IOException {
+        Path file = pathFor(key);
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+        if (!SkinFiles.isPng(bytes)) {
+            throw new IOException("Skin " + key + " is not a PNG image");
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,165 @@
+package xyz.nineworlds.cratbat.client;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.client.renderer.texture.HttpTexture;
+import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
+import net.minecraft.client.resources.DefaultPlayerSkin;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms the skin of the configured crat before any Crank Skull is drawn.
+ *
+ * Vanilla looks a skull's skin up in the texture manager under
+ * skins/sha1(texture hash) and only downloads it when nothing is registered
+ * there. When a config arrives, the skin is fetched into SkinDiskCache on a
+ * background thread, then a texture backed by the cache file is registered at
+ * that location on the client thread. The skull's first frame then reads the
+ * skin from local disk, and a skin cached in an earlier session renders
+ * without network access. Skins the server holds locally are sent by the
+ * server instead, see ClientSkinDownloads.
+ */
+public class SkinPrewarmer {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final SkinDiskCache CACHE = new SkinDiskCache(
+            FMLPaths.GAMEDIR.get().resolve("cratbat").resolve("skins"), SkinSource.http());
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CratBat Skin Prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final SkinTextures TEXTURES = new SkinTextures(new SkinTextures.Slots() {
+        @Override
+        public boolean isRegistered(ResourceLocation location) {
+            AbstractTexture missing = MissingTextureAtlasSprite.getTexture();
+            return Minecraft.getInstance().getTextureManager().getTexture(location, missing) != missing;
+        }
+
+        @Override
+        public void release(ResourceLocation location) {
+            Minecraft.getInstance().getTextureManager().release(location);
+        }
+
+        @Override
+        public void register(ResourceLocation location, String textureUrl, Path file) {
+            Minecraft.getInstance().getTextureManager().register(location,
+                    new HttpTexture(file.toFile(), textureUrl, DefaultPlayerSkin.getDefaultSkin(), true, null));
+        }
+    });
+
+    // Texture URLs already fetched or being fetched this session
+    private static final Set<String> WARMED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return The disk cache holding the prewarmed skins
+     */
+    public static SkinDiskCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Fetches a skin into the disk cache if needed and registers it with the
+     * texture manager. Returns immediately; does nothing for an empty URL or
+     * a skin already warmed this session.
+     *
+     * @param textureUrl The skin texture URL from the config
+     */
+    public static void prewarm(String textureUrl) {
+        if (textureUrl == null || textureUrl.isEmpty() || !WARMED.add(textureUrl)) {
+            return;
+        }
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return CACHE.fetch(textureUrl);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, EXECUTOR).whenComplete((file, error) -> {
+            if (error != null) {
+                // Vanilla still downloads the skin itself on first render
+                WARMED.remove(textureUrl);
+                LOGGER.debug("Could not prewarm skin {}: {}", textureUrl, error.getMessage());
+            } else {
+                Minecraft.getInstance().execute(() -> register(textureUrl, file));
+            }
+        });
+    }
+
+    /**
+     * Marks a skin as handled, so prewarm does not try to download it.
+     * Used for skins the server sends itself.
+     *
+     * @param textureUrl The skin texture URL
+     */
+    public static void markWarmed(String textureUrl) {
+        WARMED.add(textureUrl);
+    }
+
+    /**
+     * Stores a skin received from the server in the disk cache on a
+     * background thread, then registers it with the texture manager.
+     *
+     * @param key   The skin's cache key
+     * @param bytes The PNG bytes
+     */
+    public static void storeAndRegister(String key, byte[] bytes) {
+        String textureUrl = SkinFiles.textureUrl(key);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return CACHE.store(key, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, EXECUTOR).whenComplete((file, error) -> {
+            if (error != null) {
+                LOGGER.warn("Could not cache skin {}: {}", key, error.getMessage());
+            } else {
+                Minecraft.getInstance().execute(() -> registerLocalSkin(textureUrl, file));
+            }
+        });
+    }
+
+    /**
+     * Registers a cached skin with the texture manager, unless a texture is
+     * already registered for it. Must be called on the client thread.
+     *
+     * @param textureUrl The skin texture URL
+     * @param file       The cache file holding the skin
+     */
+    public static void register(String textureUrl, Path file) {
+        if (TEXTURES.register(textureUrl, file, false)) {
+            LOGGER.debug("Prewarmed skin {} from {}", textureUrl, file);
+        }
+    }
+
+    /**
+     * Registers a skin the server sent, replacing any texture already
+     * registered for it. A skull drawn before the transfer finished has
+     * vanilla register a download from the skin host, which fails for these
+     * skins and would otherwise keep the skull on the default skin. Must be
+     * called on the client thread.
+     *
+     * @param textureUrl The skin texture URL
+     * @param file       The cache file holding the skin
+     */
+    public static void registerLocalSkin(String textureUrl, Path file) {
+        if (TEXTURES.register(textureUrl, file, true)) {
+            LOGGER.debug("Registered server skin {} from {}", textureUrl, file);
+        }
+    }
+}
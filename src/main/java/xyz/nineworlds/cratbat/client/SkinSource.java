@@ -0,0 +1,79 @@
+package xyz.nineworlds.cratbat.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Where SkinDiskCache downloads skins it does not have yet.
+ * The live client fetches from the skin host over HTTP; tests and offline
+ * setups can serve the same files from a local directory instead.
+ */
+@FunctionalInterface
+public interface SkinSource {
+    int CONNECT_TIMEOUT_MILLIS = 5000;
+    int READ_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Fetches the bytes of a skin.
+     *
+     * @param url      The texture URL
+     * @param maxBytes The largest skin accepted
+     * @return The raw skin bytes
+     * @throws IOException If the skin could not be fetched or is too large
+     */
+    byte[] fetch(String url, int maxBytes) throws IOException;
+
+    /**
+     * @return A source that downloads skins from their URL
+     */
+    static SkinSource http() {
+        return (url, maxBytes) -> {
+            URLConnection connection = URI.create(url).toURL().openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+            if (connection instanceof HttpURLConnection http && http.getResponseCode() / 100 != 2) {
+                throw new IOException("HTTP " + http.getResponseCode() + " for " + url);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return readLimited(in, maxBytes);
+            }
+        };
+    }
+
+    /**
+     * Creates a stand-in for the skin host that serves files from a local
+     * directory, named by the last path segment of the texture URL.
+     *
+     * @param directory The directory holding the skins
+     * @return A source reading from the directory
+     */
+    static SkinSource directory(Path directory) {
+        return (url, maxBytes) -> {
+            String name = url.substring(url.lastIndexOf('/') + 1);
+            Path file = directory.resolve(name);
+            if (!Files.isRegularFile(file)) {
+                file = directory.resolve(name + ".png");
+            }
+            if (!file.normalize().startsWith(directory.normalize()) || !Files.isRegularFile(file)) {
+                throw new NoSuchFileException(file.toString());
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                return readLimited(in, maxBytes);
+            }
+        };
+    }
+
+    private static byte[] readLimited(InputStream in, int maxBytes) throws IOException {
+        byte[] bytes = in.readNBytes(maxBytes + 1);
+        if (bytes.length > maxBytes) {
+            throw new IOException("Skin is larger than " + maxBytes + " bytes");
+        }
+        return bytes;
+    }
+}
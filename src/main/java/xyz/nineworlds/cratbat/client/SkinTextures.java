@@ -0,0 +1,75 @@
+package xyz.nineworlds.cratbat.client;
+
+import com.google.common.hash.Hashing;
+import com.mojang.authlib.minecraft.MinecraftProfileTexture;
+import net.minecraft.resources.ResourceLocation;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registers skins from SkinDiskCache at the location vanilla looks a skull's
+ * skin up under, and remembers which locations already hold a cache-backed
+ * texture. Only touched on the client thread.
+ */
+final class SkinTextures {
+
+    /**
+     * The texture manager operations needed to register a skin.
+     */
+    interface Slots {
+        boolean isRegistered(ResourceLocation location);
+
+        void release(ResourceLocation location);
+
+        void register(ResourceLocation location, String textureUrl, Path file);
+    }
+
+    private final Slots slots;
+    // Locations holding a texture registered from the disk cache, and the file behind it
+    private final Map<ResourceLocation, Path> own = new HashMap<>();
+
+    SkinTextures(Slots slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Registers a cached skin. A texture registered by someone else is only
+     * replaced when asked to: vanilla registers a download from the skin host
+     * when a skull renders first, which is right for Mojang skins but fails
+     * for skins the server holds locally, since the host does not know them.
+     *
+     * @param textureUrl The skin texture URL
+     * @param file       The cache file holding the skin
+     * @param replace    Whether to replace a texture registered by someone else
+     * @return true if the skin was registered
+     */
+    boolean register(String textureUrl, Path file, boolean replace) {
+        ResourceLocation location = skinLocation(textureUrl);
+        if (file.equals(own.get(location))) {
+            return false;
+        }
+        if (slots.isRegistered(location)) {
+            if (!replace) {
+                return false;
+            }
+            slots.release(location);
+        }
+        slots.register(location, textureUrl, file);
+        own.put(location, file);
+        return true;
+    }
+
+    /**
+     * Gets the location SkinManager.registerTexture derives for a skin URL.
+     *
+     * @param textureUrl The skin texture URL
+     * @return The texture location
+     */
+    @SuppressWarnings("deprecation")
+    static ResourceLocation skinLocation(String textureUrl) {
+        String hash = new MinecraftProfileTexture(textureUrl, null).getHash();
+        return ResourceLocation.fromNamespaceAndPath("minecraft", "skins/" + Hashing.sha1().hashUnencodedChars(hash));
+    }
+}
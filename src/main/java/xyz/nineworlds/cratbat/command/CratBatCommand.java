@@ -1,22 +1,43 @@
 package xyz.nineworlds.cratbat.command;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.authlib.GameProfile;
 import com.mojang.logging.LogUtils;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
 import xyz.nineworlds.cratbat.CratBatConfig;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
+import xyz.nineworlds.cratbat.core.ProfileIndex;
+import xyz.nineworlds.cratbat.core.ProfileResolver;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+import xyz.nineworlds.cratbat.diagnostics.HitEventLog;
+import xyz.nineworlds.cratbat.diagnostics.NetStats;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
+import xyz.nineworlds.cratbat.event.CratBatHolderTracker;
 import xyz.nineworlds.cratbat.network.CratBatNetwork;
-import xyz.nineworlds.cratbat.util.PlayerTextureUtil;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Command handler for the CratBat mod.
- * Provides /cratbat setCrat <player> command for administrators.
+ * Provides /cratbat setCrat <name> and the runtime target commands
+ * (addCrat, removeCrat, listCrats) for administrators.
  */
 public class CratBatCommand {
     private static final Logger LOGGER = LogUtils.getLogger();
@@ -31,10 +52,38 @@ public class CratBatCommand {
                 Commands.literal("cratbat")
                         .requires(source -> source.hasPermission(2)) // Requires operator level 2
                         .then(Commands.literal("setCrat")
-                                .then(Commands.argument("player", EntityArgument.player())
+                                .then(Commands.argument("player", StringArgumentType.word())
+                                        .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                                                context.getSource().getOnlinePlayerNames(), builder))
                                         .executes(CratBatCommand::setCratPlayer)))
+                        .then(Commands.literal("addCrat")
+                                .then(Commands.argument("player", EntityArgument.player())
+                                        .executes(CratBatCommand::addCratPlayer)))
+                        .then(Commands.literal("removeCrat")
+                                .then(Commands.argument("player", EntityArgument.player())
+                                        .executes(CratBatCommand::removeCratPlayer)))
+                        .then(Commands.literal("listCrats")
+                                .executes(CratBatCommand::listCrats))
                         .then(Commands.literal("info")
                                 .executes(CratBatCommand::showInfo))
+                        .then(Commands.literal("log")
+                                .executes(CratBatCommand::showLogStatus)
+                                .then(Commands.literal("dump")
+                                        .executes(CratBatCommand::dumpLog)))
+                        .then(Commands.literal("perf")
+                                .executes(CratBatCommand::showPerf)
+                                .then(Commands.literal("enable")
+                                        .executes(context -> setPerfEnabled(context, true)))
+                                .then(Commands.literal("disable")
+                                        .executes(context -> setPerfEnabled(context, false)))
+                                .then(Commands.literal("reset")
+                                        .executes(CratBatCommand::resetPerf)))
+                        .then(Commands.literal("net")
+                                .executes(CratBatCommand::showNet)
+                                .then(Commands.literal("history")
+                                        .executes(CratBatCommand::showNetHistory))
+                                .then(Commands.literal("reset")
+                                        .executes(CratBatCommand::resetNet)))
         );
 
         LOGGER.info("CratBat commands registered");
@@ -42,18 +91,54 @@ public class CratBatCommand {
 
     /**
      * Executes the setCrat command to set a new target player.
-     * Updates config, persists to disk, and broadcasts to all clients.
+     * Offline players that have played on this world before, and whose
+     * texture is known, are taken straight from the ProfileIndex. Otherwise
+     * the player's profile and texture are resolved off the server thread;
+     * once resolved, the config is updated, persisted to disk and broadcast
+     * to all clients on the server thread.
      *
      * @param context The command context
-     * @return 1 on success, 0 on failure
+     * @return 1 once the lookup has started
      */
-    private static int setCratPlayer(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
-        ServerPlayer targetPlayer = EntityArgument.getPlayer(context, "player");
+    private static int setCratPlayer(CommandContext<CommandSourceStack> context) {
+        String requestedName = StringArgumentType.getString(context, "player");
         CommandSourceStack source = context.getSource();
+        MinecraftServer server = source.getServer();
+        ServerPlayer online = server.getPlayerList().getPlayerByName(requestedName);
 
-        String playerName = targetPlayer.getName().getString();
-        String playerUuid = targetPlayer.getUUID().toString();
-        String textureUrl = PlayerTextureUtil.getTextureUrl(targetPlayer.getGameProfile());
+        GameProfile known = online != null ? online.getGameProfile() : null;
+        if (known == null) {
+            ProfileIndex.Entry indexed = ProfileIndex.get(server).findByName(requestedName);
+            if (indexed != null && !indexed.textureUrl().isEmpty()) {
+                applyCrat(source, new ProfileResolver.ResolvedProfile(indexed.name(), indexed.uuid(), indexed.textureUrl()));
+                return 1;
+            }
+            // Known player without a texture, only the texture needs fetching
+            known = indexed != null ? new GameProfile(indexed.uuid(), indexed.name()) : null;
+        }
+
+        ProfileResolver.forServer(server)
+                .resolve(requestedName, known)
+                .whenComplete((profile, error) -> {
+                    if (error != null) {
+                        LOGGER.warn("Could not resolve CratBat target {}: {}", requestedName, error.getMessage());
+                        source.sendFailure(Component.literal("Could not find player " + requestedName));
+                    } else {
+                        applyCrat(source, profile);
+                    }
+                });
+        return 1;
+    }
+
+    /**
+     * Makes a resolved player the configured crat. Runs on the server thread.
+     */
+    private static void applyCrat(CommandSourceStack source, ProfileResolver.ResolvedProfile profile) {
+        String playerName = profile.name();
+        String playerUuid = profile.uuid().toString();
+        String textureUrl = profile.textureUrl();
+
+        ProfileIndex.get(source.getServer()).record(profile.uuid(), playerName, !textureUrl.isEmpty() ? textureUrl : null);
 
         LOGGER.info("Setting CratBat target to {} (UUID: {}, Texture: {})",
                 playerName, playerUuid, !textureUrl.isEmpty() ? "found" : "not found");
@@ -70,7 +155,236 @@ public class CratBatCommand {
         if (textureUrl.isEmpty()) {
             source.sendSystemMessage(Component.literal("Warning: Could not extract texture URL for " + playerName + ". Skull may not display correctly."));
         }
+    }
 
+    /**
+     * Executes the addCrat command to register an additional target player.
+     * Runtime targets are not persisted and are cleared when the server stops.
+     *
+     * @param context The command context
+     * @return 1 on success, 0 if the player was already a target
+     */
+    private static int addCratPlayer(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer targetPlayer = EntityArgument.getPlayer(context, "player");
+        CommandSourceStack source = context.getSource();
+        String playerName = targetPlayer.getName().getString();
+
+        if (!CratTargetRegistry.addTarget(targetPlayer.getUUID())) {
+            source.sendFailure(Component.literal(playerName + " is already a crat"));
+            return 0;
+        }
+
+        LOGGER.info("Added CratBat target {} (UUID: {})", playerName, targetPlayer.getUUID());
+        source.sendSuccess(() -> Component.literal(playerName + " is now a crat"), true);
+        return 1;
+    }
+
+    /**
+     * Executes the removeCrat command to unregister a runtime target player.
+     *
+     * @param context The command context
+     * @return 1 on success, 0 if the player was not a runtime target
+     */
+    private static int removeCratPlayer(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer targetPlayer = EntityArgument.getPlayer(context, "player");
+        CommandSourceStack source = context.getSource();
+        String playerName = targetPlayer.getName().getString();
+
+        if (!CratTargetRegistry.removeTarget(targetPlayer.getUUID())) {
+            if (targetPlayer.getUUID().equals(CratTargetRegistry.getConfiguredTarget())) {
+                source.sendFailure(Component.literal(playerName + " is the configured crat; use /cratbat setCrat to replace them"));
+            } else {
+                source.sendFailure(Component.literal(playerName + " is not a crat"));
+            }
+            return 0;
+        }
+
+        LOGGER.info("Removed CratBat target {} (UUID: {})", playerName, targetPlayer.getUUID());
+        source.sendSuccess(() -> Component.literal(playerName + " is no longer a crat"), true);
+        return 1;
+    }
+
+    /**
+     * Lists every registered target player, followed by each team's crats.
+     *
+     * @param context The command context
+     * @return The number of registered targets
+     */
+    private static int listCrats(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        List<UUID> targets = CratTargetRegistry.getTargets();
+
+        source.sendSystemMessage(Component.literal("=== Crats (" + targets.size() + ") ==="));
+        for (UUID uuid : targets) {
+            String name = displayName(source.getServer(), uuid);
+            String suffix = uuid.equals(CratTargetRegistry.getConfiguredTarget()) ? " [configured]" : "";
+            source.sendSystemMessage(Component.literal(name + " (" + uuid + ")" + suffix));
+        }
+
+        TeamTargets.getAssignments().forEach((team, teamTargets) -> {
+            source.sendSystemMessage(Component.literal("=== Team " + team + " (" + teamTargets.size() + ") ==="));
+            for (UUID uuid : teamTargets.toList()) {
+                String name = displayName(source.getServer(), uuid);
+                source.sendSystemMessage(Component.literal(name + " (" + uuid + ")"));
+            }
+        });
+
+        return targets.size();
+    }
+
+    /**
+     * Names a player for listings: the online name, else the last name the
+     * ProfileIndex saw, marked offline.
+     */
+    private static String displayName(MinecraftServer server, UUID uuid) {
+        ServerPlayer online = server.getPlayerList().getPlayer(uuid);
+        if (online != null) {
+            return online.getName().getString();
+        }
+        ProfileIndex.Entry indexed = ProfileIndex.get(server).findByUuid(uuid);
+        return indexed != null ? indexed.name() + " [offline]" : "offline";
+    }
+
+    /**
+     * Shows the status of the hit event log.
+     *
+     * @param context The command context
+     * @return 1 on success
+     */
+    private static int showLogStatus(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+
+        source.sendSystemMessage(Component.literal("=== CratBat Event Log ==="));
+        source.sendSystemMessage(Component.literal("Running: " + (HitEventLog.isRunning() ? "Yes" : "No")));
+        source.sendSystemMessage(Component.literal("Recorded Events: " + HitEventLog.getRecordedCount()));
+        source.sendSystemMessage(Component.literal("Dropped Events: " + HitEventLog.getDroppedCount()));
+
+        return 1;
+    }
+
+    /**
+     * Dumps the most recent hit events to a separate log file.
+     * The file is written by the event log thread, not the server thread.
+     *
+     * @param context The command context
+     * @return 1 on success, 0 if the event log is not running
+     */
+    private static int dumpLog(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        Path dumpFile = HitEventLog.requestDump();
+
+        if (dumpFile == null) {
+            source.sendFailure(Component.literal("The CratBat event log is not running"));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal("Dumping recent CratBat events to " + dumpFile.getFileName()), false);
+        return 1;
+    }
+
+    /**
+     * Shows p50/p99/max latency for every instrumented stage.
+     *
+     * @param context The command context
+     * @return 1 on success
+     */
+    private static int showPerf(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+
+        source.sendSystemMessage(Component.literal("=== CratBat Perf ==="));
+        source.sendSystemMessage(Component.literal("Enabled: " + (PerfStats.isEnabled() ? "Yes" : "No")));
+
+        List<String> lines = PerfStats.summarize();
+        if (lines.isEmpty()) {
+            source.sendSystemMessage(Component.literal("No samples recorded"));
+        }
+        for (String line : lines) {
+            source.sendSystemMessage(Component.literal(line));
+        }
+
+        return 1;
+    }
+
+    /**
+     * Turns stage timing on or off until the next config reload.
+     *
+     * @param context The command context
+     * @param enable  Whether timing should be enabled
+     * @return 1 on success
+     */
+    private static int setPerfEnabled(CommandContext<CommandSourceStack> context, boolean enable) {
+        PerfStats.setEnabled(enable);
+        context.getSource().sendSuccess(() -> Component.literal("CratBat perf timing " + (enable ? "enabled" : "disabled")), true);
+        return 1;
+    }
+
+    /**
+     * Clears all recorded stage timings.
+     *
+     * @param context The command context
+     * @return 1 on success
+     */
+    private static int resetPerf(CommandContext<CommandSourceStack> context) {
+        PerfStats.reset();
+        context.getSource().sendSuccess(() -> Component.literal("CratBat perf timings reset"), true);
+        return 1;
+    }
+
+    /**
+     * Shows packets, payload bytes and codec time per message type on the CratBat channel.
+     *
+     * @param context The command context
+     * @return 1 on success
+     */
+    private static int showNet(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+
+        source.sendSystemMessage(Component.literal("=== CratBat Network ==="));
+        source.sendSystemMessage(Component.literal("Sent: " + NetStats.getTotalPackets(NetStats.Direction.SENT) + " packets, "
+                + NetStats.formatBytes(NetStats.getTotalBytes(NetStats.Direction.SENT))));
+        source.sendSystemMessage(Component.literal("Received: " + NetStats.getTotalPackets(NetStats.Direction.RECEIVED) + " packets, "
+                + NetStats.formatBytes(NetStats.getTotalBytes(NetStats.Direction.RECEIVED))));
+        for (String line : NetStats.summarize()) {
+            source.sendSystemMessage(Component.literal(line));
+        }
+
+        return 1;
+    }
+
+    /**
+     * Shows CratBat channel traffic for each of the last minutes.
+     *
+     * @param context The command context
+     * @return The number of minutes shown
+     */
+    private static int showNetHistory(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        List<NetStats.Minute> history = NetStats.getHistory();
+
+        source.sendSystemMessage(Component.literal("=== CratBat Network, last " + history.size() + " minutes ==="));
+        if (history.isEmpty()) {
+            source.sendSystemMessage(Component.literal("No complete minute recorded yet"));
+        }
+        for (NetStats.Minute minute : history) {
+            String time = LocalTime.ofInstant(Instant.ofEpochMilli(minute.startMillis()), ZoneId.systemDefault())
+                    .truncatedTo(ChronoUnit.MINUTES).toString();
+            source.sendSystemMessage(Component.literal(time
+                    + " sent " + minute.sentPackets() + " (" + NetStats.formatBytes(minute.sentBytes()) + ")"
+                    + " received " + minute.receivedPackets() + " (" + NetStats.formatBytes(minute.receivedBytes()) + ")"));
+        }
+
+        return history.size();
+    }
+
+    /**
+     * Clears all CratBat channel counters and the per-minute history.
+     *
+     * @param context The command context
+     * @return 1 on success
+     */
+    private static int resetNet(CommandContext<CommandSourceStack> context) {
+        NetStats.reset();
+        context.getSource().sendSuccess(() -> Component.literal("CratBat network stats reset"), true);
         return 1;
     }
 
@@ -83,9 +397,10 @@ public class CratBatCommand {
     private static int showInfo(CommandContext<CommandSourceStack> context) {
         CommandSourceStack source = context.getSource();
 
-        String targetName = CratBatConfig.getTargetPlayerName();
-        String targetUuid = CratBatConfig.getTargetPlayerUUID();
-        String targetTexture = CratBatConfig.getTargetPlayerTexture();
+        ConfigSnapshot config = CratBatConfig.snapshot();
+        String targetName = config.targetPlayerName();
+        String targetUuid = config.targetPlayerUUID();
+        String targetTexture = config.targetPlayerTexture();
         boolean hasServerConfig = CratBatConfig.hasServerConfig();
 
         source.sendSystemMessage(Component.literal("=== CratBat Configuration ==="));
@@ -93,6 +408,9 @@ public class CratBatCommand {
         source.sendSystemMessage(Component.literal("Target UUID: " + targetUuid));
         source.sendSystemMessage(Component.literal("Has Texture: " + (!targetTexture.isEmpty() ? "Yes" : "No")));
         source.sendSystemMessage(Component.literal("Server Config Active: " + (hasServerConfig ? "Yes" : "No")));
+        source.sendSystemMessage(Component.literal("Registered Crats: " + CratTargetRegistry.getTargets().size()));
+        source.sendSystemMessage(Component.literal("Hurt Events Rejected Early: " + CratBatHolderTracker.getRejectedCount()));
+        source.sendSystemMessage(Component.literal("Hurt Events Evaluated: " + CratBatHolderTracker.getEvaluatedCount()));
 
         return 1;
     }
@@ -0,0 +1,200 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.world.entity.Entity;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Registry of the players who can be swatted by the CratBat, keyed by UUID.
+ * The configured target is always included; additional "crats" can be added
+ * and removed at runtime with /cratbat addCrat and /cratbat removeCrat.
+ * Crats that only members of one team may swat live in TeamTargets.
+ *
+ * Lookups are lock-free and allocation-free. Writers rebuild the lookup set
+ * and publish it through a volatile field, so readers on any thread always see
+ * a complete set.
+ */
+public class CratTargetRegistry {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // Guarded by the class lock
+    private static UUID configuredTarget;
+    private static String configuredName;
+    // A config that only names its target gets the UUID resolved at that player's login
+    private static String resolvedName;
+    private static UUID resolvedUuid;
+    private static final Set<UUID> runtimeTargets = new LinkedHashSet<>();
+
+    private static volatile UuidHashSet targets = new UuidHashSet();
+
+    /**
+     * Checks if an entity is one of the registered targets.
+     *
+     * @param entity The entity to check
+     * @return true if the entity's UUID is registered as a target
+     */
+    public static boolean isTarget(Entity entity) {
+        return targets.contains(entity.getUUID());
+    }
+
+    /**
+     * Checks if an attacker may swat a victim: the victim is a registered
+     * target, or one of the crats assigned to the attacker's team.
+     *
+     * @param attacker The attacking entity
+     * @param victim   The entity that was hit
+     * @return true if the victim is a target for this attacker
+     */
+    public static boolean isTargetFor(Entity attacker, Entity victim) {
+        return targets.contains(victim.getUUID()) || TeamTargets.isTeamTarget(attacker, victim);
+    }
+
+    /**
+     * Checks if a UUID is one of the registered targets.
+     *
+     * @param uuid The UUID to check
+     * @return true if the UUID is registered as a target
+     */
+    public static boolean isTarget(UUID uuid) {
+        return targets.contains(uuid);
+    }
+
+    /**
+     * Replaces the configured target. Invalid or nil UUID strings clear it.
+     *
+     * @param uuidString The target UUID from config
+     */
+    public static synchronized void setConfiguredTarget(String uuidString) {
+        setConfiguredTarget(null, uuidString);
+    }
+
+    /**
+     * Replaces the configured target. A config that names its target but has
+     * no valid UUID keeps the UUID resolved for that name by
+     * resolveConfiguredName, so re-syncing the same config does not drop it.
+     *
+     * @param name       The target player name from config, may be null
+     * @param uuidString The target UUID from config
+     */
+    public static synchronized void setConfiguredTarget(String name, String uuidString) {
+        configuredName = name;
+        UUID uuid = parseUuid(uuidString);
+        if (uuid == null && name != null && name.equals(resolvedName)) {
+            uuid = resolvedUuid;
+        }
+        apply(uuid);
+    }
+
+    /**
+     * Resolves a configured target that was only given by name, once a
+     * player of that name is seen. Does nothing if the config has a UUID or
+     * names someone else.
+     *
+     * @param name The player's name
+     * @param uuid The player's UUID
+     * @return true if the player became the configured target
+     */
+    public static synchronized boolean resolveConfiguredName(String name, UUID uuid) {
+        if (configuredTarget != null || configuredName == null || !configuredName.equals(name)) {
+            return false;
+        }
+        resolvedName = name;
+        resolvedUuid = uuid;
+        apply(uuid);
+        return true;
+    }
+
+    private static void apply(UUID uuid) {
+        if (uuid == null ? configuredTarget == null : uuid.equals(configuredTarget)) {
+            return;
+        }
+        configuredTarget = uuid;
+        rebuild();
+        LOGGER.debug("Configured CratBat target is now {}", uuid);
+    }
+
+    /**
+     * Gets the configured target UUID.
+     *
+     * @return The configured target, or null if none is set
+     */
+    public static synchronized UUID getConfiguredTarget() {
+        return configuredTarget;
+    }
+
+    /**
+     * Adds a runtime target.
+     *
+     * @param uuid The UUID of the player to add
+     * @return true if the player was not already a target
+     */
+    public static synchronized boolean addTarget(UUID uuid) {
+        if (uuid.equals(configuredTarget) || !runtimeTargets.add(uuid)) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Removes a runtime target. The configured target can only be replaced
+     * through /cratbat setCrat.
+     *
+     * @param uuid The UUID of the player to remove
+     * @return true if the player was a runtime target
+     */
+    public static synchronized boolean removeTarget(UUID uuid) {
+        if (!runtimeTargets.remove(uuid)) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Removes all runtime targets, keeping the configured target.
+     * Called when the server stops so targets do not leak between worlds.
+     */
+    public static synchronized void clearRuntimeTargets() {
+        if (!runtimeTargets.isEmpty()) {
+            runtimeTargets.clear();
+            rebuild();
+        }
+    }
+
+    /**
+     * Lists every registered target.
+     *
+     * @return The UUIDs of all targets
+     */
+    public static List<UUID> getTargets() {
+        return targets.toList();
+    }
+
+    private static void rebuild() {
+        UuidHashSet next = new UuidHashSet(runtimeTargets.size() + 1);
+        next.add(configuredTarget);
+        runtimeTargets.forEach(next::add);
+        targets = next;
+    }
+
+    private static UUID parseUuid(String uuidString) {
+        if (uuidString == null || uuidString.isEmpty()) {
+            return null;
+        }
+
+        try {
+            UUID uuid = UUID.fromString(uuidString);
+            return uuid.getMostSignificantBits() == 0L && uuid.getLeastSignificantBits() == 0L ? null : uuid;
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Ignoring invalid target UUID: {}", uuidString);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The target's skin held by the server itself, for servers whose clients
+ * cannot reach the skin host, such as LAN events without internet access.
+ *
+ * The skin PNG is read from the config folder and keyed by its SHA-256. The
+ * target's texture URL is replaced by one ending in that key, so skulls keep
+ * the usual SkullOwner format while clients look the skin up in their local
+ * cache, and SkinTransfers streams it to the clients that do not have it yet.
+ */
+public class LocalSkin {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static volatile Skin current;
+
+    /**
+     * A loaded skin.
+     *
+     * @param key   The SHA-256 of the PNG, as lowercase hex
+     * @param bytes The PNG bytes, never modified
+     */
+    public record Skin(String key, byte[] bytes) {
+        /**
+         * @return The texture URL that identifies this skin
+         */
+        public String textureUrl() {
+            return SkinFiles.textureUrl(key);
+        }
+    }
+
+    /**
+     * Loads the skin file named in config. The previous skin stays in use if
+     * the file cannot be read; a blank name turns local skins off.
+     *
+     * @param configDir The config folder the file name is relative to
+     * @param fileName  The configured file name, blank for none
+     */
+    public static void configure(Path configDir, String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            current = null;
+            return;
+        }
+
+        Path file = configDir.resolve(fileName.trim()).normalize();
+        try {
+            load(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not load local CratBat skin {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a skin file, replacing the current skin.
+     *
+     * @param file The PNG file
+     * @return The loaded skin
+     * @throws IOException If the file could not be read or is not a skin
+     */
+    public static Skin load(Path file) throws IOException {
+        if (Files.size(file) > SkinFiles.MAX_SKIN_BYTES) {
+            throw new IOException("Skin is larger than " + SkinFiles.MAX_SKIN_BYTES + " bytes");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        if (!SkinFiles.isPng(bytes)) {
+            throw new IOException("Not a PNG image");
+        }
+
+        Skin previous = current;
+        String key = SkinFiles.hashHex("SHA-256", bytes);
+        if (previous != null && previous.key().equals(key)) {
+            return previous;
+        }
+        Skin skin = new Skin(key, bytes);
+        current = skin;
+        LOGGER.info("Loaded local CratBat skin {} ({} bytes)", file.getFileName(), bytes.length);
+        return skin;
+    }
+
+    /**
+     * Gets the loaded skin. Keeps the same instance until the skin changes.
+     *
+     * @return The skin, or null when local skins are off
+     */
+    public static Skin get() {
+        return current;
+    }
+
+    /**
+     * Gets the texture URL to use for the target.
+     *
+     * @param configured The texture URL from config
+     * @return The local skin's URL if one is loaded, otherwise the configured URL
+     */
+    public static String textureUrlOr(String configured) {
+        Skin skin = current;
+        return skin != null ? skin.textureUrl() : configured;
+    }
+
+    /**
+     * Turns local skins off.
+     */
+    public static void clear() {
+        current = null;
+    }
+}
@@ -1,21 +1,35 @@
 package xyz.nineworlds.cratbat.core;
 
-import net.minecraft.core.Registry;
+import net.minecraft.core.Holder;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.damagesource.DamageType;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
 
 /**
  * Utility class for creating custom DamageSource instances for the CratBat mod.
+ * The damage type holder is resolved once per registry access and cached until
+ * the next datapack reload or server stop, so swats do no registry work and
+ * only allocate the damage source itself.
  */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
 public class ModDamageSources {
-    private final Registry<DamageType> damageTypes;
+    private static volatile ModDamageSources cached;
+
+    private final RegistryAccess registryAccess;
+    private final Holder<DamageType> cratBatStrikeType;
 
     public ModDamageSources(RegistryAccess registryAccess) {
-        this.damageTypes = registryAccess.registryOrThrow(Registries.DAMAGE_TYPE);
+        this.registryAccess = registryAccess;
+        this.cratBatStrikeType = registryAccess.registryOrThrow(Registries.DAMAGE_TYPE)
+                .getHolderOrThrow(ModDamageTypes.CRAT_BAT_STRIKE);
     }
 
     /**
@@ -27,19 +41,41 @@ public class ModDamageSources {
      * @return A DamageSource for CratBat kills
      */
     public DamageSource cratBatStrike(Entity attacker) {
-        return new DamageSource(
-                this.damageTypes.getHolderOrThrow(ModDamageTypes.CRAT_BAT_STRIKE),
-                attacker
-        );
+        return new DamageSource(this.cratBatStrikeType, attacker);
     }
 
     /**
-     * Creates a ModDamageSources instance from a Level.
+     * Gets the ModDamageSources instance for a Level, reusing the cached one
+     * while the level's registry access is unchanged.
      *
      * @param level The level to get registry access from
-     * @return A new ModDamageSources instance
+     * @return A ModDamageSources instance bound to the level's registries
      */
     public static ModDamageSources from(Level level) {
-        return new ModDamageSources(level.registryAccess());
+        RegistryAccess access = level.registryAccess();
+        ModDamageSources sources = cached;
+        if (sources == null || sources.registryAccess != access) {
+            sources = new ModDamageSources(access);
+            cached = sources;
+        }
+        return sources;
+    }
+
+    /**
+     * Drops the cached holder.
+     */
+    public static void invalidate() {
+        cached = null;
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Fired after every datapack (re)load on both sides
+        invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        invalidate();
     }
-}
\ No newline at end of file
+}
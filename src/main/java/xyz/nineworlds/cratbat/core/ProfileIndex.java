@@ -0,0 +1,193 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.util.PlayerTextureUtil;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-world index of every player seen on the server: name to UUID to skin
+ * texture URL. Lets setCrat target offline players, and reuse a known
+ * texture, with a map lookup instead of a profile fetch.
+ *
+ * The index is stored with the overworld's saved data and only loaded the
+ * first time it is used. Each login updates the player's entry, and the file
+ * is only marked dirty when something changed. Entries are stored as one
+ * long array of UUIDs and two parallel lists of names and textures, with
+ * Mojang texture URLs shortened to their hash. Only touched on the server
+ * thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class ProfileIndex extends SavedData {
+    private static final String DATA_NAME = CratBatMod.MODID + "_profiles";
+    private static final String MOJANG_TEXTURE_PREFIX = "http://textures.minecraft.net/texture/";
+    private static final String TEXTURES_PROPERTY = "textures";
+
+    private final Map<UUID, Entry> byUuid = new HashMap<>();
+    private final Map<String, Entry> byName = new HashMap<>();
+
+    /**
+     * An indexed player.
+     *
+     * @param uuid       The player's UUID
+     * @param name       The player's last seen name
+     * @param textureUrl The player's skin texture URL, or an empty string if unknown
+     */
+    public record Entry(UUID uuid, String name, String textureUrl) {
+    }
+
+    /**
+     * Gets the index of a server's world, loading it on first use.
+     *
+     * @param server The running server
+     * @return The index
+     */
+    public static ProfileIndex get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(ProfileIndex::load, ProfileIndex::new, DATA_NAME);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        MinecraftServer server = event.getEntity().getServer();
+        if (server != null) {
+            get(server).record(event.getEntity().getGameProfile());
+        }
+    }
+
+    /**
+     * Records a player's profile. The texture is only taken from profiles
+     * that carry a textures property, so a profile without properties keeps
+     * the previously known texture.
+     *
+     * @param profile The player's profile
+     */
+    public void record(GameProfile profile) {
+        if (profile.getId() == null || profile.getName() == null) {
+            return;
+        }
+        String texture = profile.getProperties().containsKey(TEXTURES_PROPERTY)
+                ? PlayerTextureUtil.getTextureUrl(profile) : null;
+        record(profile.getId(), profile.getName(), texture);
+    }
+
+    /**
+     * Records a player.
+     *
+     * @param uuid       The player's UUID
+     * @param name       The player's current name
+     * @param textureUrl The player's texture URL, or null to keep the known one
+     */
+    public void record(UUID uuid, String name, String textureUrl) {
+        Entry previous = byUuid.get(uuid);
+        String texture = textureUrl != null ? textureUrl : previous != null ? previous.textureUrl() : "";
+        Entry entry = new Entry(uuid, name, texture);
+        if (entry.equals(previous)) {
+            return;
+        }
+
+        if (previous != null && !previous.name().equalsIgnoreCase(name)) {
+            byName.remove(key(previous.name()), previous);
+        }
+        put(entry);
+        setDirty();
+    }
+
+    /**
+     * Looks a player up by name, ignoring case.
+     *
+     * @param name The player name
+     * @return The entry, or null if no player of that name has been seen
+     */
+    public Entry findByName(String name) {
+        return byName.get(key(name));
+    }
+
+    /**
+     * Looks a player up by UUID.
+     *
+     * @param uuid The player's UUID
+     * @return The entry, or null if the player has not been seen
+     */
+    public Entry findByUuid(UUID uuid) {
+        return byUuid.get(uuid);
+    }
+
+    /**
+     * @return The number of indexed players
+     */
+    public int size() {
+        return byUuid.size();
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        long[] ids = new long[byUuid.size() * 2];
+        ListTag names = new ListTag();
+        ListTag textures = new ListTag();
+        int i = 0;
+        for (Entry entry : byUuid.values()) {
+            ids[i++] = entry.uuid().getMostSignificantBits();
+            ids[i++] = entry.uuid().getLeastSignificantBits();
+            names.add(StringTag.valueOf(entry.name()));
+            textures.add(StringTag.valueOf(compactTexture(entry.textureUrl())));
+        }
+        tag.put("Ids", new LongArrayTag(ids));
+        tag.put("Names", names);
+        tag.put("Textures", textures);
+        return tag;
+    }
+
+    /**
+     * Reads an index written by save.
+     *
+     * @param tag The saved data
+     * @return The index
+     */
+    public static ProfileIndex load(CompoundTag tag) {
+        ProfileIndex index = new ProfileIndex();
+        long[] ids = tag.getLongArray("Ids");
+        ListTag names = tag.getList("Names", Tag.TAG_STRING);
+        ListTag textures = tag.getList("Textures", Tag.TAG_STRING);
+        int count = Math.min(ids.length / 2, Math.min(names.size(), textures.size()));
+        for (int i = 0; i < count; i++) {
+            UUID uuid = new UUID(ids[i * 2], ids[i * 2 + 1]);
+            index.put(new Entry(uuid, names.getString(i), expandTexture(textures.getString(i))));
+        }
+        return index;
+    }
+
+    private void put(Entry entry) {
+        byUuid.put(entry.uuid(), entry);
+        byName.put(key(entry.name()), entry);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Shortens Mojang texture URLs to their hash. Other URLs are kept whole
+     * and can be told apart by their scheme.
+     */
+    static String compactTexture(String textureUrl) {
+        return textureUrl.startsWith(MOJANG_TEXTURE_PREFIX) ? textureUrl.substring(MOJANG_TEXTURE_PREFIX.length()) : textureUrl;
+    }
+
+    static String expandTexture(String stored) {
+        return stored.isEmpty() || stored.contains("://") ? stored : MOJANG_TEXTURE_PREFIX + stored;
+    }
+}
@@ -0,0 +1,115 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.logging.LogUtils;
+import net.minecraft.server.MinecraftServer;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.util.PlayerTextureUtil;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Resolves a player name to the name, UUID and skin texture URL a crat is
+ * configured with, without blocking the server thread.
+ *
+ * A profile that is already known, such as an online player's, is used as
+ * is; otherwise it is looked up by name. Profiles without a textures
+ * property have their properties fetched. All lookups run on a dedicated
+ * executor and the returned future completes on the completion executor,
+ * normally the server thread, so callers can update config and broadcast
+ * directly from its callbacks.
+ */
+public class ProfileResolver {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String TEXTURES_PROPERTY = "textures";
+    private static final ExecutorService LOOKUP_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CratBat Profile Resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProfileSource source;
+    private final Executor lookupExecutor;
+    private final Executor completionExecutor;
+
+    /**
+     * A resolved crat.
+     *
+     * @param name       The player's name with its canonical capitalisation
+     * @param uuid       The player's UUID
+     * @param textureUrl The skin texture URL, or the UUID-based fallback URL
+     */
+    public record ResolvedProfile(String name, UUID uuid, String textureUrl) {
+    }
+
+    /**
+     * Creates a resolver.
+     *
+     * @param source             Where profiles are looked up
+     * @param lookupExecutor     Where the blocking lookups run
+     * @param completionExecutor Where the returned futures complete
+     */
+    public ProfileResolver(ProfileSource source, Executor lookupExecutor, Executor completionExecutor) {
+        this.source = source;
+        this.lookupExecutor = lookupExecutor;
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Creates a resolver using a server's Mojang services, completing on the server thread.
+     *
+     * @param server The running server
+     * @return The resolver
+     */
+    public static ProfileResolver forServer(MinecraftServer server) {
+        return new ProfileResolver(ProfileSource.forServer(server), LOOKUP_EXECUTOR, server);
+    }
+
+    /**
+     * Resolves a player.
+     *
+     * @param name  The player name to resolve
+     * @param known The player's profile if already known, e.g. because they are online, or null
+     * @return A future completing on the completion executor with the resolved
+     *         profile, or exceptionally with NoSuchElementException for unknown players
+     */
+    public CompletableFuture<ResolvedProfile> resolve(String name, GameProfile known) {
+        CompletableFuture<ResolvedProfile> result = new CompletableFuture<>();
+        // whenCompleteAsync also hops failures to the completion executor, thenApplyAsync would not
+        CompletableFuture.supplyAsync(() -> resolveBlocking(name, known), lookupExecutor)
+                .whenCompleteAsync((profile, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                    } else {
+                        result.complete(profile);
+                    }
+                }, completionExecutor);
+        return result;
+    }
+
+    private ResolvedProfile resolveBlocking(String name, GameProfile known) {
+        GameProfile profile = known != null ? known : source.findByName(name)
+                .orElseThrow(() -> new NoSuchElementException("Unknown player " + name));
+        if (profile.getId() == null) {
+            throw new NoSuchElementException("Player " + name + " has no UUID");
+        }
+
+        if (!profile.getProperties().containsKey(TEXTURES_PROPERTY)) {
+            try {
+                profile = source.fillProperties(profile);
+            } catch (RuntimeException e) {
+                // The UUID-based fallback URL still works for players whose skin could not be fetched
+                LOGGER.warn("Could not fetch the profile properties of {}: {}", profile.getName(), e.getMessage());
+            }
+        }
+
+        return new ResolvedProfile(profile.getName(), profile.getId(), PlayerTextureUtil.getTextureUrl(profile));
+    }
+}
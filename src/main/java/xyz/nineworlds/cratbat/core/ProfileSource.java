@@ -0,0 +1,51 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.players.GameProfileCache;
+
+import java.util.Optional;
+
+/**
+ * Where ProfileResolver looks up player profiles. Both methods may block on
+ * the network and are only called on the resolver's executor, never on the
+ * server thread. Tests supply a local stub instead of the session server.
+ */
+public interface ProfileSource {
+    /**
+     * Looks up a player's profile by name.
+     *
+     * @param name The player name
+     * @return The profile, without properties, or empty if no such player exists
+     */
+    Optional<GameProfile> findByName(String name);
+
+    /**
+     * Fetches a profile's properties, including its textures.
+     *
+     * @param profile A profile with at least its UUID set
+     * @return The profile with its properties filled in
+     */
+    GameProfile fillProperties(GameProfile profile);
+
+    /**
+     * Creates a source backed by a server's profile cache and session service.
+     *
+     * @param server The running server
+     * @return A source using the server's Mojang services
+     */
+    static ProfileSource forServer(MinecraftServer server) {
+        return new ProfileSource() {
+            @Override
+            public Optional<GameProfile> findByName(String name) {
+                GameProfileCache cache = server.getProfileCache();
+                return cache != null ? cache.get(name) : Optional.empty();
+            }
+
+            @Override
+            public GameProfile fillProperties(GameProfile profile) {
+                return server.getSessionService().fillProfileProperties(profile, false);
+            }
+        };
+    }
+}
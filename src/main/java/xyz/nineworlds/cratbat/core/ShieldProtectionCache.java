@@ -0,0 +1,81 @@
+package xyz.nineworlds.cratbat.core;
+
+import net.minecraft.world.entity.Entity;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.UUID;
+
+/**
+ * Per-player record of whether a CratBat Shield is currently equipped.
+ * Kept up to date from the shield's Curios equip/unequip callbacks and
+ * reconciled against the real Curios inventory whenever the player entity is
+ * (re)created: login, respawn and dimension change, see ShieldReconciler. The hit path then reads a
+ * single set membership instead of scanning the curio inventory.
+ *
+ * Only touched on the server thread.
+ */
+public class ShieldProtectionCache {
+    private static final UuidHashSet PROTECTED = new UuidHashSet();
+
+    /**
+     * Checks if an entity currently has a CratBat Shield equipped.
+     *
+     * @param entity The entity to check
+     * @return true if the entity is protected
+     */
+    public static boolean isProtected(Entity entity) {
+        return PROTECTED.contains(entity.getUUID());
+    }
+
+    /**
+     * Checks if a player currently has a CratBat Shield equipped.
+     *
+     * @param uuid The player's UUID
+     * @return true if the player is protected
+     */
+    public static boolean isProtected(UUID uuid) {
+        return PROTECTED.contains(uuid);
+    }
+
+    /**
+     * Called when a CratBat Shield is placed in one of the player's curio slots.
+     *
+     * @param uuid The player's UUID
+     */
+    public static void onEquip(UUID uuid) {
+        PROTECTED.add(uuid);
+    }
+
+    /**
+     * Sets a player's flag from a scan of their curio inventory. Called when a
+     * shield is unequipped, and whenever the player entity is loaded or
+     * replaced, see ShieldReconciler.
+     *
+     * @param uuid     The player's UUID
+     * @param equipped Whether a shield is equipped according to the curio inventory
+     */
+    public static void reconcile(UUID uuid, boolean equipped) {
+        if (equipped) {
+            PROTECTED.add(uuid);
+        } else {
+            PROTECTED.remove(uuid);
+        }
+    }
+
+    /**
+     * Forgets a player until they are next reconciled. Called on death, when
+     * the shield may be dropped, and on logout.
+     *
+     * @param uuid The player's UUID
+     */
+    public static void forget(UUID uuid) {
+        PROTECTED.remove(uuid);
+    }
+
+    /**
+     * Removes all cached state. Called when the server stops.
+     */
+    public static void clear() {
+        PROTECTED.clear();
+    }
+}
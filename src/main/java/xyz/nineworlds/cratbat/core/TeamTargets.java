@@ -0,0 +1,169 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.scores.Team;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-team CratBat targets. Each scoreboard team can be assigned its own
+ * crats, which members of that team can swat in addition to the targets in
+ * CratTargetRegistry.
+ *
+ * The server holds the assignments for every team, from the teamTargets
+ * config. A client only holds the assignment of its own player's team, sent
+ * by TeamTargetSync. Both are published through volatile fields as sets that
+ * are never modified again, so lookups are lock-free and allocation-free.
+ */
+public class TeamTargets {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static volatile Map<String, UuidHashSet> byTeam = Map.of();
+    // Every UUID assigned to any team
+    private static volatile UuidHashSet allTargets = new UuidHashSet();
+    private static volatile ClientAssignment clientAssignment;
+
+    private record ClientAssignment(String team, UuidHashSet targets) {
+    }
+
+    /**
+     * Checks if the victim is one of the crats assigned to the attacker's team.
+     *
+     * @param attacker The attacking entity
+     * @param victim   The entity that was hit
+     * @return true if the attacker's team may swat the victim
+     */
+    public static boolean isTeamTarget(Entity attacker, Entity victim) {
+        if (attacker.level().isClientSide()) {
+            ClientAssignment assignment = clientAssignment;
+            if (assignment == null) {
+                return false;
+            }
+            Team team = attacker.getTeam();
+            return team != null && assignment.team().equals(team.getName()) && assignment.targets().contains(victim.getUUID());
+        }
+
+        Map<String, UuidHashSet> assignments = byTeam;
+        if (assignments.isEmpty()) {
+            return false;
+        }
+        Team team = attacker.getTeam();
+        UuidHashSet targets = team != null ? assignments.get(team.getName()) : null;
+        return targets != null && targets.contains(victim.getUUID());
+    }
+
+    /**
+     * Checks if a UUID is assigned as a crat to any team. Server side only.
+     *
+     * @param uuid The UUID to check
+     * @return true if some team may swat the player
+     */
+    public static boolean isAnyTeamTarget(UUID uuid) {
+        return allTargets.contains(uuid);
+    }
+
+    /**
+     * Gets the crats assigned to a team. Server side only. The returned set
+     * is shared and must not be modified; it stays the same instance until
+     * the team's assignment changes.
+     *
+     * @param teamName The scoreboard team name, may be null
+     * @return The team's crats, or null if the team has none
+     */
+    public static UuidHashSet getTargets(String teamName) {
+        return teamName != null ? byTeam.get(teamName) : null;
+    }
+
+    /**
+     * Gets every team assignment. Server side only.
+     *
+     * @return The assignments keyed by team name
+     */
+    public static Map<String, UuidHashSet> getAssignments() {
+        return byTeam;
+    }
+
+    /**
+     * Applies the team assignments from config. Teams whose crats did not
+     * change keep their set instance, so TeamTargetSync only resyncs the
+     * members of teams that actually changed.
+     *
+     * @param entries Entries of the form team=uuid,uuid,...
+     */
+    public static synchronized void configure(List<? extends String> entries) {
+        Map<String, UuidHashSet> parsed = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf('=');
+            String team = separator > 0 ? entry.substring(0, separator).trim() : "";
+            if (team.isEmpty()) {
+                LOGGER.warn("Ignoring invalid team target entry: {}", entry);
+                continue;
+            }
+
+            UuidHashSet targets = parsed.computeIfAbsent(team, key -> new UuidHashSet());
+            for (String value : entry.substring(separator + 1).split(",")) {
+                try {
+                    targets.add(UUID.fromString(value.trim()));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Ignoring invalid UUID {} in team target entry: {}", value.trim(), entry);
+                }
+            }
+        }
+
+        Map<String, UuidHashSet> previous = byTeam;
+        Map<String, UuidHashSet> next = new HashMap<>();
+        UuidHashSet all = new UuidHashSet();
+        parsed.forEach((team, targets) -> {
+            if (targets.isEmpty()) {
+                return;
+            }
+            UuidHashSet old = previous.get(team);
+            next.put(team, old != null && sameContents(old, targets) ? old : targets);
+            targets.toList().forEach(all::add);
+        });
+
+        byTeam = Map.copyOf(next);
+        allTargets = all;
+    }
+
+    /**
+     * Replaces the client's assignment with the one sent by the server.
+     *
+     * @param team    The local player's team, or an empty string for none
+     * @param targets The crats the local player's team may swat
+     */
+    public static void setClientAssignment(String team, List<UUID> targets) {
+        if (team.isEmpty() || targets.isEmpty()) {
+            clientAssignment = null;
+            return;
+        }
+        UuidHashSet set = new UuidHashSet(targets.size());
+        targets.forEach(set::add);
+        clientAssignment = new ClientAssignment(team, set);
+    }
+
+    /**
+     * Forgets the client's assignment. Called when leaving a server.
+     */
+    public static void clearClientAssignment() {
+        clientAssignment = null;
+    }
+
+    private static boolean sameContents(UuidHashSet first, UuidHashSet second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (UUID uuid : second.toList()) {
+            if (!first.contains(uuid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
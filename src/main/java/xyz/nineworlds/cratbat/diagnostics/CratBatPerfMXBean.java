@@ -0,0 +1,31 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+/**
+ * JMX view of the CratBat per-stage latency statistics.
+ * Registered as xyz.nineworlds.cratbat:type=Perf.
+ */
+public interface CratBatPerfMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return The names of all timed stages
+     */
+    String[] getStages();
+
+    /**
+     * @return One human-readable summary line per stage
+     */
+    String[] getSummary();
+
+    long getCount(String stage);
+
+    long getP50Nanos(String stage);
+
+    long getP99Nanos(String stage);
+
+    long getMaxNanos(String stage);
+
+    void reset();
+}
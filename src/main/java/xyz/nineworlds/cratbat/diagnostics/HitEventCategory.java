@@ -0,0 +1,50 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+/**
+ * Categories of events recorded by HitEventLog.
+ * Each category can be sampled independently through the eventLogSampling config.
+ */
+public enum HitEventCategory {
+    NON_TARGET_HIT("non_target_hit"),
+    SHIELD_BLOCKED("shield_blocked"),
+    NOT_IN_BAT_FORM("not_in_bat_form"),
+    SWAT("swat"),
+    TESTCRAT_NOT_IN_BAT_FORM("testcrat_not_in_bat_form"),
+    TESTCRAT_SWAT("testcrat_swat"),
+    KILL("kill"),
+    TESTCRAT_KILL("testcrat_kill");
+
+    private static final HitEventCategory[] VALUES = values();
+
+    private final String configName;
+
+    HitEventCategory(String configName) {
+        this.configName = configName;
+    }
+
+    /**
+     * @return The name used for this category in config and log lines
+     */
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Looks up a category by its config name.
+     *
+     * @param configName The config name
+     * @return The matching category, or null if none matches
+     */
+    public static HitEventCategory byConfigName(String configName) {
+        for (HitEventCategory category : VALUES) {
+            if (category.configName.equals(configName)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    static HitEventCategory byOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
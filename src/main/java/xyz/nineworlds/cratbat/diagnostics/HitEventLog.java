@@ -0,0 +1,323 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.CratBatMod;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, sampled event log for the CratBat hit pipeline.
+ * Event handlers record fixed-layout events into a lock-free ring buffer;
+ * a background thread drains it into logs/cratbat-events.log, rotating the
+ * file when it grows too large. Recording never formats strings or touches
+ * the disk on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class HitEventLog {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long REOPEN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MAX_FILE_BYTES = 5L * 1024 * 1024;
+    private static final int MAX_BACKUPS = 3;
+    private static final int HISTORY_SIZE = 256;
+    private static final String FILE_NAME = "cratbat-events.log";
+    private static final DateTimeFormatter DUMP_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final HitEventRingBuffer BUFFER = new HitEventRingBuffer(BUFFER_CAPACITY);
+    private static final AtomicLongArray SAMPLE_COUNTERS = new AtomicLongArray(HitEventCategory.values().length);
+
+    private static volatile boolean enabled = true;
+    private static volatile int[] sampleRates = defaultSampleRates();
+    private static volatile WriterThread writer;
+
+    /**
+     * Records an event if logging is enabled and the category's sampler selects it.
+     *
+     * @param category The kind of event
+     * @param attacker The attacking entity
+     * @param victim   The entity that was hit
+     */
+    public static void record(HitEventCategory category, Entity attacker, Entity victim) {
+        if (!enabled || writer == null) {
+            return;
+        }
+
+        int rate = sampleRates[category.ordinal()];
+        if (rate > 1 && SAMPLE_COUNTERS.getAndIncrement(category.ordinal()) % rate != 0) {
+            return;
+        }
+
+        UUID attackerId = attacker.getUUID();
+        UUID victimId = victim.getUUID();
+        BUFFER.offer(System.currentTimeMillis(), category.ordinal(),
+                attackerId.getMostSignificantBits(), attackerId.getLeastSignificantBits(),
+                victimId.getMostSignificantBits(), victimId.getLeastSignificantBits());
+    }
+
+    /**
+     * Applies the event log settings from config.
+     *
+     * @param enable   Whether events should be recorded at all
+     * @param sampling Entries of the form category=N, recording one in every N events
+     */
+    public static void configure(boolean enable, List<? extends String> sampling) {
+        int[] rates = defaultSampleRates();
+        for (String entry : sampling) {
+            int separator = entry.indexOf('=');
+            HitEventCategory category = separator > 0 ? HitEventCategory.byConfigName(entry.substring(0, separator).trim()) : null;
+            if (category == null) {
+                LOGGER.warn("Ignoring invalid event log sampling entry: {}", entry);
+                continue;
+            }
+            try {
+                rates[category.ordinal()] = Math.max(1, Integer.parseInt(entry.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring invalid event log sampling rate: {}", entry);
+            }
+        }
+        sampleRates = rates;
+        enabled = enable;
+    }
+
+    /**
+     * Asks the writer thread to dump the most recent events to a separate file.
+     *
+     * @return The path the dump will be written to, or null if the log is not running
+     */
+    public static Path requestDump() {
+        WriterThread current = writer;
+        if (current == null) {
+            return null;
+        }
+        Path target = current.directory.resolve("cratbat-events-dump-" + LocalDateTime.now().format(DUMP_NAME_FORMAT) + ".log");
+        current.dumpRequests.add(target);
+        LockSupport.unpark(current);
+        return target;
+    }
+
+    /**
+     * @return true if the writer thread is running and events are being recorded
+     */
+    public static boolean isRunning() {
+        return enabled && writer != null;
+    }
+
+    /**
+     * @return The number of events accepted into the ring buffer
+     */
+    public static long getRecordedCount() {
+        return BUFFER.getAcceptedCount();
+    }
+
+    /**
+     * @return The number of events dropped because the ring buffer was full
+     */
+    public static long getDroppedCount() {
+        return BUFFER.getDroppedCount();
+    }
+
+    @SubscribeEvent
+    public static void onServerStarting(ServerStartingEvent event) {
+        if (writer == null) {
+            WriterThread thread = new WriterThread(FMLPaths.GAMEDIR.get().resolve("logs"));
+            writer = thread;
+            thread.start();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        WriterThread thread = writer;
+        writer = null;
+        if (thread != null) {
+            thread.shutdown();
+        }
+    }
+
+    private static int[] defaultSampleRates() {
+        int[] rates = new int[HitEventCategory.values().length];
+        Arrays.fill(rates, 1);
+        return rates;
+    }
+
+    /**
+     * Drains the ring buffer into a rotating log file and serves dump requests.
+     * If the file cannot be opened, written or rotated, the thread keeps
+     * draining into the in-memory history, so dumps still work, and retries
+     * the file every REOPEN_INTERVAL_NANOS.
+     */
+    private static final class WriterThread extends Thread {
+        private final Path directory;
+        private final Path file;
+        private final Queue<Path> dumpRequests = new ConcurrentLinkedQueue<>();
+        private final ArrayDeque<String> history = new ArrayDeque<>(HISTORY_SIZE);
+        private volatile boolean running = true;
+        private BufferedWriter out;
+        private long fileBytes;
+        private boolean writeFailed;
+        private long nextOpenNanos;
+
+        WriterThread(Path directory) {
+            super("CratBat Event Log");
+            setDaemon(true);
+            this.directory = directory;
+            this.file = directory.resolve(FILE_NAME);
+        }
+
+        @Override
+        public void run() {
+            nextOpenNanos = System.nanoTime();
+            try {
+                while (running) {
+                    drain();
+                    serveDumps();
+                    LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+                }
+                drain();
+                serveDumps();
+            } catch (RuntimeException e) {
+                LOGGER.error("CratBat event log stopped", e);
+            } finally {
+                close();
+                // Stop accepting events nobody will drain
+                if (writer == this) {
+                    writer = null;
+                }
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            LockSupport.unpark(this);
+            try {
+                join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void drain() {
+            if (out == null && System.nanoTime() - nextOpenNanos >= 0L) {
+                try {
+                    Files.createDirectories(directory);
+                    open();
+                } catch (IOException e) {
+                    fileFailed("open", e);
+                }
+            }
+
+            int drained = BUFFER.drain((timestamp, category, attackerMost, attackerLeast, victimMost, victimLeast) ->
+                    writeLine(Instant.ofEpochMilli(timestamp)
+                            + " " + HitEventCategory.byOrdinal(category).getConfigName()
+                            + " attacker=" + new UUID(attackerMost, attackerLeast)
+                            + " victim=" + new UUID(victimMost, victimLeast)));
+            if (drained > 0 && out != null) {
+                try {
+                    out.flush();
+                    if (fileBytes > MAX_FILE_BYTES) {
+                        rotate();
+                    }
+                } catch (IOException e) {
+                    fileFailed("write", e);
+                }
+            }
+        }
+
+        /**
+         * Drops the log file until the next reopen attempt.
+         */
+        private void fileFailed(String action, IOException e) {
+            LOGGER.error("Failed to {} CratBat event log {}, keeping events in memory only: {}", action, file, e.getMessage());
+            close();
+            nextOpenNanos = System.nanoTime() + REOPEN_INTERVAL_NANOS;
+        }
+
+        private void writeLine(String line) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(line);
+            if (out == null) {
+                return;
+            }
+
+            try {
+                out.write(line);
+                out.newLine();
+                fileBytes += line.length() + 1;
+            } catch (IOException e) {
+                if (!writeFailed) {
+                    writeFailed = true;
+                    LOGGER.warn("Failed to write CratBat event log: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void serveDumps() {
+            Path target;
+            while ((target = dumpRequests.poll()) != null) {
+                try {
+                    Files.write(target, history, StandardCharsets.UTF_8);
+                    LOGGER.info("Dumped {} CratBat events to {}", history.size(), target);
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to dump CratBat events to {}: {}", target, e.getMessage());
+                }
+            }
+        }
+
+        private void open() throws IOException {
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileBytes = Files.size(file);
+            writeFailed = false;
+        }
+
+        private void rotate() throws IOException {
+            close();
+            for (int i = MAX_BACKUPS - 1; i >= 1; i--) {
+                Path source = directory.resolve(FILE_NAME + "." + i);
+                if (Files.exists(source)) {
+                    Files.move(source, directory.resolve(FILE_NAME + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, directory.resolve(FILE_NAME + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            open();
+        }
+
+        private void close() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Failed to close CratBat event log: {}", e.getMessage());
+                }
+                out = null;
+            }
+        }
+    }
+}
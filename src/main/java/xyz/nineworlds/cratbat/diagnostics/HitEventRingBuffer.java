@@ -0,0 +1,131 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded lock-free ring buffer of fixed-layout hit event records.
+ * Records are stored column-wise in primitive arrays, so offering an event
+ * never allocates. Any number of threads may offer; a single thread drains.
+ *
+ * Each slot carries a sequence number: a producer may claim a slot once the
+ * consumer has released it, and publishes the record by advancing the
+ * sequence. When the buffer is full, new records are dropped and counted
+ * rather than blocking the caller.
+ */
+public class HitEventRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long tail;
+
+    private final long[] timestamps;
+    private final int[] categories;
+    private final long[] attackerMost;
+    private final long[] attackerLeast;
+    private final long[] victimMost;
+    private final long[] victimLeast;
+
+    /**
+     * Receives drained records.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(long timestamp, int category, long attackerMost, long attackerLeast, long victimMost, long victimLeast);
+    }
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity The number of records the buffer can hold, must be a power of two
+     */
+    public HitEventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.timestamps = new long[capacity];
+        this.categories = new int[capacity];
+        this.attackerMost = new long[capacity];
+        this.attackerLeast = new long[capacity];
+        this.victimMost = new long[capacity];
+        this.victimLeast = new long[capacity];
+    }
+
+    /**
+     * Adds a record to the buffer. Safe to call from any thread.
+     *
+     * @return true if the record was stored, false if the buffer was full
+     */
+    public boolean offer(long timestamp, int category, long attackerMost, long attackerLeast, long victimMost, long victimLeast) {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    this.timestamps[index] = timestamp;
+                    this.categories[index] = category;
+                    this.attackerMost[index] = attackerMost;
+                    this.attackerLeast[index] = attackerLeast;
+                    this.victimMost[index] = victimMost;
+                    this.victimLeast[index] = victimLeast;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // The consumer has not released this slot yet: the buffer is full
+                dropped.increment();
+                return false;
+            } else {
+                // Another producer claimed this position first
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Hands every published record to the sink, in order. Must only be called
+     * from a single consumer thread.
+     *
+     * @param sink Receives the drained records
+     * @return The number of records drained
+     */
+    public int drain(Sink sink) {
+        int count = 0;
+        while (true) {
+            int index = (int) tail & mask;
+            if (sequences.get(index) != tail + 1) {
+                return count;
+            }
+            sink.accept(timestamps[index], categories[index],
+                    attackerMost[index], attackerLeast[index], victimMost[index], victimLeast[index]);
+            sequences.set(index, tail + capacity);
+            tail++;
+            count++;
+        }
+    }
+
+    /**
+     * @return The number of records accepted since creation
+     */
+    public long getAcceptedCount() {
+        return head.get();
+    }
+
+    /**
+     * @return The number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,113 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent log-linear histogram of nanosecond durations.
+ * Each power of two is split into four buckets, so reported percentiles are
+ * within 25% of the true value. Recording is wait-free and never allocates.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKET_COUNT = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketFor(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * @return The number of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all recorded durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return The largest recorded duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The upper bound of the bucket containing the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0L;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Clears all recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    static int bucketFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return (exponent - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << (exponent - 2);
+        return lower + (1L << (exponent - 2)) - 1;
+    }
+}
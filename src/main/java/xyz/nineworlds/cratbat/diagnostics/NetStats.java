@@ -0,0 +1,334 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Wire accounting for the mod's network channel.
+ * Every message type registered through countingEncoder/countingDecoder counts
+ * packets, payload bytes and codec time, separately for sent (encoded) and
+ * received (decoded) packets. Payload bytes exclude the channel discriminator
+ * and vanilla packet framing.
+ *
+ * Totals are also kept as a rolling per-minute history covering the last
+ * hour, advanced by the server tick. Counting is always on: it costs two
+ * nanoTime calls and a few LongAdder increments per packet.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class NetStats {
+    private static final int HISTORY_MINUTES = 60;
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final List<MessageStats> ALL = new CopyOnWriteArrayList<>();
+    private static final Map<Class<?>, MessageStats> BY_TYPE = new ConcurrentHashMap<>();
+
+    // Guarded by the class lock
+    private static final ArrayDeque<Minute> HISTORY = new ArrayDeque<>(HISTORY_MINUTES);
+    private static long[] minuteStartTotals = new long[4];
+    private static long minuteStartMillis;
+    private static volatile long nextRollMillis;
+
+    /**
+     * Which way a packet travelled, as seen from this side of the connection.
+     */
+    public enum Direction {
+        SENT,
+        RECEIVED
+    }
+
+    /**
+     * Traffic totals for one minute.
+     *
+     * @param startMillis     When the minute started, in epoch milliseconds
+     * @param sentPackets     Packets sent during the minute
+     * @param sentBytes       Payload bytes sent during the minute
+     * @param receivedPackets Packets received during the minute
+     * @param receivedBytes   Payload bytes received during the minute
+     */
+    public record Minute(long startMillis, long sentPackets, long sentBytes, long receivedPackets, long receivedBytes) {
+    }
+
+    /**
+     * Counters for one message type.
+     */
+    public static final class MessageStats {
+        private final String name;
+        private final LongAdder[] packets = {new LongAdder(), new LongAdder()};
+        private final LongAdder[] bytes = {new LongAdder(), new LongAdder()};
+        private final LongAdder[] nanos = {new LongAdder(), new LongAdder()};
+        // Size of the most recent encode, for packets that are encoded once and sent many times
+        private volatile int lastEncodedBytes;
+
+        private MessageStats(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records one encoded, and therefore sent, packet.
+         */
+        public void recordEncode(int size, long elapsedNanos) {
+            lastEncodedBytes = size;
+            add(Direction.SENT, 1, size, elapsedNanos);
+        }
+
+        /**
+         * Records one received and decoded packet.
+         */
+        public void recordDecode(int size, long elapsedNanos) {
+            add(Direction.RECEIVED, 1, size, elapsedNanos);
+        }
+
+        /**
+         * Records extra sends of the most recently encoded packet, which were
+         * not encoded again.
+         *
+         * @param copies The number of additional recipients
+         */
+        public void recordCopies(int copies) {
+            if (copies > 0) {
+                add(Direction.SENT, copies, (long) copies * lastEncodedBytes, 0L);
+            }
+        }
+
+        private void add(Direction direction, long count, long size, long elapsedNanos) {
+            int index = direction.ordinal();
+            packets[index].add(count);
+            bytes[index].add(size);
+            if (elapsedNanos > 0L) {
+                nanos[index].add(elapsedNanos);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getPackets(Direction direction) {
+            return packets[direction.ordinal()].sum();
+        }
+
+        public long getBytes(Direction direction) {
+            return bytes[direction.ordinal()].sum();
+        }
+
+        /**
+         * @return The total encode time for SENT, or decode time for RECEIVED
+         */
+        public long getCodecNanos(Direction direction) {
+            return nanos[direction.ordinal()].sum();
+        }
+
+        private void reset() {
+            for (int i = 0; i < 2; i++) {
+                packets[i].reset();
+                bytes[i].reset();
+                nanos[i].reset();
+            }
+        }
+    }
+
+    /**
+     * Gets the counters for a message type, creating them on first use.
+     *
+     * @param type The message class
+     * @return The counters for the message type
+     */
+    public static MessageStats register(Class<?> type) {
+        return BY_TYPE.computeIfAbsent(type, key -> {
+            MessageStats stats = new MessageStats(key.getSimpleName());
+            ALL.add(stats);
+            return stats;
+        });
+    }
+
+    /**
+     * Wraps a message encoder so every encode is counted as a sent packet.
+     *
+     * @param type    The message class
+     * @param encoder The encoder to wrap
+     * @return The counting encoder
+     */
+    public static <M> BiConsumer<M, FriendlyByteBuf> countingEncoder(Class<M> type, BiConsumer<M, FriendlyByteBuf> encoder) {
+        MessageStats stats = register(type);
+        return (message, buf) -> {
+            int before = buf.writerIndex();
+            long start = System.nanoTime();
+            encoder.accept(message, buf);
+            stats.recordEncode(buf.writerIndex() - before, System.nanoTime() - start);
+        };
+    }
+
+    /**
+     * Wraps a message decoder so every decode is counted as a received packet.
+     *
+     * @param type    The message class
+     * @param decoder The decoder to wrap
+     * @return The counting decoder
+     */
+    public static <M> Function<FriendlyByteBuf, M> countingDecoder(Class<M> type, Function<FriendlyByteBuf, M> decoder) {
+        MessageStats stats = register(type);
+        return buf -> {
+            int before = buf.readerIndex();
+            long start = System.nanoTime();
+            M message = decoder.apply(buf);
+            stats.recordDecode(buf.readerIndex() - before, System.nanoTime() - start);
+            return message;
+        };
+    }
+
+    /**
+     * Records extra sends of a packet that was encoded once and shared by
+     * several recipients. Does nothing for unregistered message types.
+     *
+     * @param type   The message class
+     * @param copies The number of recipients beyond the first
+     */
+    public static void recordCopies(Class<?> type, int copies) {
+        MessageStats stats = BY_TYPE.get(type);
+        if (stats != null) {
+            stats.recordCopies(copies);
+        }
+    }
+
+    /**
+     * @return The counters of every registered message type, in registration order
+     */
+    public static List<MessageStats> getAll() {
+        return List.copyOf(ALL);
+    }
+
+    /**
+     * Sums a direction's packets over every message type.
+     */
+    public static long getTotalPackets(Direction direction) {
+        long total = 0;
+        for (MessageStats stats : ALL) {
+            total += stats.getPackets(direction);
+        }
+        return total;
+    }
+
+    /**
+     * Sums a direction's payload bytes over every message type.
+     */
+    public static long getTotalBytes(Direction direction) {
+        long total = 0;
+        for (MessageStats stats : ALL) {
+            total += stats.getBytes(direction);
+        }
+        return total;
+    }
+
+    /**
+     * Builds one summary line per message type that has seen traffic.
+     *
+     * @return The summary lines, in registration order
+     */
+    public static List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        for (MessageStats stats : ALL) {
+            long sent = stats.getPackets(Direction.SENT);
+            long received = stats.getPackets(Direction.RECEIVED);
+            if (sent == 0 && received == 0) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder(stats.getName()).append(':');
+            if (sent > 0) {
+                line.append(" sent ").append(sent).append(" (").append(formatBytes(stats.getBytes(Direction.SENT)))
+                        .append(", encode ").append(PerfStats.formatNanos(stats.getCodecNanos(Direction.SENT))).append(')');
+            }
+            if (received > 0) {
+                line.append(" received ").append(received).append(" (").append(formatBytes(stats.getBytes(Direction.RECEIVED)))
+                        .append(", decode ").append(PerfStats.formatNanos(stats.getCodecNanos(Direction.RECEIVED))).append(')');
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Formats a byte count with a binary unit.
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024L) {
+            return bytes + " B";
+        }
+        if (bytes < 1024L * 1024L) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        }
+        return String.format("%.2f MiB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * @return The completed minutes of the last hour, oldest first
+     */
+    public static synchronized List<Minute> getHistory() {
+        return List.copyOf(HISTORY);
+    }
+
+    /**
+     * Closes the current minute if it has ended, appending its totals to the history.
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     */
+    public static void roll(long nowMillis) {
+        if (nowMillis < nextRollMillis) {
+            return;
+        }
+        synchronized (NetStats.class) {
+            long[] totals = currentTotals();
+            if (minuteStartMillis != 0L) {
+                if (HISTORY.size() == HISTORY_MINUTES) {
+                    HISTORY.removeFirst();
+                }
+                HISTORY.addLast(new Minute(minuteStartMillis,
+                        totals[0] - minuteStartTotals[0], totals[1] - minuteStartTotals[1],
+                        totals[2] - minuteStartTotals[2], totals[3] - minuteStartTotals[3]));
+            }
+            minuteStartTotals = totals;
+            minuteStartMillis = nowMillis;
+            nextRollMillis = nowMillis + MINUTE_MILLIS;
+        }
+    }
+
+    /**
+     * Clears all counters and the history.
+     */
+    public static synchronized void reset() {
+        for (MessageStats stats : ALL) {
+            stats.reset();
+        }
+        HISTORY.clear();
+        minuteStartTotals = new long[4];
+        minuteStartMillis = 0L;
+        nextRollMillis = 0L;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            roll(System.currentTimeMillis());
+        }
+    }
+
+    private static long[] currentTotals() {
+        return new long[]{
+                getTotalPackets(Direction.SENT), getTotalBytes(Direction.SENT),
+                getTotalPackets(Direction.RECEIVED), getTotalBytes(Direction.RECEIVED)
+        };
+    }
+}
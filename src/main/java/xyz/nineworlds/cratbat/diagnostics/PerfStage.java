@@ -0,0 +1,48 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+/**
+ * Stages of the CratBat pipeline that PerfStats can time.
+ */
+public enum PerfStage {
+    /** Whole onLivingHurt call for events that passed the pre-filter */
+    LIVING_HURT("living_hurt"),
+    /** Pre-filter probe run for every LivingHurtEvent */
+    FILTER("filter"),
+    SHIELD_LOOKUP("shield_lookup"),
+    BAT_FORM_LOOKUP("bat_form_lookup"),
+    DAMAGE_APPLY("damage_apply"),
+    /** Whole onLivingDeath call for CratBat kills */
+    LIVING_DEATH("living_death"),
+    /** Swat announcement and visual effect fan-out */
+    BROADCAST("broadcast"),
+    BAT_DROP("bat_drop"),
+    NETWORK_SEND("network_send");
+
+    private final String displayName;
+
+    PerfStage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return The name shown in /cratbat perf and over JMX
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Looks up a stage by its display name.
+     *
+     * @param displayName The display name
+     * @return The matching stage, or null if none matches
+     */
+    public static PerfStage byDisplayName(String displayName) {
+        for (PerfStage stage : values()) {
+            if (stage.displayName.equals(displayName)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-stage latency statistics for the CratBat pipeline.
+ *
+ * Usage pattern:
+ * <pre>
+ * long start = PerfStats.start();
+ * ... stage ...
+ * PerfStats.record(PerfStage.SHIELD_LOOKUP, start);
+ * </pre>
+ * When disabled, start() is a single volatile read and record() returns
+ * immediately, so instrumentation can stay in hot paths.
+ */
+public class PerfStats {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String MBEAN_NAME = "xyz.nineworlds.cratbat:type=Perf";
+    private static final PerfStage[] STAGES = PerfStage.values();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[STAGES.length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private static volatile boolean enabled = false;
+
+    /**
+     * Starts timing a stage.
+     *
+     * @return The start timestamp, or 0 if instrumentation is disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since a start() call.
+     *
+     * @param stage The stage that was timed
+     * @param start The value returned by start()
+     */
+    public static void record(PerfStage stage, long start) {
+        if (start != 0L) {
+            HISTOGRAMS[stage.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param stage The stage to look up
+     * @return The histogram holding the stage's recorded durations
+     */
+    public static LatencyHistogram get(PerfStage stage) {
+        return HISTOGRAMS[stage.ordinal()];
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Clears all recorded durations.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Builds one summary line per stage that has recorded durations.
+     *
+     * @return The summary lines, in stage order
+     */
+    public static List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        for (PerfStage stage : STAGES) {
+            LatencyHistogram histogram = get(stage);
+            long count = histogram.getCount();
+            if (count > 0) {
+                lines.add(String.format("%s: n=%d p50=%s p99=%s max=%s", stage.getDisplayName(), count,
+                        formatNanos(histogram.getPercentileNanos(50)),
+                        formatNanos(histogram.getPercentileNanos(99)),
+                        formatNanos(histogram.getMaxNanos())));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Registers the JMX bean. Safe to call more than once.
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MBean(), name);
+            }
+        } catch (JMException | SecurityException e) {
+            LOGGER.warn("Failed to register CratBat perf MBean: {}", e.getMessage());
+        }
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fus", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    private static LatencyHistogram histogramFor(String stageName) {
+        PerfStage stage = PerfStage.byDisplayName(stageName);
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown stage: " + stageName);
+        }
+        return get(stage);
+    }
+
+    private static final class MBean implements CratBatPerfMXBean {
+        @Override
+        public boolean isEnabled() {
+            return PerfStats.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enable) {
+            PerfStats.setEnabled(enable);
+        }
+
+        @Override
+        public String[] getStages() {
+            String[] names = new String[STAGES.length];
+            for (int i = 0; i < STAGES.length; i++) {
+                names[i] = STAGES[i].getDisplayName();
+            }
+            return names;
+        }
+
+        @Override
+        public String[] getSummary() {
+            return summarize().toArray(new String[0]);
+        }
+
+        @Override
+        public long getCount(String stage) {
+            return histogramFor(stage).getCount();
+        }
+
+        @Override
+        public long getP50Nanos(String stage) {
+            return histogramFor(stage).getPercentileNanos(50);
+        }
+
+        @Override
+        public long getP99Nanos(String stage) {
+            return histogramFor(stage).getPercentileNanos(99);
+        }
+
+        @Override
+        public long getMaxNanos(String stage) {
+            return histogramFor(stage).getMaxNanos();
+        }
+
+        @Override
+        public void reset() {
+            PerfStats.reset();
+        }
+    }
+}
@@ -8,6 +8,8 @@ import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.diagnostics.PerfStage;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
 import xyz.nineworlds.cratbat.item.CrankSkullItem;
 
 @Mod.EventBusSubscriber(modid = CratBatMod.MODID)
@@ -15,6 +17,12 @@ public class BatDropHandler {
 
     @SubscribeEvent
     public static void onBatDeath(LivingDeathEvent event) {
+        long start = PerfStats.start();
+        handleBatDeath(event);
+        PerfStats.record(PerfStage.BAT_DROP, start);
+    }
+
+    private static void handleBatDeath(LivingDeathEvent event) {
         if (event.getEntity() instanceof Bat bat && event.getSource().getEntity() instanceof Player player) {
             // Check if player is holding a Crank Skull in either hand
             ItemStack mainHand = player.getMainHandItem();
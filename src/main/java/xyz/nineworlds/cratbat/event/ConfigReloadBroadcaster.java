@@ -0,0 +1,84 @@
+package xyz.nineworlds.cratbat.event;
+
+import com.mojang.logging.LogUtils;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+import xyz.nineworlds.cratbat.network.CratBatNetwork;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes hand edits of the config file to connected clients.
+ * Forge watches the config file and reloads it on its own watcher thread, so
+ * the disk read never happens on the server thread. Each reload is recorded
+ * here; once the file has been quiet for a moment, the server thread diffs
+ * the config clients last saw against the current one and broadcasts only
+ * the changed values. Editors that save several times in a row, or edits that
+ * are reverted, cost at most one broadcast.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class ConfigReloadBroadcaster {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final long DEBOUNCE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    // The config clients had before the first reload of the current burst, null when nothing is pending
+    private static volatile ConfigSyncPacket pendingPrevious;
+    private static long lastReloadNanos;
+
+    /**
+     * Records that the config file was reloaded. Called from Forge's config watcher thread.
+     *
+     * @param previous The local config before the reload
+     * @param current  The local config after the reload
+     */
+    public static synchronized void onReloaded(ConfigSnapshot previous, ConfigSnapshot current) {
+        if (pendingPrevious == null) {
+            if (previous.equals(current)) {
+                // Typically the save done by /cratbat setCrat, which broadcasts by itself
+                return;
+            }
+            pendingPrevious = ConfigSyncPacket.fromSnapshot(previous);
+        }
+        lastReloadNanos = System.nanoTime();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || pendingPrevious == null) {
+            return;
+        }
+
+        ConfigSyncPacket previous = takeSettled();
+        if (previous != null) {
+            ConfigSyncPacket current = ConfigSyncPacket.fromServerConfig();
+            LOGGER.info("CratBat config file reloaded, updating clients: targetPlayer={}, uuid={}",
+                    current.getTargetPlayerName(), current.getTargetPlayerUUID());
+            CratBatNetwork.broadcastConfigChange(previous, current);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        synchronized (ConfigReloadBroadcaster.class) {
+            pendingPrevious = null;
+        }
+    }
+
+    /**
+     * Takes the pending previous config once no reload has happened for the debounce period.
+     */
+    private static synchronized ConfigSyncPacket takeSettled() {
+        if (pendingPrevious == null || System.nanoTime() - lastReloadNanos < DEBOUNCE_NANOS) {
+            return null;
+        }
+        ConfigSyncPacket previous = pendingPrevious;
+        pendingPrevious = null;
+        return previous;
+    }
+}
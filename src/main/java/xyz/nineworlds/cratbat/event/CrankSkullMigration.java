@@ -0,0 +1,100 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerContainerEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+
+/**
+ * Converts Crank Skulls from older versions, which were vanilla player heads
+ * tagged CratBatType=CrankSkull, into the registered Crank Skull item.
+ *
+ * Stacks are converted where they are first seen after loading: a player's
+ * inventory and ender chest on login, a container's slots when it is opened,
+ * and dropped items when they are loaded into a level. The SkullOwner tag and
+ * any other data are kept, only the CratBatType marker is dropped.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class CrankSkullMigration {
+    static final String CRAT_BAT_TYPE_TAG = "CratBatType";
+    static final String CRANK_SKULL_TYPE = "CrankSkull";
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        migrate(event.getEntity().getInventory());
+        migrate(event.getEntity().getEnderChestInventory());
+    }
+
+    @SubscribeEvent
+    public static void onContainerOpen(PlayerContainerEvent.Open event) {
+        for (Slot slot : event.getContainer().slots) {
+            ItemStack stack = slot.getItem();
+            if (isLegacyCrankSkull(stack)) {
+                slot.set(migrate(stack));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide() && event.getEntity() instanceof ItemEntity item
+                && isLegacyCrankSkull(item.getItem())) {
+            item.setItem(migrate(item.getItem()));
+        }
+    }
+
+    /**
+     * Checks if a stack is a Crank Skull from before the item was registered.
+     *
+     * @param stack The stack to check
+     * @return true if the stack is a tagged vanilla player head
+     */
+    public static boolean isLegacyCrankSkull(ItemStack stack) {
+        return stack.getItem() == Items.PLAYER_HEAD && isLegacyTag(stack.getTag());
+    }
+
+    /**
+     * Converts a legacy Crank Skull into the registered item.
+     *
+     * @param legacy The tagged vanilla player head
+     * @return A new Crank Skull stack of the same size
+     */
+    public static ItemStack migrate(ItemStack legacy) {
+        ItemStack skull = new ItemStack(CratBatMod.CRANK_SKULL.get(), legacy.getCount());
+        skull.setTag(migrateTag(legacy.getTag()));
+        return skull;
+    }
+
+    static boolean isLegacyTag(CompoundTag tag) {
+        return tag != null && CRANK_SKULL_TYPE.equals(tag.getString(CRAT_BAT_TYPE_TAG));
+    }
+
+    /**
+     * @return A copy of the tag without the CratBatType marker, or null if nothing else remains
+     */
+    static CompoundTag migrateTag(CompoundTag tag) {
+        if (tag == null) {
+            return null;
+        }
+        CompoundTag migrated = tag.copy();
+        migrated.remove(CRAT_BAT_TYPE_TAG);
+        return migrated.isEmpty() ? null : migrated;
+    }
+
+    private static void migrate(Container container) {
+        for (int i = 0; i < container.getContainerSize(); i++) {
+            ItemStack stack = container.getItem(i);
+            if (isLegacyCrankSkull(stack)) {
+                container.setItem(i, migrate(stack));
+            }
+        }
+    }
+}
@@ -3,28 +3,30 @@ package xyz.nineworlds.cratbat.event;
 import com.mojang.logging.LogUtils;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
-import net.minecraft.world.entity.EntityType;
-import net.minecraft.world.entity.LightningBolt;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.loading.FMLEnvironment;
 import org.checkerframework.checker.units.qual.C;
 import org.slf4j.Logger;
-import top.theillusivec4.curios.api.CuriosApi;
 import xyz.nineworlds.cratbat.CratBatConfig;
 import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
 import xyz.nineworlds.cratbat.core.ModDamageSources;
 import xyz.nineworlds.cratbat.core.ModDamageTypes;
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
+import xyz.nineworlds.cratbat.diagnostics.HitEventCategory;
+import xyz.nineworlds.cratbat.diagnostics.HitEventLog;
+import xyz.nineworlds.cratbat.diagnostics.PerfStage;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
 import xyz.nineworlds.cratbat.entity.TestCratEntity;
-import xyz.nineworlds.cratbat.integration.VampirismIntegration;
+import xyz.nineworlds.cratbat.integration.BatFormTracker;
 import xyz.nineworlds.cratbat.integration.VampirismTaskIntegration;
 import xyz.nineworlds.cratbat.network.CratBatNetwork;
 
@@ -32,22 +34,25 @@ public class CratBatEventHandler {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final Float CRAT_BAT_DAMAGE = 999_999_999_999f;
 
-    /**
-     * Spawns a visual-only lightning bolt at the entity's location for dramatic effect.
-     */
-    private void spawnLightningEffect(LivingEntity entity) {
-        if (entity.level() instanceof ServerLevel serverLevel) {
-            LightningBolt lightning = EntityType.LIGHTNING_BOLT.create(serverLevel);
-            if (lightning != null) {
-                lightning.setPos(entity.getX(), entity.getY(), entity.getZ());
-                lightning.setVisualOnly(true);  // No damage, no fire - just the effect
-                serverLevel.addFreshEntity(lightning);
-            }
+    @SubscribeEvent
+    public void onLivingHurt(LivingHurtEvent event) {
+        long start = PerfStats.start();
+
+        // Fast reject: nothing below applies unless the source is a player holding a CratBat
+        boolean accepted = CratBatHolderTracker.accept(event.getSource().getEntity());
+        PerfStats.record(PerfStage.FILTER, start);
+        if (!accepted) {
+            return;
         }
+
+        handleCratBatHit(event);
+        PerfStats.record(PerfStage.LIVING_HURT, start);
     }
 
-    @SubscribeEvent
-    public void onLivingHurt(LivingHurtEvent event) {
+    /**
+     * Evaluates a hurt event whose source is a player holding a CratBat.
+     */
+    private void handleCratBatHit(LivingHurtEvent event) {
         // Skip if this is already our custom damage (prevents infinite recursion)
         if (event.getSource().is(ModDamageTypes.CRAT_BAT_STRIKE)) {
             return;
@@ -57,40 +62,43 @@ public class CratBatEventHandler {
             // Check if the attacker is using a CratBat
             if (attacker.getMainHandItem().getItem() == CratBatMod.CRATBAT.get()) {
                 if (event.getEntity() instanceof Player victim) {
-                    String victimName = victim.getName().getString();
-
-                    // Check if victim is the configured target player
-                    if (CratBatConfig.getTargetPlayerName().equals(victimName)) {
-                        // Check if victim has CratBat Shield equipped via Curios
-                        boolean hasProtection = CuriosApi.getCuriosInventory(victim)
-                            .map(curios -> curios.findFirstCurio(CratBatMod.CRATBAT_SHIELD.get()).isPresent())
-                            .orElse(false);
+                    // Check if victim is a registered target or one of the attacker's team crats
+                    if (CratTargetRegistry.isTargetFor(attacker, victim)) {
+                        // Check if victim has CratBat Shield equipped (cached from Curios equip events)
+                        long shieldStart = PerfStats.start();
+                        boolean hasProtection = ShieldProtectionCache.isProtected(victim);
+                        PerfStats.record(PerfStage.SHIELD_LOOKUP, shieldStart);
 
                         if (hasProtection) {
                             // Cancel damage if CratBat Shield is equipped
                             event.setCanceled(true);
-                            LOGGER.info("CratBat damage blocked by CratBat Shield for {}", victimName);
+                            HitEventLog.record(HitEventCategory.SHIELD_BLOCKED, attacker, victim);
                             victim.sendSystemMessage(Component.literal("Your CratBat Shield absorbs the CratBat's power!").withStyle(ChatFormatting.GOLD));
                         } else {
                             // Check if victim is in bat form
-                            if (VampirismIntegration.isPlayerInBatForm(victim)) {
+                            long batFormStart = PerfStats.start();
+                            boolean inBatForm = BatFormTracker.isInBatForm(victim);
+                            PerfStats.record(PerfStage.BAT_FORM_LOOKUP, batFormStart);
+
+                            if (inBatForm) {
                                 // Cancel the original "player" damage event
                                 event.setCanceled(true);
 
                                 // Apply custom damage source that bypasses Vampirism DBNO
                                 // The custom "crat_bat_strike" type is not in Vampirism's immortalFromDamageSources list
+                                long damageStart = PerfStats.start();
                                 DamageSource source = ModDamageSources.from(victim.level()).cratBatStrike(attacker);
                                 victim.hurt(source, CRAT_BAT_DAMAGE);
+                                PerfStats.record(PerfStage.DAMAGE_APPLY, damageStart);
 
-                                LOGGER.info("CratBat special damage triggered: {} swatted {} in bat form",
-                                    attacker.getName().getString(), victimName);
+                                HitEventLog.record(HitEventCategory.SWAT, attacker, victim);
                             } else {
-                                LOGGER.info("CratBat hit target player {} but they are not in bat form", victimName);
+                                HitEventLog.record(HitEventCategory.NOT_IN_BAT_FORM, attacker, victim);
                             }
                         }
                     } else {
                         // Not the target player - normal damage (but we could add immunity here)
-                        LOGGER.info("CratBat hit non-target player {}", victimName);
+                        HitEventLog.record(HitEventCategory.NON_TARGET_HIT, attacker, victim);
                     }
                 }
 
@@ -101,13 +109,14 @@ public class CratBatEventHandler {
                         event.setCanceled(true);
 
                         // Apply custom damage source
+                        long damageStart = PerfStats.start();
                         DamageSource source = ModDamageSources.from(testCrat.level()).cratBatStrike(attacker);
                         testCrat.hurt(source, CRAT_BAT_DAMAGE);
+                        PerfStats.record(PerfStage.DAMAGE_APPLY, damageStart);
 
-                        LOGGER.info("CratBat special damage triggered: {} swatted TestCrat in bat form",
-                            attacker.getName().getString());
+                        HitEventLog.record(HitEventCategory.TESTCRAT_SWAT, attacker, testCrat);
                     } else {
-                        LOGGER.info("CratBat hit TestCrat but they are not in bat form");
+                        HitEventLog.record(HitEventCategory.TESTCRAT_NOT_IN_BAT_FORM, attacker, testCrat);
                     }
                 }
             }
@@ -116,6 +125,15 @@ public class CratBatEventHandler {
 
     @SubscribeEvent
     public void onLivingDeath(LivingDeathEvent event) {
+        long start = PerfStats.start();
+        handleCratBatDeath(event);
+        PerfStats.record(PerfStage.LIVING_DEATH, start);
+    }
+
+    /**
+     * Announces and rewards a death caused by a CratBat strike.
+     */
+    private void handleCratBatDeath(LivingDeathEvent event) {
         // Check if this death was caused by our custom CratBat damage source
         // If so, we already validated all conditions (target player, bat form, etc.) in onLivingHurt
         if (!event.getSource().is(ModDamageTypes.CRAT_BAT_STRIKE)) {
@@ -133,48 +151,44 @@ public class CratBatEventHandler {
         if (event.getEntity() instanceof Player victim) {
             String victimName = victim.getName().getString();
 
-            // Spawn lightning effect for dramatic flair
-            spawnLightningEffect(victim);
+            // Play the swat effect for dramatic flair
+            SwatEffects.play(victim);
 
-            // Send custom death message to all players
+            // Announce the swat; announcements are combined and sent at the end of the tick
             Component deathMessage = Component.literal("The Crat (" + victimName + ") was swatted by " + attackerName);
-
-            if (victim.getServer() != null) {
-                victim.getServer().getPlayerList().getPlayers().forEach(
-                    player -> player.sendSystemMessage(deathMessage));
-            }
+            SwatAnnouncer.announce(victim, deathMessage);
 
             // Award CratBat Shield
             VampirismTaskIntegration.completeTaskForPlayer(victim);
 
-            LOGGER.info("CratBat kill: The Crat ({}) was swatted by {}", victimName, attackerName);
+            HitEventLog.record(HitEventCategory.KILL, attacker, victim);
         }
 
         // Handle TestCrat victim
         if (event.getEntity() instanceof TestCratEntity testCrat) {
-            // Spawn lightning effect for dramatic flair
-            spawnLightningEffect(testCrat);
+            // Play the swat effect for dramatic flair
+            SwatEffects.play(testCrat);
 
             Component deathMessage = Component.literal("A TestCrat was swatted by " + attackerName);
+            SwatAnnouncer.announce(testCrat, deathMessage);
 
-            if (testCrat.getServer() != null) {
-                testCrat.getServer().getPlayerList().getPlayers().forEach(
-                    player -> player.sendSystemMessage(deathMessage));
-            }
-
-            LOGGER.info("CratBat kill: A TestCrat was swatted by {}", attackerName);
+            HitEventLog.record(HitEventCategory.TESTCRAT_KILL, attacker, testCrat);
         }
     }
 
     /**
-     * Syncs server configuration to the client when a player logs in.
+     * Starts the config sync for a player who logs in.
      * Only runs on the server side.
      */
     @SubscribeEvent
     public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer serverPlayer) {
-            LOGGER.debug("Player {} logged in, sending config sync", serverPlayer.getName().getString());
-            CratBatNetwork.sendToPlayer(serverPlayer);
+            LOGGER.debug("Player {} logged in, starting config sync", serverPlayer.getName().getString());
+
+            // Configs that only name the target get its UUID resolved when that player joins
+            CratTargetRegistry.resolveConfiguredName(serverPlayer.getName().getString(), serverPlayer.getUUID());
+
+            CratBatNetwork.syncOnLogin(serverPlayer);
         }
     }
 
@@ -190,4 +204,12 @@ public class CratBatEventHandler {
             CratBatConfig.clearServerConfig();
         }
     }
+
+    /**
+     * Drops runtime targets added with /cratbat addCrat when the server stops.
+     */
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        CratTargetRegistry.clearRuntimeTargets();
+    }
 }
\ No newline at end of file
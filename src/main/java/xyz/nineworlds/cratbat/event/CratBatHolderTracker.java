@@ -0,0 +1,115 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.AttackEntityEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks which players are currently holding a CratBat in their main hand.
+ * Used as a pre-filter for LivingHurtEvent so that the vast majority of damage
+ * events (mob fights, fall damage, farms) are rejected after a single
+ * identity-set probe.
+ *
+ * The set is maintained from equipment-change events and refreshed right before
+ * a melee attack, so hotbar swaps in the same tick as an attack are not missed.
+ * Only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class CratBatHolderTracker {
+    private static final Set<Entity> HOLDERS = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LongAdder EVALUATED = new LongAdder();
+
+    /**
+     * Decides whether a hurt event with the given source entity needs full evaluation.
+     *
+     * @param source The entity that caused the damage, may be null
+     * @return true if the source is a player holding a CratBat
+     */
+    public static boolean accept(Entity source) {
+        if (!HOLDERS.contains(source)) {
+            REJECTED.increment();
+            return false;
+        }
+        EVALUATED.increment();
+        return true;
+    }
+
+    /**
+     * @return The number of hurt events rejected by the pre-filter
+     */
+    public static long getRejectedCount() {
+        return REJECTED.sum();
+    }
+
+    /**
+     * @return The number of hurt events that passed the pre-filter
+     */
+    public static long getEvaluatedCount() {
+        return EVALUATED.sum();
+    }
+
+    /**
+     * Updates the tracked state for a player based on what they now hold.
+     *
+     * @param player   The player whose main hand changed
+     * @param mainHand The stack now in the player's main hand
+     */
+    public static void update(Player player, ItemStack mainHand) {
+        if (mainHand.is(CratBatMod.CRATBAT.get())) {
+            HOLDERS.add(player);
+        } else {
+            HOLDERS.remove(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (event.getSlot() == EquipmentSlot.MAINHAND && event.getEntity() instanceof Player player
+                && !player.level().isClientSide) {
+            update(player, event.getTo());
+        }
+    }
+
+    /**
+     * Equipment changes are only detected during the player's tick, so refresh
+     * right before an attack in case the hotbar slot changed earlier this tick.
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onAttackEntity(AttackEntityEvent event) {
+        Player player = event.getEntity();
+        if (!player.level().isClientSide) {
+            update(player, player.getMainHandItem());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        HOLDERS.remove(event.getOriginal());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        HOLDERS.remove(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        HOLDERS.clear();
+    }
+}
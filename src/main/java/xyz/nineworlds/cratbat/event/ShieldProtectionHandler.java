@@ -0,0 +1,66 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
+import xyz.nineworlds.cratbat.item.CratBatShieldItem;
+
+/**
+ * Keeps the ShieldProtectionCache in sync with the player lifecycle.
+ * Equip and unequip are reported by CratBatShieldItem itself; this handler
+ * reconciles against the Curios inventory whenever the player entity is
+ * loaded or replaced, through ShieldReconciler.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class ShieldProtectionHandler {
+    private static final ShieldReconciler<Player> RECONCILER =
+            new ShieldReconciler<>(Player::getUUID, CratBatShieldItem::hasShieldEquipped);
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        Player player = event.getEntity();
+        if (!player.level().isClientSide) {
+            RECONCILER.onLoaded(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        if (!event.getEntity().level().isClientSide) {
+            RECONCILER.onClone(event.getOriginal(), event.isWasDeath());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        Player player = event.getEntity();
+        if (!player.level().isClientSide) {
+            RECONCILER.onLoaded(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        Player player = event.getEntity();
+        if (!player.level().isClientSide) {
+            RECONCILER.onLoaded(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        Player player = event.getEntity();
+        if (!player.level().isClientSide) {
+            RECONCILER.onLogout(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        ShieldProtectionCache.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package xyz.nineworlds.cratbat.event;
+
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
+
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Applies player lifecycle events to ShieldProtectionCache, scanning the
+ * curio inventory whenever a player entity is loaded or replaced.
+ *
+ * Forge fires Clone while the respawned entity is being built, and Curios
+ * copies kept curios to it in its own Clone handler. The scan therefore waits
+ * for PlayerRespawnEvent, which fires once the new entity is complete.
+ *
+ * @param <P> The player type, generic so the event order can be replayed in tests
+ */
+final class ShieldReconciler<P> {
+    private final Function<P, UUID> ids;
+    private final Predicate<P> shieldEquipped;
+
+    /**
+     * @param ids            Gets a player's UUID
+     * @param shieldEquipped Scans a player's curio inventory for a CratBat Shield
+     */
+    ShieldReconciler(Function<P, UUID> ids, Predicate<P> shieldEquipped) {
+        this.ids = ids;
+        this.shieldEquipped = shieldEquipped;
+    }
+
+    /**
+     * Called on login, respawn and dimension change, once the player's curio
+     * inventory is in place.
+     */
+    void onLoaded(P player) {
+        ShieldProtectionCache.reconcile(ids.apply(player), shieldEquipped.test(player));
+    }
+
+    /**
+     * Called when the player entity is replaced. A death may drop the shield,
+     * so the player stays unprotected until the respawn scan.
+     */
+    void onClone(P original, boolean wasDeath) {
+        if (wasDeath) {
+            ShieldProtectionCache.forget(ids.apply(original));
+        }
+    }
+
+    void onLogout(P player) {
+        ShieldProtectionCache.forget(ids.apply(player));
+    }
+}
@@ -0,0 +1,187 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.ChatVisiblity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.diagnostics.PerfStage;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects swat announcements during a tick and sends them at the end of it.
+ * Every recipient gets at most one chat packet per tick, listing all the swats
+ * they can see. Recipients that see the same swats share one packet instance,
+ * so a tick with many TestCrat deaths costs one message per player rather than
+ * one per death per player.
+ *
+ * Which swats a player sees depends on the configured scope: every swat, swats
+ * in their dimension, or swats within a radius of them. Only touched on the
+ * server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class SwatAnnouncer {
+    private static final int MAX_LISTED_SWATS = 5;
+    private static final List<Swat> PENDING = new ArrayList<>();
+
+    private static volatile Scope scope = Scope.ALL;
+    private static volatile double radiusSqr = 128.0 * 128.0;
+
+    /**
+     * Which players receive a swat announcement.
+     */
+    public enum Scope {
+        /** Every player on the server. */
+        ALL,
+        /** Players in the same dimension as the swatted entity. */
+        DIMENSION,
+        /** Players in the same dimension and within the configured radius. */
+        RADIUS
+    }
+
+    record Swat(ResourceKey<Level> dimension, Vec3 position, Component message) {
+    }
+
+    /**
+     * Where a recipient is.
+     */
+    record Viewer(ResourceKey<Level> dimension, Vec3 position) {
+    }
+
+    /**
+     * Applies the announcement settings from config.
+     *
+     * @param newScope  Which players receive announcements
+     * @param newRadius The announcement radius in blocks, used by the RADIUS scope
+     */
+    public static void configure(Scope newScope, int newRadius) {
+        scope = newScope;
+        radiusSqr = (double) newRadius * newRadius;
+    }
+
+    /**
+     * Queues a swat announcement for the end of the current tick.
+     *
+     * @param victim  The swatted entity, used to decide who sees the announcement
+     * @param message The announcement text
+     */
+    public static void announce(Entity victim, Component message) {
+        PENDING.add(new Swat(victim.level().dimension(), victim.position(), message));
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || PENDING.isEmpty()) {
+            return;
+        }
+
+        long start = PerfStats.start();
+        List<Swat> swats = new ArrayList<>(PENDING);
+        PENDING.clear();
+        flush(swats, event.getServer().getPlayerList().getPlayers());
+        PerfStats.record(PerfStage.BROADCAST, start);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PENDING.clear();
+    }
+
+    private static void flush(List<Swat> swats, List<ServerPlayer> players) {
+        List<ServerPlayer> recipients = new ArrayList<>(players.size());
+        List<Viewer> viewers = new ArrayList<>(players.size());
+        for (ServerPlayer player : players) {
+            // Same check as ServerPlayer.sendSystemMessage for non-overlay messages
+            if (player.getChatVisibility() != ChatVisiblity.HIDDEN) {
+                recipients.add(player);
+                viewers.add(new Viewer(player.level().dimension(), player.position()));
+            }
+        }
+
+        List<Component> messages = messagesFor(swats, viewers, scope, radiusSqr);
+        Map<Component, ClientboundSystemChatPacket> packets = new IdentityHashMap<>();
+        for (int i = 0; i < recipients.size(); i++) {
+            Component message = messages.get(i);
+            if (message != null) {
+                recipients.get(i).connection.send(packets.computeIfAbsent(message, key -> new ClientboundSystemChatPacket(key, false)));
+            }
+        }
+    }
+
+    /**
+     * Works out the message for each viewer. Viewers that see the same swats
+     * get the same Component instance, so they can share one packet.
+     *
+     * @param swats            The swats of this tick
+     * @param viewers          The recipients
+     * @param currentScope     Which players see a swat
+     * @param currentRadiusSqr The squared announcement radius, for the RADIUS scope
+     * @return One message per viewer, in order, or null where the viewer sees no swat
+     */
+    static List<Component> messagesFor(List<Swat> swats, List<Viewer> viewers, Scope currentScope, double currentRadiusSqr) {
+        Map<BitSet, Component> combined = new HashMap<>();
+        List<Component> messages = new ArrayList<>(viewers.size());
+        for (Viewer viewer : viewers) {
+            BitSet visible = visibleSwats(viewer, swats, currentScope, currentRadiusSqr);
+            messages.add(visible.isEmpty() ? null : combined.computeIfAbsent(visible, key -> combine(swats, key)));
+        }
+        return messages;
+    }
+
+    static BitSet visibleSwats(Viewer viewer, List<Swat> swats, Scope currentScope, double currentRadiusSqr) {
+        BitSet visible = new BitSet(swats.size());
+        if (currentScope == Scope.ALL) {
+            visible.set(0, swats.size());
+            return visible;
+        }
+
+        for (int i = 0; i < swats.size(); i++) {
+            Swat swat = swats.get(i);
+            if (swat.dimension() == viewer.dimension()
+                    && (currentScope == Scope.DIMENSION || viewer.position().distanceToSqr(swat.position()) <= currentRadiusSqr)) {
+                visible.set(i);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Joins the visible swats into one message, one swat per line.
+     */
+    static Component combine(List<Swat> swats, BitSet visible) {
+        int total = visible.cardinality();
+        if (total == 1) {
+            return swats.get(visible.nextSetBit(0)).message();
+        }
+
+        MutableComponent combined = Component.empty();
+        int listed = 0;
+        for (int i = visible.nextSetBit(0); i >= 0 && listed < MAX_LISTED_SWATS; i = visible.nextSetBit(i + 1)) {
+            if (listed > 0) {
+                combined.append("\n");
+            }
+            combined.append(swats.get(i).message());
+            listed++;
+        }
+        if (total > listed) {
+            combined.append("\n...and " + (total - listed) + " more swats");
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,92 @@
+package xyz.nineworlds.cratbat.event;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LightningBolt;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.network.CratBatNetwork;
+import xyz.nineworlds.cratbat.network.SwatEffectPacket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plays the visual effect for a swat.
+ * By default a SwatEffectPacket is sent to the players tracking the victim's
+ * chunk, at most once per chunk per tick, so a pile of TestCrats dying
+ * together costs one packet per watcher. The lightning fallback spawns a
+ * visual-only LightningBolt entity instead. Only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class SwatEffects {
+    private static final Map<ResourceKey<Level>, LongOpenHashSet> PLAYED_THIS_TICK = new HashMap<>();
+
+    private static volatile boolean useLightning = false;
+
+    /**
+     * Applies the effect settings from config.
+     *
+     * @param lightning true to spawn real visual-only lightning instead of the effect packet
+     */
+    public static void configure(boolean lightning) {
+        useLightning = lightning;
+    }
+
+    /**
+     * Plays the swat effect at the entity's location.
+     *
+     * @param entity The swatted entity
+     */
+    public static void play(LivingEntity entity) {
+        if (!(entity.level() instanceof ServerLevel serverLevel)) {
+            return;
+        }
+
+        if (useLightning) {
+            spawnLightning(serverLevel, entity);
+            return;
+        }
+
+        ChunkPos chunk = entity.chunkPosition();
+        LongOpenHashSet played = PLAYED_THIS_TICK.computeIfAbsent(serverLevel.dimension(), key -> new LongOpenHashSet());
+        if (played.add(chunk.toLong())) {
+            CratBatNetwork.sendToChunkTrackers(serverLevel, chunk,
+                    new SwatEffectPacket(entity.getX(), entity.getY(), entity.getZ()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            for (LongOpenHashSet played : PLAYED_THIS_TICK.values()) {
+                played.clear();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PLAYED_THIS_TICK.clear();
+    }
+
+    /**
+     * Spawns a visual-only lightning bolt at the entity's location for dramatic effect.
+     */
+    private static void spawnLightning(ServerLevel serverLevel, LivingEntity entity) {
+        LightningBolt lightning = EntityType.LIGHTNING_BOLT.create(serverLevel);
+        if (lightning != null) {
+            lightning.setPos(entity.getX(), entity.getY(), entity.getZ());
+            lightning.setVisualOnly(true);  // No damage, no fire - just the effect
+            serverLevel.addFreshEntity(lightning);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.Team;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+import xyz.nineworlds.cratbat.network.CratBatNetwork;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps each client's copy of its team's crat assignment current.
+ * Vanilla fires no event when a player joins or leaves a scoreboard team, so
+ * every few ticks the online players' teams are compared against what each
+ * client was last sent. Only players whose team changed, or whose team's
+ * assignment was reconfigured, are sent an update. Only touched on the
+ * server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class TeamTargetSync {
+    private static final int SCAN_INTERVAL_TICKS = 10;
+
+    // The assignment each online player's client was last sent; absent means none
+    private static final Map<UUID, UuidHashSet> SENT = new HashMap<>();
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || event.getServer().getTickCount() % SCAN_INTERVAL_TICKS != 0) {
+            return;
+        }
+        if (SENT.isEmpty() && TeamTargets.getAssignments().isEmpty()) {
+            return;
+        }
+
+        for (ServerPlayer player : event.getServer().getPlayerList().getPlayers()) {
+            sync(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            sync(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        SENT.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        SENT.clear();
+    }
+
+    private static void sync(ServerPlayer player) {
+        Team team = player.getTeam();
+        String teamName = team != null ? team.getName() : null;
+        UuidHashSet current = TeamTargets.getTargets(teamName);
+        // Assignments keep their instance until reconfigured, so identity tells whether anything changed
+        if (current == SENT.get(player.getUUID())) {
+            return;
+        }
+
+        if (current != null) {
+            SENT.put(player.getUUID(), current);
+            CratBatNetwork.sendTeamTargets(player, teamName, current.toList());
+        } else {
+            SENT.remove(player.getUUID());
+            CratBatNetwork.sendTeamTargets(player, teamName, List.of());
+        }
+    }
+}
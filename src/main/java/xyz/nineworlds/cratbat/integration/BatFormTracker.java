@@ -0,0 +1,125 @@
+package xyz.nineworlds.cratbat.integration;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-side cache of which target players are currently in Vampirism bat form.
+ * The Vampirism API offers no action start/stop callback, so state is polled
+ * once per server tick, and only for players registered in CratTargetRegistry
+ * or TeamTargets.
+ * Everything else reads the cached state in O(1).
+ *
+ * State can lag the real action state by up to one tick. Listeners are notified
+ * on the server thread whenever a target enters or leaves bat form.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class BatFormTracker {
+    private static final UuidHashSet IN_BAT_FORM = new UuidHashSet();
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives bat form transitions of target players.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called when a target player enters or leaves bat form.
+         *
+         * @param player    The target player
+         * @param inBatForm true if the player entered bat form, false if they left it
+         */
+        void onBatFormChanged(ServerPlayer player, boolean inBatForm);
+    }
+
+    /**
+     * Checks if a target player was in bat form at the last refresh.
+     *
+     * @param uuid The player's UUID
+     * @return true if the player is a target in bat form
+     */
+    public static boolean isInBatForm(UUID uuid) {
+        return IN_BAT_FORM.contains(uuid);
+    }
+
+    /**
+     * Checks if a target player was in bat form at the last refresh.
+     *
+     * @param entity The player entity
+     * @return true if the player is a target in bat form
+     */
+    public static boolean isInBatForm(Entity entity) {
+        return IN_BAT_FORM.contains(entity.getUUID());
+    }
+
+    /**
+     * Subscribes to bat form transitions.
+     *
+     * @param listener The listener to add
+     */
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Unsubscribes from bat form transitions.
+     *
+     * @param listener The listener to remove
+     */
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !VampirismIntegration.isVampirismLoaded()) {
+            return;
+        }
+
+        for (ServerPlayer player : event.getServer().getPlayerList().getPlayers()) {
+            // Players that stopped being targets fall out of the set here as well
+            boolean target = CratTargetRegistry.isTarget(player) || TeamTargets.isAnyTeamTarget(player.getUUID());
+            boolean inBatForm = target && VampirismIntegration.isPlayerInBatForm(player);
+            if (inBatForm != IN_BAT_FORM.contains(player.getUUID())) {
+                update(player, inBatForm);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player && IN_BAT_FORM.contains(player.getUUID())) {
+            update(player, false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        IN_BAT_FORM.clear();
+    }
+
+    private static void update(ServerPlayer player, boolean inBatForm) {
+        if (inBatForm) {
+            IN_BAT_FORM.add(player.getUUID());
+        } else {
+            IN_BAT_FORM.remove(player.getUUID());
+        }
+
+        for (Listener listener : LISTENERS) {
+            listener.onBatFormChanged(player, inBatForm);
+        }
+    }
+}
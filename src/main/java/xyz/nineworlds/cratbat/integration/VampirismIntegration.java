@@ -12,6 +12,20 @@ public class VampirismIntegration {
     private static final boolean VAMPIRISM_LOADED = ModList.get().isLoaded("vampirism");
     private static final ResourceLocation BAT_ACTION = ResourceLocation.fromNamespaceAndPath("vampirism", "bat");
 
+    /**
+     * @return true if Vampirism is installed
+     */
+    public static boolean isVampirismLoaded() {
+        return VAMPIRISM_LOADED;
+    }
+
+    /**
+     * Queries Vampirism directly for the player's bat form state.
+     * Hot paths should use BatFormTracker, which caches this once per tick.
+     *
+     * @param player The player to check
+     * @return true if the player is in bat form
+     */
     public static boolean isPlayerInBatForm(Player player) {
         if (!VAMPIRISM_LOADED) {
             return false;
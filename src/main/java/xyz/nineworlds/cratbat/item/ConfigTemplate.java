@@ -0,0 +1,76 @@
+package xyz.nineworlds.cratbat.item;
+
+import xyz.nineworlds.cratbat.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A value built once per config snapshot and handed out as copies.
+ * Snapshots are replaced, never modified, so identity tells whether the
+ * config changed. Racing rebuilds are harmless, the last one wins.
+ *
+ * @param <T> The type of the built value
+ */
+final class ConfigTemplate<T> {
+    private final Supplier<ConfigSnapshot> snapshots;
+    private final Function<ConfigSnapshot, T> builder;
+    private final UnaryOperator<T> copier;
+    private volatile Built<T> built;
+
+    private record Built<T>(ConfigSnapshot config, T value) {
+    }
+
+    /**
+     * @param snapshots Gets the current config snapshot
+     * @param builder   Builds the template for a snapshot
+     * @param copier    Makes an independent copy of the template
+     */
+    ConfigTemplate(Supplier<ConfigSnapshot> snapshots, Function<ConfigSnapshot, T> builder, UnaryOperator<T> copier) {
+        this.snapshots = snapshots;
+        this.builder = builder;
+        this.copier = copier;
+    }
+
+    /**
+     * @return A copy of the template for the current config
+     */
+    T create() {
+        return copier.apply(template());
+    }
+
+    /**
+     * Creates several copies with one template lookup.
+     *
+     * @param count The number of copies
+     * @return A new list of count separate copies
+     */
+    List<T> create(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        T value = template();
+        List<T> copies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            copies.add(copier.apply(value));
+        }
+        return copies;
+    }
+
+    /**
+     * Gets the template for the current config, rebuilding it when the
+     * snapshot has changed. Never handed out, callers always get a copy.
+     */
+    private T template() {
+        ConfigSnapshot config = snapshots.get();
+        Built<T> cached = built;
+        if (cached == null || cached.config() != config) {
+            cached = new Built<>(config, builder.apply(config));
+            built = cached;
+        }
+        return cached.value();
+    }
+}
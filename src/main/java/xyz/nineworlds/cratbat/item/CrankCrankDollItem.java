@@ -8,7 +8,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.UseOnContext;
-import xyz.nineworlds.cratbat.CratBatConfig;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
 import xyz.nineworlds.cratbat.entity.TestCratEntity;
 
 public class CrankCrankDollItem extends Item {
@@ -19,10 +19,8 @@ public class CrankCrankDollItem extends Item {
     @Override
     public InteractionResult interactLivingEntity(ItemStack stack, Player player, LivingEntity target, InteractionHand hand) {
         if (target instanceof Player targetPlayer) {
-            String targetName = targetPlayer.getName().getString();
-
-            // Check if the target player matches the configured name
-            if (CratBatConfig.getTargetPlayerName().equals(targetName)) {
+            // Check if the target player is one of the registered crats, or one of the user's team crats
+            if (CratTargetRegistry.isTargetFor(player, targetPlayer)) {
                 if (!player.level().isClientSide) {
                     // Create the Crank Skull and add to player inventory
                     ItemStack crankSkull = CrankSkullItem.createCrankSkull();
@@ -43,7 +41,7 @@ public class CrankCrankDollItem extends Item {
             } else {
                 // Wrong target player
                 if (!player.level().isClientSide) {
-                    player.sendSystemMessage(Component.literal("The doll remains lifeless when used on " + targetName + "."));
+                    player.sendSystemMessage(Component.literal("The doll remains lifeless when used on " + targetPlayer.getName().getString() + "."));
                 }
                 return InteractionResult.FAIL;
             }
@@ -2,21 +2,56 @@ package xyz.nineworlds.cratbat.item;
 
 import com.mojang.logging.LogUtils;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
+import net.minecraft.world.item.PlayerHeadItem;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
 import xyz.nineworlds.cratbat.CratBatConfig;
+import xyz.nineworlds.cratbat.CratBatMod;
 import xyz.nineworlds.cratbat.util.NBTUtil;
 
+import java.util.List;
+import java.util.Map;
+
 /**
- * Utility class for creating and identifying Crank Skull items.
+ * The Crank Skull item, and helpers for creating and identifying it.
  * The Crank Skull is a player head that displays the target player's skin,
- * using the texture URL stored in config for reliable rendering.
+ * using the texture URL stored in config for reliable rendering. It is its
+ * own registered item, rendered and placed exactly like a vanilla player head
+ * through its SkullOwner tag, so telling it apart is a single item check.
+ *
+ * The skull is built once per config snapshot and every created skull is a
+ * copy of that template, so creating one costs a single ItemStack.copy().
+ * Crank Skulls from older versions were vanilla player heads with a
+ * CratBatType tag; CrankSkullMigration converts those.
  */
-public class CrankSkullItem {
+public class CrankSkullItem extends PlayerHeadItem {
     private static final Logger LOGGER = LogUtils.getLogger();
-    private static final String CRAT_BAT_TYPE_TAG = "CratBatType";
-    private static final String CRANK_SKULL_TYPE = "CrankSkull";
+
+    private static final ConfigTemplate<ItemStack> TEMPLATE =
+            new ConfigTemplate<>(CratBatConfig::snapshot, CrankSkullItem::buildCrankSkull, ItemStack::copy);
+
+    public CrankSkullItem(Properties properties) {
+        super(Blocks.PLAYER_HEAD, Blocks.PLAYER_WALL_HEAD, properties);
+    }
+
+    @Override
+    public String getDescriptionId() {
+        // BlockItem would borrow the player head block's name
+        return getOrCreateDescriptionId();
+    }
+
+    @Override
+    public void registerBlocks(Map<Block, Item> blockToItemMap, Item item) {
+        // Placed skulls are vanilla player heads and must keep dropping and picking vanilla heads
+    }
+
+    @Override
+    public void removeFromBlockToItemMap(Map<Block, Item> blockToItemMap, Item item) {
+    }
 
     /**
      * Creates a Crank Skull item with the target player's appearance.
@@ -26,23 +61,36 @@ public class CrankSkullItem {
      * @return An ItemStack containing a player head with the target player's skin
      */
     public static ItemStack createCrankSkull() {
-        ItemStack skull = new ItemStack(Items.PLAYER_HEAD);
+        return TEMPLATE.create();
+    }
+
+    /**
+     * Creates several Crank Skulls at once, e.g. for handing one to every
+     * player at an event. All of them share one template lookup.
+     *
+     * @param count The number of skulls
+     * @return A new list of count separate single skulls
+     * @throws IllegalArgumentException If count is negative
+     */
+    public static List<ItemStack> createCrankSkulls(int count) {
+        return TEMPLATE.create(count);
+    }
+
+    private static ItemStack buildCrankSkull(ConfigSnapshot config) {
+        ItemStack skull = new ItemStack(CratBatMod.CRANK_SKULL.get());
         CompoundTag tag = skull.getOrCreateTag();
 
-        String playerName = CratBatConfig.getTargetPlayerName();
-        String playerUuid = CratBatConfig.getTargetPlayerUUID();
-        String textureUrl = CratBatConfig.getTargetPlayerTexture();
+        String playerName = config.targetPlayerName();
+        String playerUuid = config.targetPlayerUUID();
+        String textureUrl = config.targetPlayerTexture();
 
-        LOGGER.debug("Creating Crank Skull for {} (UUID: {}, hasTexture: {})",
+        LOGGER.debug("Building Crank Skull template for {} (UUID: {}, hasTexture: {})",
                 playerName, playerUuid, !textureUrl.isEmpty());
 
         // Create SkullOwner with full texture data
         CompoundTag skullOwner = NBTUtil.createSkullOwnerTag(playerName, playerUuid, textureUrl);
         tag.put("SkullOwner", skullOwner);
 
-        // Add custom identification tag
-        tag.putString(CRAT_BAT_TYPE_TAG, CRANK_SKULL_TYPE);
-
         return skull;
     }
 
@@ -53,16 +101,7 @@ public class CrankSkullItem {
      * @return true if the item is a Crank Skull
      */
     public static boolean isCrankSkull(ItemStack stack) {
-        if (stack.getItem() != Items.PLAYER_HEAD) {
-            return false;
-        }
-
-        CompoundTag tag = stack.getTag();
-        if (tag == null) {
-            return false;
-        }
-
-        return CRANK_SKULL_TYPE.equals(tag.getString(CRAT_BAT_TYPE_TAG));
+        return stack.getItem() == CratBatMod.CRANK_SKULL.get();
     }
 
     /**
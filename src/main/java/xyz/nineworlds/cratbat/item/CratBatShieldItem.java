@@ -2,12 +2,16 @@ package xyz.nineworlds.cratbat.item;
 
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 import net.minecraft.world.level.Level;
+import top.theillusivec4.curios.api.CuriosApi;
 import top.theillusivec4.curios.api.SlotContext;
 import top.theillusivec4.curios.api.type.capability.ICurioItem;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
 
 import java.util.List;
 
@@ -31,6 +35,9 @@ public class CratBatShieldItem extends Item implements ICurioItem {
     @Override
     public void onEquip(SlotContext slotContext, ItemStack prevStack, ItemStack stack) {
         if (slotContext.entity() != null) {
+            if (!slotContext.entity().level().isClientSide) {
+                ShieldProtectionCache.onEquip(slotContext.entity().getUUID());
+            }
             slotContext.entity().sendSystemMessage(
                 Component.literal("You feel protected from the CratBat's power...").withStyle(ChatFormatting.GREEN)
             );
@@ -40,6 +47,10 @@ public class CratBatShieldItem extends Item implements ICurioItem {
     @Override
     public void onUnequip(SlotContext slotContext, ItemStack newStack, ItemStack stack) {
         if (slotContext.entity() != null) {
+            if (!slotContext.entity().level().isClientSide) {
+                // Curios has already replaced the slot contents, so a scan reflects the new state
+                ShieldProtectionCache.reconcile(slotContext.entity().getUUID(), hasShieldEquipped(slotContext.entity()));
+            }
             slotContext.entity().sendSystemMessage(
                 Component.literal("The protection fades away...").withStyle(ChatFormatting.RED)
             );
@@ -50,4 +61,17 @@ public class CratBatShieldItem extends Item implements ICurioItem {
     public boolean canEquipFromUse(SlotContext slotContext, ItemStack stack) {
         return true;
     }
+
+    /**
+     * Scans an entity's curio inventory for an equipped CratBat Shield.
+     * Only used to reconcile ShieldProtectionCache, never on the hit path.
+     *
+     * @param entity The entity to check
+     * @return true if a CratBat Shield is equipped in any curio slot
+     */
+    public static boolean hasShieldEquipped(LivingEntity entity) {
+        return CuriosApi.getCuriosInventory(entity)
+            .map(curios -> curios.findFirstCurio(CratBatMod.CRATBAT_SHIELD.get()).isPresent())
+            .orElse(false);
+    }
 }
\ No newline at end of file
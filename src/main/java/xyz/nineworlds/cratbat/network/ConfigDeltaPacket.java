@@ -0,0 +1,155 @@
+package xyz.nineworlds.cratbat.network;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.client.ClientConfigSync;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Network packet carrying only the config values that changed since the last
+ * sync. Sent when the server's config file is edited while players are online.
+ * The client applies it on top of the last full config it received.
+ */
+public class ConfigDeltaPacket {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    static final int CHANGED_NAME = 1;
+    static final int CHANGED_UUID = 1 << 1;
+    static final int CHANGED_TEXTURE = 1 << 2;
+    static final int CHANGED_TEST_CRAT = 1 << 3;
+    private static final int CHANGED_ALL = CHANGED_NAME | CHANGED_UUID | CHANGED_TEXTURE | CHANGED_TEST_CRAT;
+    private static final int FLAG_TEST_CRAT = 1 << 4;
+    private static final int FLAG_BINARY_UUID = 1 << 5;
+
+    private final int changed;
+    // Unchanged values are null
+    private final String targetPlayerName;
+    private final String targetPlayerUUID;
+    private final String targetPlayerTexture;
+    private final boolean enableTestCrat;
+
+    private ConfigDeltaPacket(int changed, String targetPlayerName, String targetPlayerUUID, String targetPlayerTexture,
+                              boolean enableTestCrat) {
+        this.changed = changed;
+        this.targetPlayerName = targetPlayerName;
+        this.targetPlayerUUID = targetPlayerUUID;
+        this.targetPlayerTexture = targetPlayerTexture;
+        this.enableTestCrat = enableTestCrat;
+    }
+
+    /**
+     * Computes the delta between two configs.
+     *
+     * @param previous The config clients currently have
+     * @param current  The config they should have
+     * @return A delta with only the differing values, or null if the configs are equal
+     */
+    public static ConfigDeltaPacket diff(ConfigSyncPacket previous, ConfigSyncPacket current) {
+        int changed = 0;
+        if (!previous.getTargetPlayerName().equals(current.getTargetPlayerName())) {
+            changed |= CHANGED_NAME;
+        }
+        if (!previous.getTargetPlayerUUID().equals(current.getTargetPlayerUUID())) {
+            changed |= CHANGED_UUID;
+        }
+        if (!previous.getTargetPlayerTexture().equals(current.getTargetPlayerTexture())) {
+            changed |= CHANGED_TEXTURE;
+        }
+        if (previous.isEnableTestCrat() != current.isEnableTestCrat()) {
+            changed |= CHANGED_TEST_CRAT;
+        }
+        if (changed == 0) {
+            return null;
+        }
+
+        return new ConfigDeltaPacket(changed,
+                (changed & CHANGED_NAME) != 0 ? current.getTargetPlayerName() : null,
+                (changed & CHANGED_UUID) != 0 ? current.getTargetPlayerUUID() : null,
+                (changed & CHANGED_TEXTURE) != 0 ? current.getTargetPlayerTexture() : null,
+                current.isEnableTestCrat());
+    }
+
+    /**
+     * Applies this delta on top of a full config.
+     *
+     * @param base The config the delta was computed against
+     * @return The updated config
+     */
+    public ConfigSyncPacket applyTo(ConfigSyncPacket base) {
+        return new ConfigSyncPacket(
+                (changed & CHANGED_NAME) != 0 ? targetPlayerName : base.getTargetPlayerName(),
+                (changed & CHANGED_UUID) != 0 ? targetPlayerUUID : base.getTargetPlayerUUID(),
+                (changed & CHANGED_TEXTURE) != 0 ? targetPlayerTexture : base.getTargetPlayerTexture(),
+                (changed & CHANGED_TEST_CRAT) != 0 ? enableTestCrat : base.isEnableTestCrat());
+    }
+
+    /**
+     * Encodes this packet into a byte buffer.
+     * Layout: a byte holding the changed-field mask and flags, then each
+     * changed string value in the same encoding ConfigSyncPacket uses.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        UUID uuid = (changed & CHANGED_UUID) != 0 ? ConfigSyncPacket.parseCanonicalUuid(targetPlayerUUID) : null;
+        buf.writeByte(changed
+                | (enableTestCrat ? FLAG_TEST_CRAT : 0)
+                | (uuid != null ? FLAG_BINARY_UUID : 0));
+
+        if ((changed & CHANGED_NAME) != 0) {
+            buf.writeUtf(targetPlayerName);
+        }
+        if (uuid != null) {
+            buf.writeUUID(uuid);
+        } else if ((changed & CHANGED_UUID) != 0) {
+            buf.writeUtf(targetPlayerUUID);
+        }
+        if ((changed & CHANGED_TEXTURE) != 0) {
+            ConfigSyncPacket.writeTexture(buf, targetPlayerTexture);
+        }
+    }
+
+    /**
+     * Decodes a ConfigDeltaPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static ConfigDeltaPacket decode(FriendlyByteBuf buf) {
+        int header = buf.readUnsignedByte();
+        int changed = header & CHANGED_ALL;
+        String name = (changed & CHANGED_NAME) != 0 ? buf.readUtf() : null;
+        String uuid = null;
+        if ((changed & CHANGED_UUID) != 0) {
+            uuid = (header & FLAG_BINARY_UUID) != 0 ? buf.readUUID().toString() : buf.readUtf();
+        }
+        String texture = (changed & CHANGED_TEXTURE) != 0 ? ConfigSyncPacket.readTexture(buf) : null;
+        return new ConfigDeltaPacket(changed, name, uuid, texture, (header & FLAG_TEST_CRAT) != 0);
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(ConfigDeltaPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> {
+            LOGGER.debug("Received config delta from server: changed={}", Integer.toBinaryString(packet.changed));
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientConfigSync.onConfigDelta(packet));
+        });
+        ctx.get().setPacketHandled(true);
+    }
+
+    /**
+     * @return The mask of changed fields, a combination of the CHANGED_ constants
+     */
+    public int getChanged() {
+        return changed;
+    }
+}
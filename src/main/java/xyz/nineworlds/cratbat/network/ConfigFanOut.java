@@ -0,0 +1,68 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.protocol.Packet;
+import xyz.nineworlds.cratbat.diagnostics.NetStats;
+
+import java.util.function.Function;
+
+/**
+ * A config sync serialised at most once per wire format, for sending to many
+ * recipients. The encoded vanilla packet is shared by every recipient on the
+ * same format: vanilla writes a custom payload by copying from a slice of its
+ * buffer, so one encoded payload can be queued on any number of connections.
+ *
+ * Only valid for a single broadcast, create a new one whenever the config changes.
+ */
+public final class ConfigFanOut {
+    private final ConfigSyncPacket config;
+    private final Function<Object, Packet<?>> encoder;
+    private Packet<?> compact;
+    private Packet<?> legacy;
+    private int compactSends;
+    private int legacySends;
+
+    /**
+     * Creates a fan-out for one config.
+     *
+     * @param config  The config to send
+     * @param encoder Turns a channel message into the vanilla packet that carries it
+     */
+    public ConfigFanOut(ConfigSyncPacket config, Function<Object, Packet<?>> encoder) {
+        this.config = config;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Gets the encoded packet for a recipient, encoding it on first use.
+     *
+     * @param legacyFormat Whether the recipient only understands the original string format
+     * @return The shared vanilla packet for that format
+     */
+    public Packet<?> packetFor(boolean legacyFormat) {
+        if (legacyFormat) {
+            legacySends++;
+            if (legacy == null) {
+                legacy = encoder.apply(new LegacyConfigSyncPacket(config));
+            }
+            return legacy;
+        }
+        compactSends++;
+        if (compact == null) {
+            compact = encoder.apply(config);
+        }
+        return compact;
+    }
+
+    /**
+     * Counts the sends that reused an already encoded packet in NetStats,
+     * which only sees the encodes. Call once after the broadcast.
+     */
+    public void recordSharedSends() {
+        NetStats.recordCopies(ConfigSyncPacket.class, compactSends - 1);
+        NetStats.recordCopies(LegacyConfigSyncPacket.class, legacySends - 1);
+    }
+
+    public ConfigSyncPacket getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,67 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet sent by the client right after joining a server, announcing
+ * the content hash of the config it has cached for that server. The server
+ * answers with a ConfigUnchangedPacket if the hash matches, or with the full
+ * ConfigSyncPacket otherwise.
+ */
+public class ConfigHelloPacket {
+    /**
+     * Hash sent by clients that have nothing cached for the server.
+     */
+    public static final long NO_CACHE = 0L;
+
+    private final long configHash;
+
+    /**
+     * Creates a new ConfigHelloPacket.
+     *
+     * @param configHash The content hash of the client's cached config, or NO_CACHE
+     */
+    public ConfigHelloPacket(long configHash) {
+        this.configHash = configHash;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeLong(configHash);
+    }
+
+    /**
+     * Decodes a ConfigHelloPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static ConfigHelloPacket decode(FriendlyByteBuf buf) {
+        return new ConfigHelloPacket(buf.readLong());
+    }
+
+    /**
+     * Handles receiving this packet on the server side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(ConfigHelloPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ServerPlayer sender = ctx.get().getSender();
+        if (sender != null) {
+            ctx.get().enqueueWork(() -> CratBatNetwork.answerHello(sender, packet.configHash));
+        }
+        ctx.get().setPacketHandled(true);
+    }
+
+    public long getConfigHash() {
+        return configHash;
+    }
+}
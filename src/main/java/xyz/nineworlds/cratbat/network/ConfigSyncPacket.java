@@ -1,11 +1,19 @@
 package xyz.nineworlds.cratbat.network;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.mojang.logging.LogUtils;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
 import net.minecraftforge.network.NetworkEvent;
 import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
 import xyz.nineworlds.cratbat.CratBatConfig;
+import xyz.nineworlds.cratbat.client.ClientConfigSync;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
 import java.util.function.Supplier;
 
 /**
@@ -15,6 +23,23 @@ import java.util.function.Supplier;
  */
 public class ConfigSyncPacket {
     private static final Logger LOGGER = LogUtils.getLogger();
+    // Part of the content hash, bump when the meaning of the synced fields changes
+    private static final int CONTENT_VERSION = 1;
+
+    private static final int FLAG_TEST_CRAT = 1;
+    private static final int FLAG_BINARY_UUID = 1 << 1;
+
+    // Texture URL prefixes replaced by their index on the wire; index 0 means no prefix
+    private static final String[] TEXTURE_PREFIXES = {
+            "",
+            "http://textures.minecraft.net/texture/",
+            "https://textures.minecraft.net/texture/",
+            "https://crafatar.com/skins/"
+    };
+    private static final int SUFFIX_STRING = 0;
+    private static final int SUFFIX_HEX = 1;
+    private static final int SUFFIX_UUID = 2;
+    private static final int MAX_HEX_LENGTH = 256;
 
     private final String targetPlayerName;
     private final String targetPlayerUUID;
@@ -42,20 +67,68 @@ public class ConfigSyncPacket {
      * @return A new packet containing the server's config values
      */
     public static ConfigSyncPacket fromServerConfig() {
+        return fromSnapshot(CratBatConfig.getLocalSnapshot());
+    }
+
+    /**
+     * Creates a ConfigSyncPacket carrying the values of a config snapshot.
+     *
+     * @param config The snapshot to send
+     * @return A new packet containing the snapshot's values
+     */
+    public static ConfigSyncPacket fromSnapshot(ConfigSnapshot config) {
         return new ConfigSyncPacket(
-                CratBatConfig.targetPlayerName,
-                CratBatConfig.targetPlayerUUID,
-                CratBatConfig.targetPlayerTexture,
-                CratBatConfig.enableTestCrat
+                config.targetPlayerName(),
+                config.targetPlayerUUID(),
+                config.targetPlayerTexture(),
+                config.enableTestCrat()
         );
     }
 
     /**
-     * Encodes this packet into a byte buffer for network transmission.
+     * Encodes this packet into a byte buffer using the compact format.
+     * Layout: a flag byte, the name, the UUID as two longs when it is in
+     * canonical form, and the texture as a dictionary prefix id plus the
+     * remainder as raw hash bytes or a UUID where possible.
      *
      * @param buf The buffer to write to
      */
     public void encode(FriendlyByteBuf buf) {
+        UUID uuid = parseCanonicalUuid(targetPlayerUUID);
+        int flags = (enableTestCrat ? FLAG_TEST_CRAT : 0)
+                | (uuid != null ? FLAG_BINARY_UUID : 0);
+
+        buf.writeByte(flags);
+        buf.writeUtf(targetPlayerName);
+        if (uuid != null) {
+            buf.writeUUID(uuid);
+        } else {
+            buf.writeUtf(targetPlayerUUID);
+        }
+        writeTexture(buf, targetPlayerTexture);
+    }
+
+    /**
+     * Decodes a ConfigSyncPacket written by encode.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static ConfigSyncPacket decode(FriendlyByteBuf buf) {
+        int flags = buf.readByte();
+        String name = buf.readUtf();
+        String uuid = (flags & FLAG_BINARY_UUID) != 0 ? buf.readUUID().toString() : buf.readUtf();
+        String texture = readTexture(buf);
+        return new ConfigSyncPacket(name, uuid, texture, (flags & FLAG_TEST_CRAT) != 0);
+    }
+
+    /**
+     * Encodes this packet in the original string format, for clients on an
+     * older protocol version.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encodeLegacy(FriendlyByteBuf buf) {
         buf.writeUtf(targetPlayerName);
         buf.writeUtf(targetPlayerUUID);
         buf.writeUtf(targetPlayerTexture);
@@ -63,12 +136,12 @@ public class ConfigSyncPacket {
     }
 
     /**
-     * Decodes a ConfigSyncPacket from a byte buffer.
+     * Decodes a ConfigSyncPacket written by encodeLegacy.
      *
      * @param buf The buffer to read from
      * @return The decoded packet
      */
-    public static ConfigSyncPacket decode(FriendlyByteBuf buf) {
+    public static ConfigSyncPacket decodeLegacy(FriendlyByteBuf buf) {
         String name = buf.readUtf();
         String uuid = buf.readUtf();
         String texture = buf.readUtf();
@@ -76,9 +149,108 @@ public class ConfigSyncPacket {
         return new ConfigSyncPacket(name, uuid, texture, testCrat);
     }
 
+    static void writeTexture(FriendlyByteBuf buf, String texture) {
+        int prefix = 0;
+        for (int i = 1; i < TEXTURE_PREFIXES.length; i++) {
+            if (texture.startsWith(TEXTURE_PREFIXES[i])) {
+                prefix = i;
+                break;
+            }
+        }
+        String remainder = texture.substring(TEXTURE_PREFIXES[prefix].length());
+
+        UUID uuid = parseCanonicalUuid(remainder);
+        if (uuid != null) {
+            buf.writeByte(prefix << 2 | SUFFIX_UUID);
+            buf.writeUUID(uuid);
+        } else if (isLowerHex(remainder)) {
+            buf.writeByte(prefix << 2 | SUFFIX_HEX);
+            writeHex(buf, remainder);
+        } else {
+            buf.writeByte(prefix << 2 | SUFFIX_STRING);
+            buf.writeUtf(remainder);
+        }
+    }
+
+    static String readTexture(FriendlyByteBuf buf) {
+        int header = buf.readByte();
+        int prefix = header >>> 2;
+        if (prefix >= TEXTURE_PREFIXES.length) {
+            throw new IllegalArgumentException("Unknown texture prefix id: " + prefix);
+        }
+
+        String remainder = switch (header & 3) {
+            case SUFFIX_UUID -> buf.readUUID().toString();
+            case SUFFIX_HEX -> readHex(buf);
+            default -> buf.readUtf();
+        };
+        return TEXTURE_PREFIXES[prefix] + remainder;
+    }
+
+    /**
+     * Writes a lowercase hex string as its character count followed by the
+     * packed nibbles. Texture hashes are not zero-padded, so odd lengths occur.
+     */
+    private static void writeHex(FriendlyByteBuf buf, String hex) {
+        int length = hex.length();
+        buf.writeVarInt(length);
+        // Odd lengths get an implicit leading zero nibble
+        int offset = length & 1;
+        for (int i = -offset; i < length; i += 2) {
+            int high = i < 0 ? 0 : Character.digit(hex.charAt(i), 16);
+            int low = Character.digit(hex.charAt(i + 1), 16);
+            buf.writeByte(high << 4 | low);
+        }
+    }
+
+    private static String readHex(FriendlyByteBuf buf) {
+        int length = buf.readVarInt();
+        if (length < 0 || length > MAX_HEX_LENGTH) {
+            throw new IllegalArgumentException("Texture hash too long: " + length);
+        }
+        char[] chars = new char[length + (length & 1)];
+        for (int i = 0; i < chars.length; i += 2) {
+            int value = buf.readUnsignedByte();
+            chars[i] = Character.forDigit(value >>> 4, 16);
+            chars[i + 1] = Character.forDigit(value & 15, 16);
+        }
+        return new String(chars, length & 1, length);
+    }
+
+    private static boolean isLowerHex(String value) {
+        if (value.isEmpty() || value.length() > MAX_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a UUID only if it is in the canonical lowercase form, so that
+     * binary encoding reproduces the original string exactly.
+     */
+    static UUID parseCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Handles receiving this packet on the client side.
-     * Applies the server configuration to override local settings.
+     * Hands the server configuration to ClientConfigSync, which applies it
+     * over the local settings on the next frame and remembers it for the
+     * next login to the same server.
      *
      * @param ctx The network context supplier
      */
@@ -87,11 +259,36 @@ public class ConfigSyncPacket {
             LOGGER.debug("Received config sync from server: targetPlayer={}, uuid={}, hasTexture={}, enableTestCrat={}",
                     packet.targetPlayerName, packet.targetPlayerUUID, !packet.targetPlayerTexture.isEmpty(), packet.enableTestCrat);
 
-            CratBatConfig.applyServerConfig(packet.targetPlayerName, packet.targetPlayerUUID, packet.targetPlayerTexture, packet.enableTestCrat);
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientConfigSync.onFullConfig(packet));
         });
         ctx.get().setPacketHandled(true);
     }
 
+    /**
+     * Applies this packet's values as the server config override.
+     */
+    public void apply() {
+        CratBatConfig.applyServerConfig(targetPlayerName, targetPlayerUUID, targetPlayerTexture, enableTestCrat);
+    }
+
+    /**
+     * Computes a hash of the synced values. Clients announce the hash of their
+     * cached config on login so the server can skip resending it.
+     *
+     * @return The content hash, never ConfigHelloPacket.NO_CACHE
+     */
+    public long contentHash() {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(CONTENT_VERSION)
+                .putBoolean(enableTestCrat);
+        // Length prefixes keep ("ab", "c") and ("a", "bc") apart
+        for (String value : new String[]{targetPlayerName, targetPlayerUUID, targetPlayerTexture}) {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+        }
+        long hash = hasher.hash().asLong();
+        return hash != ConfigHelloPacket.NO_CACHE ? hash : 1L;
+    }
+
     public String getTargetPlayerName() {
         return targetPlayerName;
     }
@@ -0,0 +1,87 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import xyz.nineworlds.cratbat.CratBatMod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queues login config syncs and answers them in batches at the end of each
+ * server tick. After a restart, many players reconnect within seconds; the
+ * batch shares one config snapshot, one hash and one encoded packet per wire
+ * format instead of building and encoding the config for every login. At most
+ * MAX_PER_TICK players are answered per tick so a login storm is spread over
+ * a few ticks. Only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class ConfigSyncQueue {
+    private static final int MAX_PER_TICK = 64;
+
+    // Players waiting for a sync, in arrival order, with the config hash their client announced
+    private static final Map<UUID, Long> PENDING = new LinkedHashMap<>();
+
+    /**
+     * A queued player and the config hash their client announced.
+     */
+    record Request(ServerPlayer player, long configHash) {
+    }
+
+    /**
+     * Queues a config sync for a player. A later request for the same player
+     * replaces the earlier one.
+     *
+     * @param player     The player to sync
+     * @param configHash The hash of the config the client has cached, or ConfigHelloPacket.NO_CACHE
+     */
+    static void enqueue(ServerPlayer player, long configHash) {
+        PENDING.remove(player.getUUID());
+        PENDING.put(player.getUUID(), configHash);
+    }
+
+    /**
+     * @return The number of players waiting for their config sync
+     */
+    public static int size() {
+        return PENDING.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || PENDING.isEmpty()) {
+            return;
+        }
+
+        List<Request> batch = new ArrayList<>(Math.min(PENDING.size(), MAX_PER_TICK));
+        Iterator<Map.Entry<UUID, Long>> iterator = PENDING.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < MAX_PER_TICK) {
+            Map.Entry<UUID, Long> entry = iterator.next();
+            iterator.remove();
+            // Look the player up again, the entity is replaced on respawn
+            ServerPlayer player = event.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (player != null) {
+                batch.add(new Request(player, entry.getValue()));
+            }
+        }
+        CratBatNetwork.sendConfigBatch(batch);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        PENDING.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PENDING.clear();
+    }
+}
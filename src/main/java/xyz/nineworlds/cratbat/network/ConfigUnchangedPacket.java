@@ -0,0 +1,60 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.nineworlds.cratbat.client.ClientConfigSync;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet telling the client that the config it announced in its
+ * ConfigHelloPacket is still current, so it can apply its cached copy.
+ */
+public class ConfigUnchangedPacket {
+    private final long configHash;
+
+    /**
+     * Creates a new ConfigUnchangedPacket.
+     *
+     * @param configHash The content hash of the server's current config
+     */
+    public ConfigUnchangedPacket(long configHash) {
+        this.configHash = configHash;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeLong(configHash);
+    }
+
+    /**
+     * Decodes a ConfigUnchangedPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static ConfigUnchangedPacket decode(FriendlyByteBuf buf) {
+        return new ConfigUnchangedPacket(buf.readLong());
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(ConfigUnchangedPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                () -> () -> ClientConfigSync.onConfigUnchanged(packet.configHash)));
+        ctx.get().setPacketHandled(true);
+    }
+
+    public long getConfigHash() {
+        return configHash;
+    }
+}
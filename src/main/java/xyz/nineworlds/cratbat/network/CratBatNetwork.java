@@ -1,22 +1,70 @@
 package xyz.nineworlds.cratbat.network;
 
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.network.ConnectionData;
 import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.NetworkHooks;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.server.ServerLifecycleHooks;
 import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.LocalSkin;
+import xyz.nineworlds.cratbat.diagnostics.NetStats;
+import xyz.nineworlds.cratbat.diagnostics.PerfStage;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Handles network communication between server and clients for the CratBat mod.
- * Responsible for syncing configuration from server to clients.
+ * Responsible for syncing configuration from server to clients and
+ * sending swat effects.
+ *
+ * Config sync on login is hash-gated: clients announce the hash of their
+ * cached config and the server only sends the full config when it differs.
+ * Clients on version 2 never announce a hash, so they are still sent the
+ * full config as soon as they log in. Clients older than version 4 receive
+ * the config in the original string format instead of the compact one.
+ *
+ * Config broadcasts encode the packet once per wire format and queue the
+ * same encoded packet on every recipient's connection. When the config file
+ * is edited on a running server, clients on version 5 are sent only the
+ * changed values, older clients the full config. Per-team crat assignments
+ * are sent to each client individually, and only for its own team. When the
+ * server holds the target's skin locally, clients on version 7 are offered it
+ * and can fetch it in chunks.
  */
 public class CratBatNetwork {
-    private static final String PROTOCOL_VERSION = "1";
+    private static final int PROTOCOL = 7;
+    // First version with server-held skins
+    private static final int LOCAL_SKIN_PROTOCOL = 7;
+    // First version with per-team target assignments
+    private static final int TEAM_TARGETS_PROTOCOL = 6;
+    // First version with config deltas
+    private static final int DELTA_PROTOCOL = 5;
+    // First version with the compact config format
+    private static final int COMPACT_PROTOCOL = 4;
+    // First version with the hello/unchanged packets
+    private static final int HELLO_PROTOCOL = 3;
+    // Oldest client version servers still accept
+    private static final int OLDEST_PROTOCOL = 2;
+    private static final String PROTOCOL_VERSION = Integer.toString(PROTOCOL);
+    private static final ResourceLocation CHANNEL_NAME = ResourceLocation.fromNamespaceAndPath(CratBatMod.MODID, "main");
 
     private static SimpleChannel CHANNEL;
 
@@ -26,17 +74,245 @@ public class CratBatNetwork {
      */
     public static void register() {
         CHANNEL = NetworkRegistry.newSimpleChannel(
-                ResourceLocation.fromNamespaceAndPath(CratBatMod.MODID, "main"),
+                CHANNEL_NAME,
                 () -> PROTOCOL_VERSION,
                 PROTOCOL_VERSION::equals,
-                PROTOCOL_VERSION::equals
+                version -> {
+                    int protocol = parseVersion(version);
+                    return protocol >= OLDEST_PROTOCOL && protocol <= PROTOCOL;
+                }
         );
 
-        CHANNEL.registerMessage(0, ConfigSyncPacket.class,
+        registerMessage(0, LegacyConfigSyncPacket.class,
+                LegacyConfigSyncPacket::encode,
+                LegacyConfigSyncPacket::decode,
+                LegacyConfigSyncPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(1, SwatEffectPacket.class,
+                SwatEffectPacket::encode,
+                SwatEffectPacket::decode,
+                SwatEffectPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(2, ConfigHelloPacket.class,
+                ConfigHelloPacket::encode,
+                ConfigHelloPacket::decode,
+                ConfigHelloPacket::handle,
+                NetworkDirection.PLAY_TO_SERVER);
+
+        registerMessage(3, ConfigUnchangedPacket.class,
+                ConfigUnchangedPacket::encode,
+                ConfigUnchangedPacket::decode,
+                ConfigUnchangedPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(4, ConfigSyncPacket.class,
                 ConfigSyncPacket::encode,
                 ConfigSyncPacket::decode,
                 ConfigSyncPacket::handle,
-                Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(5, ConfigDeltaPacket.class,
+                ConfigDeltaPacket::encode,
+                ConfigDeltaPacket::decode,
+                ConfigDeltaPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(6, TeamTargetsPacket.class,
+                TeamTargetsPacket::encode,
+                TeamTargetsPacket::decode,
+                TeamTargetsPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(7, SkinOfferPacket.class,
+                SkinOfferPacket::encode,
+                SkinOfferPacket::decode,
+                SkinOfferPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+
+        registerMessage(8, SkinRequestPacket.class,
+                SkinRequestPacket::encode,
+                SkinRequestPacket::decode,
+                SkinRequestPacket::handle,
+                NetworkDirection.PLAY_TO_SERVER);
+
+        registerMessage(9, SkinChunkPacket.class,
+                SkinChunkPacket::encode,
+                SkinChunkPacket::decode,
+                SkinChunkPacket::handle,
+                NetworkDirection.PLAY_TO_CLIENT);
+    }
+
+    /**
+     * Registers a message on the channel with wire accounting: every encode
+     * and decode is counted in NetStats under the message's class name.
+     * Register all new packets through here.
+     */
+    private static <M> void registerMessage(int id, Class<M> type, BiConsumer<M, FriendlyByteBuf> encoder,
+                                            Function<FriendlyByteBuf, M> decoder,
+                                            BiConsumer<M, Supplier<NetworkEvent.Context>> handler,
+                                            NetworkDirection direction) {
+        CHANNEL.registerMessage(id, type,
+                NetStats.countingEncoder(type, encoder),
+                NetStats.countingDecoder(type, decoder),
+                handler,
+                Optional.of(direction));
+    }
+
+    /**
+     * Starts the config sync for a player who just logged in.
+     * Current clients send a ConfigHelloPacket and are answered then, legacy
+     * clients are queued for the full config right away.
+     *
+     * @param player The player who logged in
+     */
+    public static void syncOnLogin(ServerPlayer player) {
+        if (getClientVersion(player) < HELLO_PROTOCOL) {
+            ConfigSyncQueue.enqueue(player, ConfigHelloPacket.NO_CACHE);
+        }
+    }
+
+    /**
+     * Answers a client's ConfigHelloPacket. The answer is queued and sent
+     * with the other syncs of the same tick.
+     *
+     * @param player     The player who sent the hello
+     * @param configHash The hash of the config the client has cached
+     */
+    public static void answerHello(ServerPlayer player, long configHash) {
+        ConfigSyncQueue.enqueue(player, configHash);
+    }
+
+    /**
+     * Sends a batch of queued config syncs. The config, its hash and each
+     * encoded packet are built once and shared by the whole batch. Players
+     * whose cached config is current are told so, the rest get the full
+     * config in the format their client understands.
+     *
+     * @param batch The queued syncs
+     */
+    static void sendConfigBatch(List<ConfigSyncQueue.Request> batch) {
+        if (CHANNEL == null || batch.isEmpty()) {
+            return;
+        }
+
+        long start = PerfStats.start();
+        ConfigSyncPacket current = ConfigSyncPacket.fromServerConfig();
+        long currentHash = current.contentHash();
+        ConfigFanOut fanOut = new ConfigFanOut(current,
+                message -> CHANNEL.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT));
+        Packet<?> unchanged = null;
+        int unchangedSends = 0;
+        for (ConfigSyncQueue.Request request : batch) {
+            Packet<?> packet;
+            if (request.configHash() == currentHash) {
+                if (unchanged == null) {
+                    unchanged = CHANNEL.toVanillaPacket(new ConfigUnchangedPacket(currentHash), NetworkDirection.PLAY_TO_CLIENT);
+                }
+                packet = unchanged;
+                unchangedSends++;
+            } else {
+                packet = fanOut.packetFor(!supportsCompactConfig(getClientVersion(request.player())));
+            }
+            request.player().connection.send(packet);
+        }
+        fanOut.recordSharedSends();
+        NetStats.recordCopies(ConfigUnchangedPacket.class, unchangedSends - 1);
+        PerfStats.record(PerfStage.NETWORK_SEND, start);
+    }
+
+    /**
+     * Sends the client's config hash to the server. Called on the client when joining a server.
+     *
+     * @param configHash The hash of the cached config, or ConfigHelloPacket.NO_CACHE
+     */
+    public static void sendHello(long configHash) {
+        if (CHANNEL != null) {
+            CHANNEL.sendToServer(new ConfigHelloPacket(configHash));
+        }
+    }
+
+    /**
+     * Asks the server for a skin it offered. Called on the client.
+     *
+     * @param key The key of the offered skin
+     */
+    public static void requestSkin(String key) {
+        if (CHANNEL != null) {
+            CHANNEL.sendToServer(new SkinRequestPacket(key));
+        }
+    }
+
+    /**
+     * Offers the server's local skin to a group of players. The offer is
+     * encoded once and shared; clients older than version 7 are skipped.
+     *
+     * @param recipients The players to offer the skin to
+     * @param skin       The local skin
+     */
+    public static void broadcastSkinOffer(Iterable<ServerPlayer> recipients, LocalSkin.Skin skin) {
+        if (CHANNEL == null) {
+            return;
+        }
+
+        long start = PerfStats.start();
+        SharedSend.send(recipients, player -> getClientVersion(player) >= LOCAL_SKIN_PROTOCOL,
+                new SkinOfferPacket(skin.key(), skin.bytes().length), CratBatNetwork::toClientPacket, CratBatNetwork::sendPacket);
+        PerfStats.record(PerfStage.NETWORK_SEND, start);
+    }
+
+    /**
+     * Sends a player one chunk of the skin they requested.
+     *
+     * @param player The requesting player
+     * @param chunk  The chunk to send
+     */
+    static void sendSkinChunk(ServerPlayer player, SkinChunkPacket chunk) {
+        if (CHANNEL != null) {
+            long start = PerfStats.start();
+            CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), chunk);
+            PerfStats.record(PerfStage.NETWORK_SEND, start);
+        }
+    }
+
+    /**
+     * Gets the protocol version a player's client negotiated for this channel.
+     *
+     * @param player The player to check
+     * @return The client's version, or PROTOCOL if it is not known
+     */
+    private static int getClientVersion(ServerPlayer player) {
+        ConnectionData data = NetworkHooks.getConnectionData(player.connection.connection);
+        String version = data != null ? data.getChannels().get(CHANNEL_NAME) : null;
+        return version != null ? parseVersion(version) : PROTOCOL;
+    }
+
+    /**
+     * Parses a channel version string.
+     *
+     * @return The version number, or -1 for Forge's absent and vanilla markers
+     */
+    private static int parseVersion(String version) {
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Checks whether a client version understands the compact config format.
+     */
+    private static boolean supportsCompactConfig(int version) {
+        return version >= COMPACT_PROTOCOL;
+    }
+
+    /**
+     * Wraps a config in the wire format the player's client understands.
+     */
+    private static Object configPacketFor(ServerPlayer player, ConfigSyncPacket config) {
+        return supportsCompactConfig(getClientVersion(player)) ? config : new LegacyConfigSyncPacket(config);
     }
 
     /**
@@ -46,8 +322,54 @@ public class CratBatNetwork {
      */
     public static void sendToPlayer(ServerPlayer player) {
         if (CHANNEL != null && player != null) {
-            CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), ConfigSyncPacket.fromServerConfig());
+            long start = PerfStats.start();
+            CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), configPacketFor(player, ConfigSyncPacket.fromServerConfig()));
+            PerfStats.record(PerfStage.NETWORK_SEND, start);
+        }
+    }
+
+    /**
+     * Sends a player the crats assigned to their team. Clients older than
+     * version 6 do not know about team assignments and are skipped.
+     *
+     * @param player  The player to send the assignment to
+     * @param team    The player's team name, or null for none
+     * @param targets The crats the team may swat, empty to clear the assignment
+     * @return true if the assignment was sent
+     */
+    public static boolean sendTeamTargets(ServerPlayer player, String team, List<UUID> targets) {
+        if (CHANNEL == null || getClientVersion(player) < TEAM_TARGETS_PROTOCOL) {
+            return false;
         }
+        long start = PerfStats.start();
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), new TeamTargetsPacket(team, targets));
+        PerfStats.record(PerfStage.NETWORK_SEND, start);
+        return true;
+    }
+
+    /**
+     * Sends a packet to every player tracking a chunk. The packet is encoded
+     * once and shared by every tracker.
+     *
+     * @param level  The level the chunk is in
+     * @param chunk  The chunk whose trackers receive the packet
+     * @param packet The packet to send
+     */
+    public static void sendToChunkTrackers(ServerLevel level, ChunkPos chunk, Object packet) {
+        if (CHANNEL != null) {
+            long start = PerfStats.start();
+            List<ServerPlayer> trackers = level.getChunkSource().chunkMap.getPlayers(chunk, false);
+            SharedSend.send(trackers, player -> true, packet, CratBatNetwork::toClientPacket, CratBatNetwork::sendPacket);
+            PerfStats.record(PerfStage.NETWORK_SEND, start);
+        }
+    }
+
+    private static Packet<?> toClientPacket(Object message) {
+        return CHANNEL.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT);
+    }
+
+    private static void sendPacket(ServerPlayer player, Packet<?> packet) {
+        player.connection.send(packet);
     }
 
     /**
@@ -55,9 +377,97 @@ public class CratBatNetwork {
      * Used when an admin changes the config via command.
      */
     public static void broadcastConfigToAll() {
-        if (CHANNEL != null && ServerLifecycleHooks.getCurrentServer() != null) {
-            ConfigSyncPacket packet = ConfigSyncPacket.fromServerConfig();
-            CHANNEL.send(PacketDistributor.ALL.noArg(), packet);
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null) {
+            broadcastConfig(server.getPlayerList().getPlayers());
+        }
+    }
+
+    /**
+     * Broadcasts the current configuration to every player in a dimension.
+     *
+     * @param level The dimension whose players receive the config
+     */
+    public static void broadcastConfigToDimension(ServerLevel level) {
+        broadcastConfig(level.players());
+    }
+
+    /**
+     * Broadcasts the current configuration to every online member of a team.
+     *
+     * @param server The server the team belongs to
+     * @param team   The team whose members receive the config
+     */
+    public static void broadcastConfigToTeam(MinecraftServer server, PlayerTeam team) {
+        List<ServerPlayer> members = new ArrayList<>(team.getPlayers().size());
+        for (String name : team.getPlayers()) {
+            ServerPlayer player = server.getPlayerList().getPlayerByName(name);
+            if (player != null) {
+                members.add(player);
+            }
+        }
+        broadcastConfig(members);
+    }
+
+    /**
+     * Sends the current configuration to a group of players, encoding it at
+     * most once per wire format no matter how many players there are.
+     *
+     * @param recipients The players to send the config to
+     */
+    public static void broadcastConfig(Iterable<ServerPlayer> recipients) {
+        if (CHANNEL == null) {
+            return;
+        }
+
+        long start = PerfStats.start();
+        ConfigFanOut fanOut = new ConfigFanOut(ConfigSyncPacket.fromServerConfig(),
+                message -> CHANNEL.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT));
+        for (ServerPlayer player : recipients) {
+            boolean legacyFormat = !supportsCompactConfig(getClientVersion(player));
+            Packet<?> packet = fanOut.packetFor(legacyFormat);
+            player.connection.send(packet);
+        }
+        fanOut.recordSharedSends();
+        PerfStats.record(PerfStage.NETWORK_SEND, start);
+    }
+
+    /**
+     * Tells every connected player about a config change. Current clients are
+     * sent only the changed values, older clients the full config. Each packet
+     * is encoded once and shared by all recipients.
+     *
+     * @param previous The config clients were last sent
+     * @param current  The new config
+     */
+    public static void broadcastConfigChange(ConfigSyncPacket previous, ConfigSyncPacket current) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        ConfigDeltaPacket delta = ConfigDeltaPacket.diff(previous, current);
+        if (CHANNEL == null || server == null || delta == null) {
+            return;
+        }
+
+        long start = PerfStats.start();
+        ConfigFanOut fanOut = new ConfigFanOut(current,
+                message -> CHANNEL.toVanillaPacket(message, NetworkDirection.PLAY_TO_CLIENT));
+        Packet<?> deltaPacket = null;
+        int deltaSends = 0;
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            int version = getClientVersion(player);
+            Packet<?> packet;
+            if (version >= DELTA_PROTOCOL) {
+                if (deltaPacket == null) {
+                    deltaPacket = CHANNEL.toVanillaPacket(delta, NetworkDirection.PLAY_TO_CLIENT);
+                }
+                packet = deltaPacket;
+                deltaSends++;
+            } else {
+                packet = fanOut.packetFor(!supportsCompactConfig(version));
+            }
+            player.connection.send(packet);
         }
+        fanOut.recordSharedSends();
+        NetStats.recordCopies(ConfigDeltaPacket.class, deltaSends - 1);
+        PerfStats.record(PerfStage.NETWORK_SEND, start);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * ConfigSyncPacket in the original string wire format, sent to clients on an
+ * older protocol version. Kept on the original packet id.
+ */
+public class LegacyConfigSyncPacket {
+    private final ConfigSyncPacket config;
+
+    /**
+     * Creates a new LegacyConfigSyncPacket.
+     *
+     * @param config The config to send
+     */
+    public LegacyConfigSyncPacket(ConfigSyncPacket config) {
+        this.config = config;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        config.encodeLegacy(buf);
+    }
+
+    /**
+     * Decodes a LegacyConfigSyncPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static LegacyConfigSyncPacket decode(FriendlyByteBuf buf) {
+        return new LegacyConfigSyncPacket(ConfigSyncPacket.decodeLegacy(buf));
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(LegacyConfigSyncPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ConfigSyncPacket.handle(packet.config, ctx);
+    }
+
+    public ConfigSyncPacket getConfig() {
+        return config;
+    }
+}
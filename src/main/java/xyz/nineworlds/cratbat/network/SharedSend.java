@@ -0,0 +1,47 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.protocol.Packet;
+import xyz.nineworlds.cratbat.diagnostics.NetStats;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sends one message to many recipients as a single encoded packet. The
+ * message is encoded on the first accepted recipient only, and the other
+ * recipients are reported to NetStats, which only sees the encode.
+ */
+final class SharedSend {
+
+    private SharedSend() {
+    }
+
+    /**
+     * Sends a message to every accepted recipient.
+     *
+     * @param recipients The candidate recipients
+     * @param accepts    Whether a recipient should get the message, e.g. a protocol version check
+     * @param message    The channel message
+     * @param encoder    Turns the channel message into the vanilla packet that carries it
+     * @param sender     Queues the packet on a recipient's connection
+     * @return The number of recipients the packet was sent to
+     */
+    static <R> int send(Iterable<R> recipients, Predicate<R> accepts, Object message,
+                        Function<Object, Packet<?>> encoder, BiConsumer<R, Packet<?>> sender) {
+        Packet<?> packet = null;
+        int sends = 0;
+        for (R recipient : recipients) {
+            if (!accepts.test(recipient)) {
+                continue;
+            }
+            if (packet == null) {
+                packet = encoder.apply(message);
+            }
+            sender.accept(recipient, packet);
+            sends++;
+        }
+        NetStats.recordCopies(message.getClass(), sends - 1);
+        return sends;
+    }
+}
@@ -0,0 +1,98 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.nineworlds.cratbat.client.ClientSkinDownloads;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet carrying one piece of a skin the client requested.
+ * Chunks are sent in order; the client reassembles them and checks the
+ * result against the key before caching it.
+ */
+public class SkinChunkPacket {
+    /**
+     * Bytes of skin data per chunk.
+     */
+    public static final int CHUNK_SIZE = 8192;
+
+    private final String key;
+    private final int offset;
+    private final int total;
+    private final byte[] data;
+
+    /**
+     * Creates a new SkinChunkPacket.
+     *
+     * @param key    The key of the skin
+     * @param offset Where the data starts within the skin
+     * @param total  The size of the whole skin in bytes
+     * @param data   The chunk's bytes, at most CHUNK_SIZE
+     */
+    public SkinChunkPacket(String key, int offset, int total, byte[] data) {
+        this.key = key;
+        this.offset = offset;
+        this.total = total;
+        this.data = data;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeUtf(key, SkinOfferPacket.MAX_KEY_LENGTH);
+        buf.writeVarInt(offset);
+        buf.writeVarInt(total);
+        buf.writeByteArray(data);
+    }
+
+    /**
+     * Decodes a SkinChunkPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static SkinChunkPacket decode(FriendlyByteBuf buf) {
+        String key = buf.readUtf(SkinOfferPacket.MAX_KEY_LENGTH);
+        int offset = buf.readVarInt();
+        int total = buf.readVarInt();
+        if (total < 0 || total > SkinFiles.MAX_SKIN_BYTES) {
+            throw new IllegalArgumentException("Invalid skin size: " + total);
+        }
+        byte[] data = buf.readByteArray(CHUNK_SIZE);
+        return new SkinChunkPacket(key, offset, total, data);
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(SkinChunkPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() ->
+                DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientSkinDownloads.onChunk(packet)));
+        ctx.get().setPacketHandled(true);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,71 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.nineworlds.cratbat.client.ClientSkinDownloads;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet telling a client that the server holds the target's skin
+ * locally. A client that does not have the skin cached answers with a
+ * SkinRequestPacket.
+ */
+public class SkinOfferPacket {
+    static final int MAX_KEY_LENGTH = 64;
+
+    private final String key;
+    private final int size;
+
+    /**
+     * Creates a new SkinOfferPacket.
+     *
+     * @param key  The SHA-256 of the skin, as lowercase hex
+     * @param size The size of the skin in bytes
+     */
+    public SkinOfferPacket(String key, int size) {
+        this.key = key;
+        this.size = size;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeUtf(key, MAX_KEY_LENGTH);
+        buf.writeVarInt(size);
+    }
+
+    /**
+     * Decodes a SkinOfferPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static SkinOfferPacket decode(FriendlyByteBuf buf) {
+        return new SkinOfferPacket(buf.readUtf(MAX_KEY_LENGTH), buf.readVarInt());
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(SkinOfferPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() ->
+                DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientSkinDownloads.onOffer(packet.key, packet.size)));
+        ctx.get().setPacketHandled(true);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,60 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet sent by a client asking for an offered skin it does not
+ * have cached. The server answers with SkinChunkPackets.
+ */
+public class SkinRequestPacket {
+    private final String key;
+
+    /**
+     * Creates a new SkinRequestPacket.
+     *
+     * @param key The key of the offered skin
+     */
+    public SkinRequestPacket(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeUtf(key, SkinOfferPacket.MAX_KEY_LENGTH);
+    }
+
+    /**
+     * Decodes a SkinRequestPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static SkinRequestPacket decode(FriendlyByteBuf buf) {
+        return new SkinRequestPacket(buf.readUtf(SkinOfferPacket.MAX_KEY_LENGTH));
+    }
+
+    /**
+     * Handles receiving this packet on the server side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(SkinRequestPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ServerPlayer sender = ctx.get().getSender();
+        if (sender != null) {
+            ctx.get().enqueueWork(() -> SkinTransfers.request(sender, packet.key));
+        }
+        ctx.get().setPacketHandled(true);
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
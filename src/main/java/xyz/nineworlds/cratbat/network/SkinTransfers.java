@@ -0,0 +1,149 @@
+package xyz.nineworlds.cratbat.network;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+import xyz.nineworlds.cratbat.CratBatMod;
+import xyz.nineworlds.cratbat.core.LocalSkin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams the server's local skin to clients that do not have it cached.
+ *
+ * Players are offered the skin on login, and everyone online is offered it
+ * again when the skin changes. Clients that request it are sent the skin in
+ * chunks at the end of each server tick, a few chunks per player and a fixed
+ * number per tick overall, so many joins at once do not flood the network.
+ * Each player is sent a given skin at most once per login. Only touched on
+ * the server thread.
+ */
+@Mod.EventBusSubscriber(modid = CratBatMod.MODID)
+public class SkinTransfers {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int CHUNKS_PER_PLAYER = 2;
+    private static final int MAX_CHUNKS_PER_TICK = 32;
+
+    // Transfers in progress, in the order they are served
+    private static final Map<UUID, Transfer> TRANSFERS = new LinkedHashMap<>();
+    // The skin key each online player last requested
+    private static final Map<UUID, String> REQUESTED = new HashMap<>();
+    private static LocalSkin.Skin lastOffered;
+
+    private static final class Transfer {
+        private final LocalSkin.Skin skin;
+        private int offset;
+
+        private Transfer(LocalSkin.Skin skin) {
+            this.skin = skin;
+        }
+    }
+
+    /**
+     * Starts sending the local skin to a player who asked for it. Requests
+     * for any other skin, or repeated requests, are ignored.
+     *
+     * @param player The requesting player
+     * @param key    The key of the requested skin
+     */
+    static void request(ServerPlayer player, String key) {
+        LocalSkin.Skin skin = LocalSkin.get();
+        if (skin == null || !skin.key().equals(key)) {
+            LOGGER.debug("Ignoring request from {} for unknown skin {}", player.getScoreboardName(), key);
+            return;
+        }
+        if (key.equals(REQUESTED.put(player.getUUID(), key))) {
+            return;
+        }
+        TRANSFERS.put(player.getUUID(), new Transfer(skin));
+    }
+
+    /**
+     * @return The number of transfers in progress
+     */
+    public static int size() {
+        return TRANSFERS.size();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+
+        LocalSkin.Skin skin = LocalSkin.get();
+        if (skin != lastOffered) {
+            lastOffered = skin;
+            if (skin != null) {
+                CratBatNetwork.broadcastSkinOffer(event.getServer().getPlayerList().getPlayers(), skin);
+            }
+        }
+        if (TRANSFERS.isEmpty()) {
+            return;
+        }
+
+        int budget = MAX_CHUNKS_PER_TICK;
+        List<Map.Entry<UUID, Transfer>> unfinished = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Transfer>> iterator = TRANSFERS.entrySet().iterator();
+        while (iterator.hasNext() && budget > 0) {
+            Map.Entry<UUID, Transfer> entry = iterator.next();
+            iterator.remove();
+            ServerPlayer player = event.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                continue;
+            }
+            budget -= sendChunks(player, entry.getValue(), Math.min(CHUNKS_PER_PLAYER, budget));
+            if (entry.getValue().offset < entry.getValue().skin.bytes().length) {
+                unfinished.add(entry);
+            }
+        }
+        // Players served this tick go to the back of the line
+        unfinished.forEach(entry -> TRANSFERS.put(entry.getKey(), entry.getValue()));
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        LocalSkin.Skin skin = LocalSkin.get();
+        if (skin != null && event.getEntity() instanceof ServerPlayer player) {
+            CratBatNetwork.broadcastSkinOffer(List.of(player), skin);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        TRANSFERS.remove(event.getEntity().getUUID());
+        REQUESTED.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TRANSFERS.clear();
+        REQUESTED.clear();
+        lastOffered = null;
+    }
+
+    private static int sendChunks(ServerPlayer player, Transfer transfer, int maxChunks) {
+        byte[] bytes = transfer.skin.bytes();
+        int sent = 0;
+        while (sent < maxChunks && transfer.offset < bytes.length) {
+            int end = Math.min(transfer.offset + SkinChunkPacket.CHUNK_SIZE, bytes.length);
+            CratBatNetwork.sendSkinChunk(player, new SkinChunkPacket(transfer.skin.key(), transfer.offset, bytes.length,
+                    Arrays.copyOfRange(bytes, transfer.offset, end)));
+            transfer.offset = end;
+            sent++;
+        }
+        return sent;
+    }
+}
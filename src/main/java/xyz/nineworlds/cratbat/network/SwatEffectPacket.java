@@ -0,0 +1,77 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.nineworlds.cratbat.client.ClientSwatEffects;
+
+import java.util.function.Supplier;
+
+/**
+ * Network packet telling clients to play the swat effect at a position.
+ * Replaces spawning a visual-only LightningBolt entity: the client renders
+ * particles and plays the thunder sound locally, with no entity to track.
+ */
+public class SwatEffectPacket {
+    private final double x;
+    private final double y;
+    private final double z;
+
+    /**
+     * Creates a new SwatEffectPacket.
+     *
+     * @param x The x coordinate of the swatted entity
+     * @param y The y coordinate of the swatted entity
+     * @param z The z coordinate of the swatted entity
+     */
+    public SwatEffectPacket(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeDouble(x);
+        buf.writeDouble(y);
+        buf.writeDouble(z);
+    }
+
+    /**
+     * Decodes a SwatEffectPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static SwatEffectPacket decode(FriendlyByteBuf buf) {
+        return new SwatEffectPacket(buf.readDouble(), buf.readDouble(), buf.readDouble());
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(SwatEffectPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT,
+                () -> () -> ClientSwatEffects.play(packet.x, packet.y, packet.z)));
+        ctx.get().setPacketHandled(true);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+}
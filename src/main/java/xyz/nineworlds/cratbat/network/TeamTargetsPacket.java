@@ -0,0 +1,83 @@
+package xyz.nineworlds.cratbat.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+import xyz.nineworlds.cratbat.core.TeamTargets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Network packet telling a client which crats its player's team may swat.
+ * Each client is only sent the assignment of its own team, and only when it
+ * changes.
+ */
+public class TeamTargetsPacket {
+    private static final int MAX_TARGETS = 4096;
+
+    private final String team;
+    private final List<UUID> targets;
+
+    /**
+     * Creates a new TeamTargetsPacket.
+     *
+     * @param team    The player's team name, or an empty string for none
+     * @param targets The crats the team may swat, empty to clear the assignment
+     */
+    public TeamTargetsPacket(String team, List<UUID> targets) {
+        this.team = team != null ? team : "";
+        this.targets = targets;
+    }
+
+    /**
+     * Encodes this packet into a byte buffer for network transmission.
+     *
+     * @param buf The buffer to write to
+     */
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeUtf(team);
+        buf.writeVarInt(targets.size());
+        for (UUID target : targets) {
+            buf.writeUUID(target);
+        }
+    }
+
+    /**
+     * Decodes a TeamTargetsPacket from a byte buffer.
+     *
+     * @param buf The buffer to read from
+     * @return The decoded packet
+     */
+    public static TeamTargetsPacket decode(FriendlyByteBuf buf) {
+        String team = buf.readUtf();
+        int count = buf.readVarInt();
+        if (count < 0 || count > MAX_TARGETS) {
+            throw new IllegalArgumentException("Too many team targets: " + count);
+        }
+        List<UUID> targets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            targets.add(buf.readUUID());
+        }
+        return new TeamTargetsPacket(team, targets);
+    }
+
+    /**
+     * Handles receiving this packet on the client side.
+     *
+     * @param ctx The network context supplier
+     */
+    public static void handle(TeamTargetsPacket packet, Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> TeamTargets.setClientAssignment(packet.team, packet.targets));
+        ctx.get().setPacketHandled(true);
+    }
+
+    public String getTeam() {
+        return team;
+    }
+
+    public List<UUID> getTargets() {
+        return targets;
+    }
+}
@@ -7,17 +7,54 @@ import com.mojang.authlib.properties.Property;
 import com.mojang.logging.LogUtils;
 import org.slf4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for extracting player texture URLs from GameProfiles.
  * Used to get the skin texture URL for the Crank Skull item.
+ *
+ * Extracted URLs are memoised in a small LRU cache keyed by the property's
+ * value and signature, since the same few profiles are looked up again and
+ * again. On a miss the decoded JSON is scanned for the skin URL in a single
+ * pass; only payloads the scanner does not recognise are parsed with Gson.
  */
 public class PlayerTextureUtil {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final String TEXTURES_PROPERTY = "textures";
+    private static final int CACHE_SIZE = 256;
+
+    private static final byte[] TEXTURES_KEY = "\"textures\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SKIN_KEY = "\"SKIN\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] URL_KEY = "\"url\"".getBytes(StandardCharsets.US_ASCII);
+
+    // Guarded by itself
+    private static final Map<PropertyKey, String> CACHE = new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PropertyKey, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private record PropertyKey(String value, String signature) {
+    }
+
+    /**
+     * Hit and miss counts of the texture URL cache.
+     *
+     * @param hits   Lookups answered from the cache
+     * @param misses Lookups that had to decode the property
+     * @param size   Entries currently cached
+     */
+    public record CacheStats(long hits, long misses, int size) {
+    }
 
     /**
      * Extracts the skin texture URL from a player's GameProfile.
@@ -51,29 +88,114 @@ public class PlayerTextureUtil {
     }
 
     /**
-     * Extracts the texture URL from a base64-encoded texture property.
+     * Extracts the texture URL from a base64-encoded texture property,
+     * answering repeated properties from the cache.
      *
      * @param property The texture property
      * @return The texture URL, or empty string if extraction fails
      */
     private static String extractUrlFromProperty(Property property) {
+        String value = property.getValue();
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        PropertyKey key = new PropertyKey(value, property.getSignature());
+        String url;
+        synchronized (CACHE) {
+            url = CACHE.get(key);
+        }
+        if (url != null) {
+            HITS.increment();
+            return url;
+        }
+
+        MISSES.increment();
+        url = decodeSkinUrl(value);
+        synchronized (CACHE) {
+            CACHE.put(key, url);
+        }
+        return url;
+    }
+
+    /**
+     * Extracts the skin URL from a base64-encoded textures property value,
+     * without consulting the cache.
+     *
+     * @param value The base64-encoded property value
+     * @return The skin URL, or empty string if there is none or the value is malformed
+     */
+    public static String decodeSkinUrl(String value) {
+        byte[] json;
         try {
-            String value = property.getValue();
-            if (value == null || value.isEmpty()) {
-                return "";
-            }
+            json = Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Failed to decode texture property: {}", e.getMessage());
+            return "";
+        }
 
-            // Decode base64
-            byte[] decodedBytes = Base64.getDecoder().decode(value);
-            String decodedJson = new String(decodedBytes);
+        String url = scanSkinUrl(json);
+        return url != null ? url : parseSkinUrl(json);
+    }
 
-            // Parse JSON
-            JsonObject json = JsonParser.parseString(decodedJson).getAsJsonObject();
-            if (!json.has("textures")) {
+    /**
+     * Finds the skin URL in the decoded textures JSON in a single pass,
+     * without building a JSON tree. Only recognises the layout Mojang uses,
+     * where url is the first key of the SKIN object and needs no unescaping.
+     *
+     * @param json The decoded property value
+     * @return The skin URL, or null if the JSON should be parsed properly instead
+     */
+    static String scanSkinUrl(byte[] json) {
+        int textures = indexOf(json, TEXTURES_KEY, 0);
+        if (textures < 0) {
+            return null;
+        }
+        int skin = indexOf(json, SKIN_KEY, textures + TEXTURES_KEY.length);
+        if (skin < 0) {
+            return null;
+        }
+
+        // "SKIN" : { "url" : "
+        int pos = expect(json, skipWhitespace(json, skin + SKIN_KEY.length), (byte) ':');
+        pos = expect(json, skipWhitespace(json, pos), (byte) '{');
+        pos = skipWhitespace(json, pos);
+        if (pos < 0 || !startsWith(json, URL_KEY, pos)) {
+            return null;
+        }
+        pos = expect(json, skipWhitespace(json, pos + URL_KEY.length), (byte) ':');
+        pos = expect(json, skipWhitespace(json, pos), (byte) '"');
+        if (pos < 0) {
+            return null;
+        }
+
+        for (int end = pos; end < json.length; end++) {
+            byte b = json[end];
+            if (b == '"') {
+                return new String(json, pos, end - pos, StandardCharsets.US_ASCII);
+            }
+            // Escapes, control characters and non-ASCII are left to Gson
+            if (b == '\\' || b < 0x20) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the skin URL by parsing the decoded JSON with Gson.
+     *
+     * @param json The decoded property value
+     * @return The skin URL, or empty string if there is none
+     */
+    static String parseSkinUrl(byte[] json) {
+        try {
+            JsonObject root = JsonParser.parseString(new String(json, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (!root.has("textures")) {
                 return "";
             }
 
-            JsonObject texturesObj = json.getAsJsonObject("textures");
+            JsonObject texturesObj = root.getAsJsonObject("textures");
             if (!texturesObj.has("SKIN")) {
                 return "";
             }
@@ -90,6 +212,67 @@ public class PlayerTextureUtil {
         }
     }
 
+    /**
+     * @return The hit and miss counts of the texture URL cache
+     */
+    public static CacheStats getCacheStats() {
+        synchronized (CACHE) {
+            return new CacheStats(HITS.sum(), MISSES.sum(), CACHE.size());
+        }
+    }
+
+    /**
+     * Empties the texture URL cache and resets its counts.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            HITS.reset();
+            MISSES.reset();
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            if (startsWith(data, pattern, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] pattern, int at) {
+        if (at + pattern.length > data.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (data[at + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The first index at or after pos that is not JSON whitespace, or -1
+     */
+    private static int skipWhitespace(byte[] data, int pos) {
+        if (pos < 0) {
+            return -1;
+        }
+        while (pos < data.length && (data[pos] == ' ' || data[pos] == '\n' || data[pos] == '\r' || data[pos] == '\t')) {
+            pos++;
+        }
+        return pos < data.length ? pos : -1;
+    }
+
+    /**
+     * @return The index after the expected byte at pos, or -1 if it is not there
+     */
+    private static int expect(byte[] data, int pos, byte expected) {
+        return pos >= 0 && pos < data.length && data[pos] == expected ? pos + 1 : -1;
+    }
+
     /**
      * Generates a fallback texture URL using Crafatar API.
      * This is used when the player's texture property is not available.
@@ -0,0 +1,64 @@
+package xyz.nineworlds.cratbat.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for validating and hashing skin PNG files.
+ * Shared by the client's skin cache and the server's local skin.
+ */
+public class SkinFiles {
+    /**
+     * The largest skin accepted. Vanilla skins are 64x64 PNGs of a few KiB.
+     */
+    public static final int MAX_SKIN_BYTES = 256 * 1024;
+
+    private static final String TEXTURE_URL_PREFIX = "http://textures.minecraft.net/texture/";
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * Checks if bytes look like a skin: a PNG no larger than MAX_SKIN_BYTES.
+     *
+     * @param bytes The file contents
+     * @return true if the bytes start with the PNG signature and are not too large
+     */
+    public static boolean isPng(byte[] bytes) {
+        if (bytes.length < PNG_SIGNATURE.length || bytes.length > MAX_SKIN_BYTES) {
+            return false;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (bytes[i] != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes bytes with a digest algorithm.
+     *
+     * @param algorithm The digest algorithm, e.g. SHA-1 or SHA-256
+     * @param bytes     The bytes to hash
+     * @return The digest as lowercase hex
+     */
+    public static String hashHex(String algorithm, byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+    }
+
+    /**
+     * Builds a texture URL whose hash is the given key. Skull textures must
+     * point at Mojang's texture host to be accepted by the client, even for
+     * skins that are never downloaded from it.
+     *
+     * @param key The texture hash
+     * @return The texture URL
+     */
+    public static String textureUrl(String key) {
+        return TEXTURE_URL_PREFIX + key;
+    }
+}
@@ -0,0 +1,262 @@
+package xyz.nineworlds.cratbat.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash set of UUIDs stored as pairs of primitive longs.
+ * Lookups never allocate, so the set is cheap enough to query on every hit.
+ *
+ * The nil UUID (all bits zero) marks empty slots and can never be stored.
+ * Instances are not thread-safe; share them by publishing a copy that is no
+ * longer modified.
+ */
+public class UuidHashSet {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public UuidHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set sized for the expected number of entries.
+     *
+     * @param expectedSize The number of UUIDs the set should hold without resizing
+     */
+    public UuidHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Checks whether the set contains a UUID.
+     *
+     * @param uuid The UUID to look up, may be null
+     * @return true if the UUID is in the set
+     */
+    public boolean contains(UUID uuid) {
+        return uuid != null && contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Checks whether the set contains the UUID with the given bits.
+     *
+     * @param most  The most significant 64 bits of the UUID
+     * @param least The least significant 64 bits of the UUID
+     * @return true if the UUID is in the set
+     */
+    public boolean contains(long most, long least) {
+        if ((most | least) == 0L) {
+            return false;
+        }
+
+        int slot = slotFor(most, least);
+        while (true) {
+            long m = mostBits[slot];
+            long l = leastBits[slot];
+            if ((m | l) == 0L) {
+                return false;
+            }
+            if (m == most && l == least) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds a UUID to the set.
+     *
+     * @param uuid The UUID to add
+     * @return true if the set changed, false if the UUID was already present or is nil
+     */
+    public boolean add(UUID uuid) {
+        return uuid != null && add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Adds the UUID with the given bits to the set.
+     *
+     * @param most  The most significant 64 bits of the UUID
+     * @param least The least significant 64 bits of the UUID
+     * @return true if the set changed, false if the UUID was already present or is nil
+     */
+    public boolean add(long most, long least) {
+        if ((most | least) == 0L) {
+            return false;
+        }
+
+        int slot = slotFor(most, least);
+        while (true) {
+            long m = mostBits[slot];
+            long l = leastBits[slot];
+            if ((m | l) == 0L) {
+                break;
+            }
+            if (m == most && l == least) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        size++;
+
+        // Keep the load factor at or below one half
+        if (size * 2 > mostBits.length) {
+            rehash(mostBits.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a UUID from the set.
+     *
+     * @param uuid The UUID to remove
+     * @return true if the UUID was present
+     */
+    public boolean remove(UUID uuid) {
+        return uuid != null && remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Removes the UUID with the given bits from the set.
+     *
+     * @param most  The most significant 64 bits of the UUID
+     * @param least The least significant 64 bits of the UUID
+     * @return true if the UUID was present
+     */
+    public boolean remove(long most, long least) {
+        if ((most | least) == 0L) {
+            return false;
+        }
+
+        int slot = slotFor(most, least);
+        while (true) {
+            long m = mostBits[slot];
+            long l = leastBits[slot];
+            if ((m | l) == 0L) {
+                return false;
+            }
+            if (m == most && l == least) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while ((mostBits[next] | leastBits[next]) != 0L) {
+            int home = slotFor(mostBits[next], leastBits[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                mostBits[gap] = mostBits[next];
+                leastBits[gap] = leastBits[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        mostBits[gap] = 0L;
+        leastBits[gap] = 0L;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return The number of UUIDs in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the set contains no UUIDs
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all UUIDs from the set.
+     */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Creates an independent copy of this set.
+     *
+     * @return A new set containing the same UUIDs
+     */
+    public UuidHashSet copy() {
+        UuidHashSet copy = new UuidHashSet(MIN_CAPACITY);
+        copy.mostBits = mostBits.clone();
+        copy.leastBits = leastBits.clone();
+        copy.mask = mask;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Lists the UUIDs in the set. Allocates, so it is meant for commands and
+     * diagnostics rather than hot paths.
+     *
+     * @return A new list containing every UUID in the set
+     */
+    public List<UUID> toList() {
+        List<UUID> result = new ArrayList<>(size);
+        for (int i = 0; i < mostBits.length; i++) {
+            if ((mostBits[i] | leastBits[i]) != 0L) {
+                result.add(new UUID(mostBits[i], leastBits[i]));
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        allocate(newCapacity);
+        for (int i = 0; i < oldMost.length; i++) {
+            long m = oldMost[i];
+            long l = oldLeast[i];
+            if ((m | l) != 0L) {
+                int slot = slotFor(m, l);
+                while ((mostBits[slot] | leastBits[slot]) != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                mostBits[slot] = m;
+                leastBits[slot] = l;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slotFor(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -5,14 +5,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.core.CratTargetRegistry;
+import xyz.nineworlds.cratbat.diagnostics.PerfStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for CratBatConfig server override functionality.
- * Tests the getter methods and server config application/clearing.
+ * Tests the getter methods, server config application/clearing, and that
+ * concurrent readers always see a consistent snapshot.
  */
 class CratBatConfigTest {
 
@@ -27,9 +42,7 @@ class CratBatConfigTest {
     @BeforeEach
     void setUp() {
         // Set up local config values (simulating what would be loaded from file)
-        CratBatConfig.targetPlayerName = LOCAL_NAME;
-        CratBatConfig.targetPlayerUUID = LOCAL_UUID;
-        CratBatConfig.targetPlayerTexture = LOCAL_TEXTURE;
+        CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, LOCAL_UUID, LOCAL_TEXTURE, false));
 
         // Ensure no server config is active
         CratBatConfig.clearServerConfig();
@@ -134,9 +147,10 @@ class CratBatConfigTest {
             CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, false);
 
             // Local values should remain unchanged
-            assertEquals(LOCAL_NAME, CratBatConfig.targetPlayerName);
-            assertEquals(LOCAL_UUID, CratBatConfig.targetPlayerUUID);
-            assertEquals(LOCAL_TEXTURE, CratBatConfig.targetPlayerTexture);
+            ConfigSnapshot local = CratBatConfig.getLocalSnapshot();
+            assertEquals(LOCAL_NAME, local.targetPlayerName());
+            assertEquals(LOCAL_UUID, local.targetPlayerUUID());
+            assertEquals(LOCAL_TEXTURE, local.targetPlayerTexture());
         }
 
         @Test
@@ -206,9 +220,7 @@ class CratBatConfigTest {
         @Test
         @DisplayName("Null local values are handled by getters")
         void nullLocalValues_handledByGetters() {
-            CratBatConfig.targetPlayerName = null;
-            CratBatConfig.targetPlayerUUID = null;
-            CratBatConfig.targetPlayerTexture = null;
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(null, null, null, false));
 
             // Without server config, getters return null (matching local behavior)
             assertEquals(null, CratBatConfig.getTargetPlayerName());
@@ -228,7 +240,7 @@ class CratBatConfigTest {
         @Test
         @DisplayName("Server config enableTestCrat true overrides local false")
         void serverConfigEnableTestCrat_overridesLocal() {
-            CratBatConfig.enableTestCrat = false;
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, LOCAL_UUID, LOCAL_TEXTURE, false));
 
             CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
 
@@ -238,7 +250,7 @@ class CratBatConfigTest {
         @Test
         @DisplayName("Server config enableTestCrat false overrides local true")
         void serverConfigEnableTestCratFalse_overridesLocalTrue() {
-            CratBatConfig.enableTestCrat = true;
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, LOCAL_UUID, LOCAL_TEXTURE, true));
 
             CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, false);
 
@@ -248,7 +260,7 @@ class CratBatConfigTest {
         @Test
         @DisplayName("clearServerConfig reverts enableTestCrat to local value")
         void clearServerConfig_revertsEnableTestCrat() {
-            CratBatConfig.enableTestCrat = true;
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, LOCAL_UUID, LOCAL_TEXTURE, true));
             CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, false);
             assertFalse(CratBatConfig.isTestCratEnabled());
 
@@ -257,4 +269,219 @@ class CratBatConfigTest {
             assertTrue(CratBatConfig.isTestCratEnabled());
         }
     }
+
+    @Nested
+    @DisplayName("Targets configured by name only")
+    class NameOnlyTargetTests {
+
+        private static final UUID RESOLVED_UUID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        @Test
+        @DisplayName("A target resolved at login survives config reloads and server syncs")
+        void resolvedName_survivesResync() {
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, "", LOCAL_TEXTURE, false));
+            assertNull(CratTargetRegistry.getConfiguredTarget());
+
+            assertTrue(CratTargetRegistry.resolveConfiguredName(LOCAL_NAME, RESOLVED_UUID));
+            assertEquals(RESOLVED_UUID, CratTargetRegistry.getConfiguredTarget());
+
+            // A reload of the unchanged config, then the integrated host's own client receiving it
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, "", LOCAL_TEXTURE, false));
+            assertEquals(RESOLVED_UUID, CratTargetRegistry.getConfiguredTarget());
+            CratBatConfig.applyServerConfig(LOCAL_NAME, "", LOCAL_TEXTURE, false);
+            assertEquals(RESOLVED_UUID, CratTargetRegistry.getConfiguredTarget());
+            CratBatConfig.clearServerConfig();
+            assertTrue(CratTargetRegistry.isTarget(RESOLVED_UUID));
+        }
+
+        @Test
+        @DisplayName("Naming someone else drops the resolved target")
+        void otherName_dropsResolvedTarget() {
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, "", LOCAL_TEXTURE, false));
+            CratTargetRegistry.resolveConfiguredName(LOCAL_NAME, RESOLVED_UUID);
+
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot("SomeoneElse", "", LOCAL_TEXTURE, false));
+
+            assertNull(CratTargetRegistry.getConfiguredTarget());
+        }
+
+        @Test
+        @DisplayName("Players with other names, or a config with a UUID, are not resolved")
+        void resolve_onlyMatchingNameOnlyConfig() {
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, "", LOCAL_TEXTURE, false));
+            assertFalse(CratTargetRegistry.resolveConfiguredName("SomeoneElse", RESOLVED_UUID));
+
+            UUID configured = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot(LOCAL_NAME, configured.toString(), LOCAL_TEXTURE, false));
+            assertFalse(CratTargetRegistry.resolveConfiguredName(LOCAL_NAME, RESOLVED_UUID));
+            assertEquals(configured, CratTargetRegistry.getConfiguredTarget());
+        }
+    }
+
+    @Nested
+    @DisplayName("Perf setting")
+    class PerfSettingTests {
+
+        @AfterEach
+        void resetPerf() {
+            PerfStats.setEnabled(false);
+        }
+
+        @Test
+        @DisplayName("A reload with the setting unchanged keeps a command's choice")
+        void unchangedReload_keepsCommandChoice() {
+            CratBatConfig.applyPerfEnabled(false);
+            PerfStats.setEnabled(true);
+
+            CratBatConfig.applyPerfEnabled(false);
+
+            assertTrue(PerfStats.isEnabled());
+        }
+
+        @Test
+        @DisplayName("Changing the setting applies it")
+        void changedSetting_isApplied() {
+            CratBatConfig.applyPerfEnabled(false);
+
+            CratBatConfig.applyPerfEnabled(true);
+            assertTrue(PerfStats.isEnabled());
+
+            PerfStats.setEnabled(false);
+            CratBatConfig.applyPerfEnabled(true);
+            assertFalse(PerfStats.isEnabled());
+
+            CratBatConfig.applyPerfEnabled(false);
+            PerfStats.setEnabled(true);
+            CratBatConfig.applyPerfEnabled(true);
+            assertTrue(PerfStats.isEnabled());
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Snapshot is the server snapshot while a server config is applied")
+        void snapshot_followsServerConfig() {
+            CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
+
+            ConfigSnapshot snapshot = CratBatConfig.snapshot();
+
+            assertEquals(new ConfigSnapshot(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true), snapshot);
+        }
+
+        @Test
+        @DisplayName("Repeated reads return the same instance until something changes")
+        void snapshot_isStableBetweenChanges() {
+            ConfigSnapshot first = CratBatConfig.snapshot();
+
+            assertSame(first, CratBatConfig.snapshot());
+
+            CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, false);
+            assertEquals(SERVER_NAME, CratBatConfig.snapshot().targetPlayerName());
+        }
+
+        @Test
+        @DisplayName("Re-applying the same server config keeps the published snapshot")
+        void reapplyingSameServerConfig_keepsSnapshot() {
+            CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
+            ConfigSnapshot applied = CratBatConfig.snapshot();
+
+            CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
+
+            assertSame(applied, CratBatConfig.snapshot());
+        }
+
+        @Test
+        @DisplayName("Local changes under a server config become visible after it is cleared")
+        void localChangeUnderServerConfig_visibleAfterClear() {
+            CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, false);
+            CratBatConfig.setLocalSnapshot(new ConfigSnapshot("NewLocal", LOCAL_UUID, LOCAL_TEXTURE, false));
+            assertEquals(SERVER_NAME, CratBatConfig.getTargetPlayerName());
+
+            CratBatConfig.clearServerConfig();
+
+            assertEquals("NewLocal", CratBatConfig.getTargetPlayerName());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent readers")
+    class ConcurrencyTests {
+
+        private static final int READERS = 4;
+        private static final int WRITES = 20_000;
+
+        @Test
+        @DisplayName("Readers never see values from two different configs")
+        void readers_neverSeeTornSnapshots() throws Exception {
+            ConfigSnapshot first = new ConfigSnapshot("First", "first-uuid", "http://first.png", true);
+            ConfigSnapshot second = new ConfigSnapshot("Second", "second-uuid", "http://second.png", false);
+            CratBatConfig.setLocalSnapshot(first);
+
+            ExecutorService executor = Executors.newFixedThreadPool(READERS);
+            AtomicBoolean done = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(READERS);
+            List<Future<Long>> readers = new ArrayList<>();
+            try {
+                for (int i = 0; i < READERS; i++) {
+                    readers.add(executor.submit(() -> {
+                        started.countDown();
+                        long reads = 0;
+                        while (!done.get()) {
+                            ConfigSnapshot snapshot = CratBatConfig.snapshot();
+                            boolean isFirst = snapshot.targetPlayerName().equals(first.targetPlayerName());
+                            assertEquals(isFirst ? first : second, snapshot);
+                            reads++;
+                        }
+                        return reads;
+                    }));
+                }
+
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+                for (int i = 0; i < WRITES; i++) {
+                    CratBatConfig.setLocalSnapshot((i & 1) == 0 ? second : first);
+                }
+                done.set(true);
+
+                for (Future<Long> reader : readers) {
+                    // Rethrows any assertion failure from the reader thread
+                    assertTrue(reader.get(10, TimeUnit.SECONDS) > 0);
+                }
+            } finally {
+                done.set(true);
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Server override switches are seen as whole snapshots")
+        void serverOverrideSwitches_areSeenWhole() throws Exception {
+            ConfigSnapshot local = CratBatConfig.getLocalSnapshot();
+            ConfigSnapshot server = new ConfigSnapshot(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
+
+            AtomicBoolean done = new AtomicBoolean();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> reader = executor.submit(() -> {
+                    while (!done.get()) {
+                        ConfigSnapshot snapshot = CratBatConfig.snapshot();
+                        assertEquals(snapshot.targetPlayerName().equals(SERVER_NAME) ? server : local, snapshot);
+                    }
+                });
+
+                for (int i = 0; i < 500; i++) {
+                    CratBatConfig.applyServerConfig(SERVER_NAME, SERVER_UUID, SERVER_TEXTURE, true);
+                    CratBatConfig.clearServerConfig();
+                }
+                done.set(true);
+                reader.get(10, TimeUnit.SECONDS);
+            } finally {
+                done.set(true);
+                executor.shutdownNow();
+            }
+            assertFalse(CratBatConfig.hasServerConfig());
+        }
+    }
 }
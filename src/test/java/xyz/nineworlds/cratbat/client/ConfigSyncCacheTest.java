@@ -0,0 +1,75 @@
+package xyz.nineworlds.cratbat.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.nineworlds.cratbat.network.ConfigSyncPacket;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ConfigSyncCache.
+ * Each test uses its own cache file in a temporary directory.
+ */
+class ConfigSyncCacheTest {
+
+    private static final String SERVER = "play.example.com:25565";
+    private static final ConfigSyncPacket CONFIG = new ConfigSyncPacket("TestCrat",
+            "550e8400-e29b-41d4-a716-446655440000", "http://textures.minecraft.net/texture/abc123", true);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Unknown servers have no cached config")
+    void unknownServer_returnsNull() {
+        ConfigSyncCache cache = new ConfigSyncCache(tempDir.resolve("cache.json"));
+
+        assertNull(cache.get(SERVER));
+    }
+
+    @Test
+    @DisplayName("Cached config survives a restart")
+    void cachedConfig_survivesRestart() {
+        Path file = tempDir.resolve("nested").resolve("cache.json");
+        new ConfigSyncCache(file).put(SERVER, CONFIG);
+
+        ConfigSyncPacket reloaded = new ConfigSyncCache(file).get(SERVER);
+
+        assertEquals(CONFIG.contentHash(), reloaded.contentHash());
+        assertEquals(CONFIG.getTargetPlayerName(), reloaded.getTargetPlayerName());
+        assertTrue(reloaded.isEnableTestCrat());
+    }
+
+    @Test
+    @DisplayName("Servers are cached independently")
+    void servers_areCachedIndependently() {
+        ConfigSyncCache cache = new ConfigSyncCache(tempDir.resolve("cache.json"));
+        ConfigSyncPacket other = new ConfigSyncPacket("OtherCrat", "", "", false);
+
+        cache.put(SERVER, CONFIG);
+        cache.put("localhost", other);
+
+        assertEquals(CONFIG.contentHash(), cache.get(SERVER).contentHash());
+        assertEquals(other.contentHash(), cache.get("localhost").contentHash());
+    }
+
+    @Test
+    @DisplayName("A corrupt cache file is ignored")
+    void corruptFile_isIgnored() throws IOException {
+        Path file = tempDir.resolve("cache.json");
+        Files.writeString(file, "{not json");
+        ConfigSyncCache cache = new ConfigSyncCache(file);
+
+        assertNull(cache.get(SERVER));
+
+        cache.put(SERVER, CONFIG);
+        assertEquals(CONFIG.contentHash(), new ConfigSyncCache(file).get(SERVER).contentHash());
+    }
+}
@@ -0,0 +1,83 @@
+package xyz.nineworlds.cratbat.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SkinAssembler.
+ */
+class SkinAssemblerTest {
+
+    private static final byte[] SKIN = new byte[20];
+
+    static {
+        for (int i = 0; i < SKIN.length; i++) {
+            SKIN[i] = (byte) i;
+        }
+    }
+
+    private static final String KEY = SkinFiles.hashHex("SHA-256", SKIN);
+
+    @Test
+    @DisplayName("Chunks in order reassemble the skin")
+    void inOrderChunks_reassemble() {
+        SkinAssembler assembler = new SkinAssembler(KEY, SKIN.length);
+
+        assertFalse(assembler.accept(0, SKIN.length, Arrays.copyOfRange(SKIN, 0, 8)));
+        assertFalse(assembler.accept(8, SKIN.length, Arrays.copyOfRange(SKIN, 8, 16)));
+        assertTrue(assembler.accept(16, SKIN.length, Arrays.copyOfRange(SKIN, 16, 20)));
+
+        assertArrayEquals(SKIN, assembler.finish());
+    }
+
+    @Test
+    @DisplayName("Out of order chunks are rejected")
+    void outOfOrderChunk_throws() {
+        SkinAssembler assembler = new SkinAssembler(KEY, SKIN.length);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> assembler.accept(8, SKIN.length, Arrays.copyOfRange(SKIN, 8, 16)));
+    }
+
+    @Test
+    @DisplayName("Chunks that overrun the skin are rejected")
+    void overrunningChunk_throws() {
+        SkinAssembler assembler = new SkinAssembler(KEY, SKIN.length);
+
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept(0, SKIN.length, new byte[SKIN.length + 1]));
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept(0, SKIN.length + 1, SKIN));
+    }
+
+    @Test
+    @DisplayName("A skin that does not match its key is rejected")
+    void mismatchedKey_throws() {
+        SkinAssembler assembler = new SkinAssembler("0".repeat(64), SKIN.length);
+        assembler.accept(0, SKIN.length, SKIN);
+
+        assertThrows(IllegalStateException.class, assembler::finish);
+    }
+
+    @Test
+    @DisplayName("Incomplete skins cannot be finished")
+    void incomplete_throws() {
+        SkinAssembler assembler = new SkinAssembler(KEY, SKIN.length);
+        assembler.accept(0, SKIN.length, Arrays.copyOfRange(SKIN, 0, 8));
+
+        assertThrows(IllegalStateException.class, assembler::finish);
+    }
+
+    @Test
+    @DisplayName("Sizes beyond the skin limit are refused up front")
+    void oversized_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SkinAssembler(KEY, SkinFiles.MAX_SKIN_BYTES + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SkinAssembler(KEY, 0));
+    }
+}
@@ -0,0 +1,188 @@
+package xyz.nineworlds.cratbat.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SkinDiskCache.
+ * A local directory stands in for the skin host.
+ */
+class SkinDiskCacheTest {
+
+    private static final String HASH = "4ab2f0c8e1d7a3b5c9e2f1a0b3c4d5e6f7a8b9c0d1e2f3a4b5c6d7e8f9a0b1c2";
+    private static final String URL = "http://textures.minecraft.net/texture/" + HASH;
+    private static final byte[] SKIN = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    @TempDir
+    Path tempDir;
+
+    private Path host;
+    private AtomicInteger fetches;
+    private SkinDiskCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        host = Files.createDirectories(tempDir.resolve("host"));
+        Files.write(host.resolve(HASH), SKIN);
+        fetches = new AtomicInteger();
+        SkinSource directory = SkinSource.directory(host);
+        cache = new SkinDiskCache(tempDir.resolve("cache"), (url, maxBytes) -> {
+            fetches.incrementAndGet();
+            return directory.fetch(url, maxBytes);
+        });
+    }
+
+    @Nested
+    @DisplayName("Keys")
+    class KeyTests {
+
+        @Test
+        @DisplayName("Mojang texture URLs are keyed by their hash")
+        void mojangUrl_usesTextureHash() {
+            assertEquals(HASH, SkinDiskCache.keyFor(URL));
+        }
+
+        @Test
+        @DisplayName("Other URLs have no key, even if they end in hex")
+        void otherUrl_hasNoKey() {
+            assertNull(SkinDiskCache.keyFor("https://crafatar.com/skins/069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+            assertNull(SkinDiskCache.keyFor("https://crafatar.com/skins/069a79f444e94726a5befca90e38aaf5"));
+        }
+
+        @Test
+        @DisplayName("Files are sharded by the first two characters of the key")
+        void pathFor_shardsByPrefix() {
+            Path file = cache.pathFor(HASH);
+
+            assertEquals(HASH + ".png", file.getFileName().toString());
+            assertEquals("4a", file.getParent().getFileName().toString());
+        }
+
+        @Test
+        @DisplayName("Keys that are not hashes are rejected")
+        void pathFor_rejectsNonHash() {
+            assertThrows(IllegalArgumentException.class, () -> cache.pathFor("../../escape"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fetching")
+    class FetchTests {
+
+        @Test
+        @DisplayName("A missing skin is fetched once and then served from disk")
+        void fetch_downloadsOnce() throws IOException {
+            assertNull(cache.get(URL));
+
+            Path first = cache.fetch(URL);
+            Path second = cache.fetch(URL);
+
+            assertEquals(first, second);
+            assertEquals(1, fetches.get());
+            assertArrayEquals(SKIN, Files.readAllBytes(first));
+            assertEquals(first, cache.get(URL));
+        }
+
+        @Test
+        @DisplayName("Cached skins are still served when the host is gone")
+        void fetch_worksOffline() throws IOException {
+            cache.fetch(URL);
+            Files.delete(host.resolve(HASH));
+
+            SkinDiskCache restarted = new SkinDiskCache(tempDir.resolve("cache"), (url, maxBytes) -> {
+                throw new IOException("offline");
+            });
+
+            assertTrue(Files.isRegularFile(restarted.fetch(URL)));
+        }
+
+        @Test
+        @DisplayName("A skin missing from the host fails without caching anything")
+        void fetch_missingSkin_throws() {
+            String missing = "http://textures.minecraft.net/texture/" + "0".repeat(64);
+
+            assertThrows(IOException.class, () -> cache.fetch(missing));
+            assertNull(cache.get(missing));
+        }
+
+        @Test
+        @DisplayName("URLs that serve a player's current skin are never cached")
+        void fetch_refusesUrlKeyedSkins() {
+            String crafatar = "https://crafatar.com/skins/069a79f4-44e9-4726-a5be-fca90e38aaf5";
+
+            assertThrows(IOException.class, () -> cache.fetch(crafatar));
+            assertEquals(0, fetches.get());
+            assertNull(cache.get(crafatar));
+        }
+
+        @Test
+        @DisplayName("Files that are not PNGs are not cached")
+        void fetch_rejectsNonPng() throws IOException {
+            String html = "http://textures.minecraft.net/texture/" + "1".repeat(64);
+            Files.writeString(host.resolve("1".repeat(64)), "<html>Not Found</html>");
+
+            assertThrows(IOException.class, () -> cache.fetch(html));
+            assertNull(cache.get(html));
+        }
+
+        @Test
+        @DisplayName("Oversized files are refused by the source")
+        void fetch_rejectsOversized() throws IOException {
+            String large = "http://textures.minecraft.net/texture/" + "2".repeat(64);
+            Files.write(host.resolve("2".repeat(64)), new byte[SkinFiles.MAX_SKIN_BYTES + 1]);
+
+            assertThrows(IOException.class, () -> cache.fetch(large));
+        }
+    }
+
+    @Nested
+    @DisplayName("Storing")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Stored skins are written under their key")
+        void store_writesFile() throws IOException {
+            Path file = cache.store(HASH, SKIN);
+
+            assertEquals(cache.pathFor(HASH), file);
+            assertArrayEquals(SKIN, Files.readAllBytes(file));
+        }
+
+        @Test
+        @DisplayName("Existing entries are never overwritten")
+        void store_keepsExisting() throws IOException {
+            cache.store(HASH, SKIN);
+            byte[] other = SKIN.clone();
+            other[other.length - 1] = 'X';
+
+            Path file = cache.store(HASH, other);
+
+            assertArrayEquals(SKIN, Files.readAllBytes(file));
+        }
+
+        @Test
+        @DisplayName("No temporary files are left behind")
+        void store_leavesNoTempFiles() throws IOException {
+            Path file = cache.store(HASH, SKIN);
+
+            try (var files = Files.list(file.getParent())) {
+                assertEquals(1, files.count());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package xyz.nineworlds.cratbat.client;
+
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SkinTextures.
+ * A map stands in for the texture manager.
+ */
+class SkinTexturesTest {
+
+    private static final String URL = SkinFiles.textureUrl("0123456789abcdef0123456789abcdef");
+    private static final Path FILE = Path.of("skins", "01", "0123456789abcdef0123456789abcdef.png");
+
+    // Location to what is registered there: a cache file, or "download" for vanilla's own texture
+    private final Map<ResourceLocation, Object> registered = new HashMap<>();
+    private final List<ResourceLocation> released = new ArrayList<>();
+    private final SkinTextures textures = new SkinTextures(new SkinTextures.Slots() {
+        @Override
+        public boolean isRegistered(ResourceLocation location) {
+            return registered.containsKey(location);
+        }
+
+        @Override
+        public void release(ResourceLocation location) {
+            released.add(location);
+            registered.remove(location);
+        }
+
+        @Override
+        public void register(ResourceLocation location, String textureUrl, Path file) {
+            registered.put(location, file);
+        }
+    });
+
+    @Test
+    @DisplayName("A skin is registered at the location vanilla looks it up under")
+    void register_emptySlot() {
+        assertTrue(textures.register(URL, FILE, false));
+
+        assertEquals(FILE, registered.get(SkinTextures.skinLocation(URL)));
+        assertEquals("minecraft", SkinTextures.skinLocation(URL).getNamespace());
+    }
+
+    @Test
+    @DisplayName("A prewarmed skin leaves a texture vanilla already registered alone")
+    void prewarm_keepsExistingTexture() {
+        registered.put(SkinTextures.skinLocation(URL), "download");
+
+        assertFalse(textures.register(URL, FILE, false));
+
+        assertEquals("download", registered.get(SkinTextures.skinLocation(URL)));
+        assertTrue(released.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A server skin replaces the failed download of a skull drawn before it arrived")
+    void localSkin_replacesEarlierDownload() {
+        ResourceLocation location = SkinTextures.skinLocation(URL);
+        registered.put(location, "download");
+
+        assertTrue(textures.register(URL, FILE, true));
+
+        assertEquals(List.of(location), released);
+        assertEquals(FILE, registered.get(location));
+    }
+
+    @Test
+    @DisplayName("A skin already registered from the cache is not registered again on a later join")
+    void ownTexture_isKept() {
+        textures.register(URL, FILE, true);
+
+        assertFalse(textures.register(URL, FILE, true));
+
+        assertTrue(released.isEmpty());
+    }
+}
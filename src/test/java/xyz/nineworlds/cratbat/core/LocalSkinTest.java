@@ -0,0 +1,104 @@
+package xyz.nineworlds.cratbat.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.nineworlds.cratbat.util.SkinFiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for LocalSkin.
+ * Skin files are written to a temporary config folder.
+ */
+class LocalSkinTest {
+
+    private static final byte[] SKIN = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    @TempDir
+    Path configDir;
+
+    @AfterEach
+    void tearDown() {
+        LocalSkin.clear();
+    }
+
+    @Test
+    @DisplayName("A configured skin is keyed by its SHA-256")
+    void configure_loadsSkin() throws IOException {
+        Files.write(configDir.resolve("crat.png"), SKIN);
+
+        LocalSkin.configure(configDir, "crat.png");
+
+        LocalSkin.Skin skin = LocalSkin.get();
+        assertEquals(SkinFiles.hashHex("SHA-256", SKIN), skin.key());
+        assertEquals(64, skin.key().length());
+        assertTrue(skin.textureUrl().endsWith("/" + skin.key()));
+    }
+
+    @Test
+    @DisplayName("The local skin replaces the configured texture URL")
+    void textureUrlOr_prefersLocalSkin() throws IOException {
+        String configured = "http://textures.minecraft.net/texture/abc123";
+        assertEquals(configured, LocalSkin.textureUrlOr(configured));
+
+        Files.write(configDir.resolve("crat.png"), SKIN);
+        LocalSkin.configure(configDir, "crat.png");
+
+        assertEquals(LocalSkin.get().textureUrl(), LocalSkin.textureUrlOr(configured));
+    }
+
+    @Test
+    @DisplayName("Reloading an unchanged file keeps the same skin instance")
+    void reload_unchanged_keepsInstance() throws IOException {
+        Files.write(configDir.resolve("crat.png"), SKIN);
+        LocalSkin.configure(configDir, "crat.png");
+        LocalSkin.Skin first = LocalSkin.get();
+
+        LocalSkin.configure(configDir, "crat.png");
+
+        assertSame(first, LocalSkin.get());
+    }
+
+    @Test
+    @DisplayName("A blank file name turns local skins off")
+    void configure_blank_clears() throws IOException {
+        Files.write(configDir.resolve("crat.png"), SKIN);
+        LocalSkin.configure(configDir, "crat.png");
+
+        LocalSkin.configure(configDir, " ");
+
+        assertNull(LocalSkin.get());
+    }
+
+    @Test
+    @DisplayName("An unreadable file keeps the previous skin")
+    void configure_missingFile_keepsPrevious() throws IOException {
+        Files.write(configDir.resolve("crat.png"), SKIN);
+        LocalSkin.configure(configDir, "crat.png");
+        LocalSkin.Skin first = LocalSkin.get();
+
+        LocalSkin.configure(configDir, "missing.png");
+
+        assertSame(first, LocalSkin.get());
+    }
+
+    @Test
+    @DisplayName("Files that are not PNGs are rejected")
+    void load_nonPng_throws() throws IOException {
+        Path file = configDir.resolve("crat.png");
+        Files.writeString(file, "not a skin");
+
+        assertThrows(IOException.class, () -> LocalSkin.load(file));
+        assertNull(LocalSkin.get());
+    }
+}
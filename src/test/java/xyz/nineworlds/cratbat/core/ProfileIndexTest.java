@@ -0,0 +1,142 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import net.minecraft.nbt.CompoundTag;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ProfileIndex.
+ */
+class ProfileIndexTest {
+
+    private static final UUID CRAT_UUID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID OTHER_UUID = UUID.fromString("6ba7b810-9dad-11d1-80b4-00c04fd430c8");
+    private static final String SKIN_URL = "http://textures.minecraft.net/texture/abc123";
+
+    private static GameProfile profileWithSkin(UUID uuid, String name, String url) {
+        GameProfile profile = new GameProfile(uuid, name);
+        String json = "{\"textures\":{\"SKIN\":{\"url\":\"" + url + "\"}}}";
+        profile.getProperties().put("textures",
+                new Property("textures", Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8))));
+        return profile;
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Players are found by name ignoring case, and by UUID")
+        void lookups_byNameAndUuid() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(profileWithSkin(CRAT_UUID, "TestCrat", SKIN_URL));
+
+            ProfileIndex.Entry entry = index.findByName("testcrat");
+            assertEquals(new ProfileIndex.Entry(CRAT_UUID, "TestCrat", SKIN_URL), entry);
+            assertSame(entry, index.findByUuid(CRAT_UUID));
+            assertNull(index.findByName("someoneelse"));
+            assertNull(index.findByUuid(OTHER_UUID));
+        }
+
+        @Test
+        @DisplayName("A renamed player is no longer found by the old name")
+        void rename_dropsOldName() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(CRAT_UUID, "OldName", SKIN_URL);
+            index.record(CRAT_UUID, "NewName", SKIN_URL);
+
+            assertNull(index.findByName("OldName"));
+            assertEquals("NewName", index.findByName("newname").name());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("A profile without properties keeps the known texture")
+        void profileWithoutTextures_keepsTexture() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(profileWithSkin(CRAT_UUID, "TestCrat", SKIN_URL));
+            index.record(new GameProfile(CRAT_UUID, "TestCrat"));
+
+            assertEquals(SKIN_URL, index.findByUuid(CRAT_UUID).textureUrl());
+        }
+
+        @Test
+        @DisplayName("Unknown textures are recorded as empty")
+        void unknownTexture_isEmpty() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(new GameProfile(CRAT_UUID, "TestCrat"));
+
+            assertEquals("", index.findByUuid(CRAT_UUID).textureUrl());
+        }
+    }
+
+    @Nested
+    @DisplayName("Dirty tracking")
+    class DirtyTests {
+
+        @Test
+        @DisplayName("Recording an unchanged player does not mark the index dirty")
+        void unchanged_isNotDirty() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(CRAT_UUID, "TestCrat", SKIN_URL);
+            assertTrue(index.isDirty());
+
+            index.setDirty(false);
+            index.record(CRAT_UUID, "TestCrat", SKIN_URL);
+            index.record(CRAT_UUID, "TestCrat", null);
+            assertFalse(index.isDirty());
+
+            index.record(CRAT_UUID, "TestCrat", "http://textures.minecraft.net/texture/def456");
+            assertTrue(index.isDirty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialisation")
+    class SerialisationTests {
+
+        @Test
+        @DisplayName("Entries survive a save and load")
+        void saveLoad_roundTrip() {
+            ProfileIndex index = new ProfileIndex();
+            index.record(CRAT_UUID, "TestCrat", SKIN_URL);
+            index.record(OTHER_UUID, "Other", "");
+
+            ProfileIndex loaded = ProfileIndex.load(index.save(new CompoundTag()));
+
+            assertEquals(2, loaded.size());
+            assertEquals(index.findByUuid(CRAT_UUID), loaded.findByName("testcrat"));
+            assertEquals(index.findByUuid(OTHER_UUID), loaded.findByName("other"));
+            assertFalse(loaded.isDirty());
+        }
+
+        @Test
+        @DisplayName("Mojang texture URLs are stored as their hash, others whole")
+        void textures_areCompacted() {
+            assertEquals("abc123", ProfileIndex.compactTexture(SKIN_URL));
+            assertEquals(SKIN_URL, ProfileIndex.expandTexture("abc123"));
+            assertEquals("https://example.com/skin.png", ProfileIndex.compactTexture("https://example.com/skin.png"));
+            assertEquals("https://example.com/skin.png", ProfileIndex.expandTexture("https://example.com/skin.png"));
+            assertEquals("", ProfileIndex.expandTexture(""));
+        }
+
+        @Test
+        @DisplayName("Loading an empty tag gives an empty index")
+        void load_emptyTag() {
+            assertEquals(0, ProfileIndex.load(new CompoundTag()).size());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package xyz.nineworlds.cratbat.core;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.util.PlayerTextureUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for ProfileResolver.
+ * A local stub stands in for the session server, and a single thread stands
+ * in for the server thread the results complete on.
+ */
+class ProfileResolverTest {
+
+    private static final UUID CRAT_UUID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String SKIN_URL = "http://textures.minecraft.net/texture/abc123";
+
+    private final Map<String, GameProfile> profiles = new HashMap<>();
+    private final AtomicInteger fills = new AtomicInteger();
+    // Tasks run on the stand-in server thread
+    private final AtomicInteger completions = new AtomicInteger();
+    private ExecutorService lookupThread;
+    private ExecutorService serverThread;
+    private ProfileResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        profiles.put("testcrat", new GameProfile(CRAT_UUID, "TestCrat"));
+        lookupThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "lookup"));
+        serverThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "server"));
+
+        ProfileSource stub = new ProfileSource() {
+            @Override
+            public Optional<GameProfile> findByName(String name) {
+                return Optional.ofNullable(profiles.get(name.toLowerCase()));
+            }
+
+            @Override
+            public GameProfile fillProperties(GameProfile profile) {
+                fills.incrementAndGet();
+                GameProfile filled = new GameProfile(profile.getId(), profile.getName());
+                filled.getProperties().put("textures", texturesProperty());
+                return filled;
+            }
+        };
+        resolver = new ProfileResolver(stub, lookupThread, task -> {
+            completions.incrementAndGet();
+            serverThread.execute(task);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupThread.shutdownNow();
+        serverThread.shutdownNow();
+    }
+
+    private static Property texturesProperty() {
+        String json = "{\"textures\":{\"SKIN\":{\"url\":\"" + SKIN_URL + "\"}}}";
+        return new Property("textures", Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Offline players are looked up by name and their properties fetched")
+    void offlinePlayer_isLookedUp() throws Exception {
+        ProfileResolver.ResolvedProfile profile = resolver.resolve("testcrat", null).get(5, TimeUnit.SECONDS);
+
+        assertEquals("TestCrat", profile.name());
+        assertEquals(CRAT_UUID, profile.uuid());
+        assertEquals(SKIN_URL, profile.textureUrl());
+        assertEquals(1, fills.get());
+    }
+
+    @Test
+    @DisplayName("Known profiles with textures need no lookup")
+    void knownProfile_skipsLookup() throws Exception {
+        GameProfile known = new GameProfile(UUID.randomUUID(), "Online");
+        known.getProperties().put("textures", texturesProperty());
+
+        ProfileResolver.ResolvedProfile profile = resolver.resolve("Online", known).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Online", profile.name());
+        assertEquals(SKIN_URL, profile.textureUrl());
+        assertEquals(0, fills.get());
+    }
+
+    @Test
+    @DisplayName("Results complete on the completion executor")
+    void result_completesOnServerThread() throws Exception {
+        resolver.resolve("testcrat", null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    @DisplayName("Unknown players fail on the completion executor")
+    void unknownPlayer_fails() {
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> resolver.resolve("nobody", null).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(NoSuchElementException.class, error.getCause());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    @DisplayName("A failing property fetch falls back to the UUID-based URL")
+    void failingFill_usesFallback() throws Exception {
+        ProfileResolver failing = new ProfileResolver(new ProfileSource() {
+            @Override
+            public Optional<GameProfile> findByName(String name) {
+                return Optional.of(new GameProfile(CRAT_UUID, "TestCrat"));
+            }
+
+            @Override
+            public GameProfile fillProperties(GameProfile profile) {
+                throw new IllegalStateException("session server unreachable");
+            }
+        }, lookupThread, serverThread);
+
+        ProfileResolver.ResolvedProfile profile = failing.resolve("TestCrat", null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(PlayerTextureUtil.getFallbackTextureUrl(CRAT_UUID), profile.textureUrl());
+    }
+}
@@ -0,0 +1,102 @@
+package xyz.nineworlds.cratbat.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ShieldProtectionCache.
+ * The lifecycle events that drive reconcile and forget are replayed in
+ * ShieldReconcilerTest.
+ */
+class ShieldProtectionCacheTest {
+
+    private static final UUID PLAYER = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID OTHER_PLAYER = UUID.fromString("12345678-1234-1234-1234-123456789012");
+
+    @BeforeEach
+    void setUp() {
+        ShieldProtectionCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShieldProtectionCache.clear();
+    }
+
+    @Nested
+    @DisplayName("Equip and unequip")
+    class EquipTests {
+
+        @Test
+        @DisplayName("Players start unprotected")
+        void playersStartUnprotected() {
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER));
+        }
+
+        @Test
+        @DisplayName("Equipping a shield protects only that player")
+        void equip_protectsOnlyThatPlayer() {
+            ShieldProtectionCache.onEquip(PLAYER);
+
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER));
+            assertFalse(ShieldProtectionCache.isProtected(OTHER_PLAYER));
+        }
+
+        @Test
+        @DisplayName("Unequipping the last shield removes protection")
+        void unequipLastShield_removesProtection() {
+            ShieldProtectionCache.onEquip(PLAYER);
+            ShieldProtectionCache.reconcile(PLAYER, false);
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER));
+        }
+
+        @Test
+        @DisplayName("Swapping one shield for another keeps protection")
+        void swappingShields_keepsProtection() {
+            // Curios fires unequip for the old stack, then equip for the new one
+            ShieldProtectionCache.onEquip(PLAYER);
+            ShieldProtectionCache.reconcile(PLAYER, true);
+            ShieldProtectionCache.onEquip(PLAYER);
+
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER));
+        }
+    }
+
+    @Nested
+    @DisplayName("Forgetting")
+    class ForgetTests {
+
+        @Test
+        @DisplayName("Forgetting a player does not affect other players")
+        void forget_doesNotAffectOthers() {
+            ShieldProtectionCache.onEquip(PLAYER);
+            ShieldProtectionCache.onEquip(OTHER_PLAYER);
+
+            ShieldProtectionCache.forget(PLAYER);
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER));
+            assertTrue(ShieldProtectionCache.isProtected(OTHER_PLAYER));
+        }
+
+        @Test
+        @DisplayName("Server stop clears every player")
+        void clear_removesEveryPlayer() {
+            ShieldProtectionCache.onEquip(PLAYER);
+            ShieldProtectionCache.onEquip(OTHER_PLAYER);
+
+            ShieldProtectionCache.clear();
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER));
+            assertFalse(ShieldProtectionCache.isProtected(OTHER_PLAYER));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package xyz.nineworlds.cratbat.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.util.UuidHashSet;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for TeamTargets.
+ * Tests parsing the teamTargets config and that unchanged assignments keep
+ * their instance across reconfiguration, which TeamTargetSync relies on.
+ */
+class TeamTargetsTest {
+
+    private static final UUID RED_CRAT = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID BLUE_CRAT = UUID.fromString("12345678-1234-1234-1234-123456789012");
+    private static final UUID OTHER_CRAT = UUID.fromString("87654321-4321-4321-4321-210987654321");
+
+    @AfterEach
+    void tearDown() {
+        TeamTargets.configure(List.of());
+    }
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Each team gets the UUIDs listed for it")
+        void configure_assignsTargetsPerTeam() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "blue = " + BLUE_CRAT + ", " + OTHER_CRAT));
+
+            UuidHashSet red = TeamTargets.getTargets("red");
+            UuidHashSet blue = TeamTargets.getTargets("blue");
+            assertEquals(1, red.size());
+            assertTrue(red.contains(RED_CRAT));
+            assertEquals(2, blue.size());
+            assertTrue(blue.contains(BLUE_CRAT));
+            assertTrue(blue.contains(OTHER_CRAT));
+            assertFalse(blue.contains(RED_CRAT));
+        }
+
+        @Test
+        @DisplayName("Entries for the same team are merged")
+        void configure_mergesRepeatedTeams() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "red=" + OTHER_CRAT));
+
+            assertEquals(2, TeamTargets.getTargets("red").size());
+        }
+
+        @Test
+        @DisplayName("Invalid entries and UUIDs are skipped")
+        void configure_skipsInvalidEntries() {
+            TeamTargets.configure(List.of("no separator", "=" + RED_CRAT, "red=not-a-uuid," + RED_CRAT, "empty="));
+
+            assertEquals(1, TeamTargets.getAssignments().size());
+            assertEquals(1, TeamTargets.getTargets("red").size());
+            assertNull(TeamTargets.getTargets("empty"));
+        }
+
+        @Test
+        @DisplayName("Unknown and null teams have no targets")
+        void getTargets_unknownTeam_returnsNull() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT));
+
+            assertNull(TeamTargets.getTargets("blue"));
+            assertNull(TeamTargets.getTargets(null));
+        }
+
+        @Test
+        @DisplayName("Any-team lookup covers every team's crats")
+        void isAnyTeamTarget_coversAllTeams() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "blue=" + BLUE_CRAT));
+
+            assertTrue(TeamTargets.isAnyTeamTarget(RED_CRAT));
+            assertTrue(TeamTargets.isAnyTeamTarget(BLUE_CRAT));
+            assertFalse(TeamTargets.isAnyTeamTarget(OTHER_CRAT));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconfiguration")
+    class ReconfigurationTests {
+
+        @Test
+        @DisplayName("Unchanged teams keep their set instance")
+        void configure_unchangedTeam_keepsInstance() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "blue=" + BLUE_CRAT));
+            UuidHashSet red = TeamTargets.getTargets("red");
+            UuidHashSet blue = TeamTargets.getTargets("blue");
+
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "blue=" + BLUE_CRAT + "," + OTHER_CRAT));
+
+            assertSame(red, TeamTargets.getTargets("red"));
+            assertNotSame(blue, TeamTargets.getTargets("blue"));
+        }
+
+        @Test
+        @DisplayName("Removed teams lose their assignment")
+        void configure_removedTeam_isDropped() {
+            TeamTargets.configure(List.of("red=" + RED_CRAT, "blue=" + BLUE_CRAT));
+
+            TeamTargets.configure(List.of("red=" + RED_CRAT));
+
+            assertNull(TeamTargets.getTargets("blue"));
+            assertFalse(TeamTargets.isAnyTeamTarget(BLUE_CRAT));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for HitEventRingBuffer.
+ * Tests ordering, overflow handling and concurrent producers.
+ */
+class HitEventRingBufferTest {
+
+    @Test
+    @DisplayName("Records are drained in order with all fields intact")
+    void drain_returnsRecordsInOrder() {
+        HitEventRingBuffer buffer = new HitEventRingBuffer(8);
+        buffer.offer(100L, 1, 2L, 3L, 4L, 5L);
+        buffer.offer(200L, 6, 7L, 8L, 9L, 10L);
+
+        List<long[]> drained = new ArrayList<>();
+        int count = buffer.drain((timestamp, category, attackerMost, attackerLeast, victimMost, victimLeast) ->
+                drained.add(new long[]{timestamp, category, attackerMost, attackerLeast, victimMost, victimLeast}));
+
+        assertEquals(2, count);
+        assertEquals(List.of(100L, 1L, 2L, 3L, 4L, 5L), toList(drained.get(0)));
+        assertEquals(List.of(200L, 6L, 7L, 8L, 9L, 10L), toList(drained.get(1)));
+        assertEquals(0, buffer.drain((t, c, am, al, vm, vl) -> { }));
+    }
+
+    @Test
+    @DisplayName("Full buffer drops new records until drained")
+    void fullBuffer_dropsUntilDrained() {
+        HitEventRingBuffer buffer = new HitEventRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, 0, 1L, 1L, 1L, 1L));
+        }
+
+        assertFalse(buffer.offer(4L, 0, 1L, 1L, 1L, 1L));
+        assertEquals(1, buffer.getDroppedCount());
+
+        assertEquals(4, buffer.drain((t, c, am, al, vm, vl) -> { }));
+        assertTrue(buffer.offer(5L, 0, 1L, 1L, 1L, 1L));
+    }
+
+    @Test
+    @DisplayName("Capacity must be a power of two")
+    void capacity_mustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HitEventRingBuffer(12));
+    }
+
+    @Test
+    @DisplayName("Concurrent producers never lose or duplicate accepted records")
+    void concurrentProducers_accountForEveryRecord() throws InterruptedException {
+        HitEventRingBuffer buffer = new HitEventRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(i, producer, i, -i, producer, producer);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long[] consumed = new long[1];
+        start.countDown();
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            consumed[0] += buffer.drain((timestamp, category, attackerMost, attackerLeast, victimMost, victimLeast) -> {
+                // Fields of one record must come from the same offer
+                assertEquals(timestamp, attackerMost);
+                assertEquals(-timestamp, attackerLeast);
+                assertEquals(category, victimMost);
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        consumed[0] += buffer.drain((t, c, am, al, vm, vl) -> { });
+
+        assertEquals((long) producers * perProducer, consumed[0] + buffer.getDroppedCount());
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>();
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,94 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Nested
+    @DisplayName("Buckets")
+    class BucketTests {
+
+        @Test
+        @DisplayName("Every value falls inside its bucket's bounds")
+        void valuesFallInsideTheirBucket() {
+            long[] values = {0, 1, 3, 4, 5, 7, 8, 9, 1_000, 123_456, 50_000_000, Long.MAX_VALUE};
+            for (long value : values) {
+                int bucket = LatencyHistogram.bucketFor(value);
+                assertTrue(value <= LatencyHistogram.bucketUpperBound(bucket), "value " + value);
+                if (bucket > 0) {
+                    assertTrue(value > LatencyHistogram.bucketUpperBound(bucket - 1), "value " + value);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Bucket upper bounds are within 25% of the bucket's values")
+        void bucketErrorIsBounded() {
+            for (long value = 4; value < 1_000_000; value = value * 3 / 2 + 1) {
+                long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketFor(value));
+                assertTrue(upper - value <= value / 4, "value " + value);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentiles")
+    class PercentileTests {
+
+        @Test
+        @DisplayName("Empty histogram reports zero")
+        void empty_reportsZero() {
+            LatencyHistogram histogram = new LatencyHistogram();
+
+            assertEquals(0, histogram.getCount());
+            assertEquals(0, histogram.getPercentileNanos(50));
+            assertEquals(0, histogram.getMaxNanos());
+        }
+
+        @Test
+        @DisplayName("p50 and p99 separate fast and slow samples")
+        void percentiles_separateFastAndSlow() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 98; i++) {
+                histogram.record(1_000);
+            }
+            histogram.record(1_000_000);
+            histogram.record(2_000_000);
+
+            assertEquals(100, histogram.getCount());
+            assertTrue(histogram.getPercentileNanos(50) >= 1_000 && histogram.getPercentileNanos(50) < 1_250);
+            assertTrue(histogram.getPercentileNanos(99) >= 1_000_000 && histogram.getPercentileNanos(99) < 1_250_000);
+            assertEquals(2_000_000, histogram.getMaxNanos());
+        }
+
+        @Test
+        @DisplayName("Percentiles never exceed the recorded maximum")
+        void percentiles_cappedAtMax() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(1_001);
+
+            assertEquals(1_001, histogram.getPercentileNanos(100));
+        }
+
+        @Test
+        @DisplayName("Reset clears everything")
+        void reset_clearsEverything() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(500);
+
+            histogram.reset();
+
+            assertEquals(0, histogram.getCount());
+            assertEquals(0, histogram.getTotalNanos());
+            assertEquals(0, histogram.getPercentileNanos(99));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package xyz.nineworlds.cratbat.diagnostics;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for NetStats.
+ * Runs real encoders and decoders through the counting wrappers and checks
+ * the per-message counters and the per-minute history.
+ */
+class NetStatsTest {
+
+    /** Stand-in message type, so the counters do not collide with real packets. */
+    private record TestMessage(String text) {
+        void encode(FriendlyByteBuf buf) {
+            buf.writeUtf(text);
+        }
+
+        static TestMessage decode(FriendlyByteBuf buf) {
+            return new TestMessage(buf.readUtf());
+        }
+    }
+
+    private final BiConsumer<TestMessage, FriendlyByteBuf> encoder =
+            NetStats.countingEncoder(TestMessage.class, TestMessage::encode);
+    private final Function<FriendlyByteBuf, TestMessage> decoder =
+            NetStats.countingDecoder(TestMessage.class, TestMessage::decode);
+
+    @BeforeEach
+    void setUp() {
+        NetStats.reset();
+    }
+
+    private static NetStats.MessageStats stats() {
+        return NetStats.register(TestMessage.class);
+    }
+
+    @Nested
+    @DisplayName("Counting codecs")
+    class CodecTests {
+
+        @Test
+        @DisplayName("Encodes count as sent packets with their payload size")
+        void encode_countsSentPacketAndBytes() {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeByte(7); // bytes already in the buffer are not counted
+
+            encoder.accept(new TestMessage("hello"), buf);
+            encoder.accept(new TestMessage("hi"), buf);
+
+            assertEquals(2, stats().getPackets(NetStats.Direction.SENT));
+            // One length byte plus the characters, per message
+            assertEquals(6 + 3, stats().getBytes(NetStats.Direction.SENT));
+            assertEquals(0, stats().getPackets(NetStats.Direction.RECEIVED));
+        }
+
+        @Test
+        @DisplayName("Decodes count as received packets with the bytes they consumed")
+        void decode_countsReceivedPacketAndBytes() {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            new TestMessage("hello").encode(buf);
+
+            TestMessage decoded = decoder.apply(buf);
+
+            assertEquals("hello", decoded.text());
+            assertEquals(1, stats().getPackets(NetStats.Direction.RECEIVED));
+            assertEquals(6, stats().getBytes(NetStats.Direction.RECEIVED));
+        }
+
+        @Test
+        @DisplayName("Shared sends add the last encoded size once per extra recipient")
+        void recordCopies_addsLastEncodedSize() {
+            encoder.accept(new TestMessage("hello"), new FriendlyByteBuf(Unpooled.buffer()));
+
+            NetStats.recordCopies(TestMessage.class, 9);
+
+            assertEquals(10, stats().getPackets(NetStats.Direction.SENT));
+            assertEquals(60, stats().getBytes(NetStats.Direction.SENT));
+        }
+
+        @Test
+        @DisplayName("Registering a type twice returns the same counters")
+        void register_isIdempotent() {
+            assertSame(stats(), NetStats.register(TestMessage.class));
+        }
+
+        @Test
+        @DisplayName("Summary names every message type with traffic")
+        void summarize_listsActiveTypes() {
+            encoder.accept(new TestMessage("hello"), new FriendlyByteBuf(Unpooled.buffer()));
+
+            assertTrue(NetStats.summarize().stream().anyMatch(line -> line.startsWith("TestMessage: sent 1")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-minute history")
+    class HistoryTests {
+
+        private static final long START = 1_700_000_000_000L;
+        private static final long MINUTE = 60_000L;
+
+        @Test
+        @DisplayName("Each completed minute records the traffic during that minute")
+        void roll_recordsTrafficPerMinute() {
+            NetStats.roll(START);
+            encoder.accept(new TestMessage("hello"), new FriendlyByteBuf(Unpooled.buffer()));
+            NetStats.roll(START + MINUTE / 2); // mid-minute, nothing closes
+            NetStats.roll(START + MINUTE);
+            encoder.accept(new TestMessage("hi"), new FriendlyByteBuf(Unpooled.buffer()));
+            encoder.accept(new TestMessage("hi"), new FriendlyByteBuf(Unpooled.buffer()));
+            NetStats.roll(START + 2 * MINUTE);
+
+            List<NetStats.Minute> history = NetStats.getHistory();
+
+            assertEquals(2, history.size());
+            assertEquals(START, history.get(0).startMillis());
+            assertEquals(1, history.get(0).sentPackets());
+            assertEquals(6, history.get(0).sentBytes());
+            assertEquals(2, history.get(1).sentPackets());
+            assertEquals(6, history.get(1).sentBytes());
+        }
+
+        @Test
+        @DisplayName("History keeps only the last hour")
+        void roll_keepsLastHour() {
+            for (int i = 0; i <= 90; i++) {
+                NetStats.roll(START + i * MINUTE);
+            }
+
+            List<NetStats.Minute> history = NetStats.getHistory();
+
+            assertEquals(60, history.size());
+            assertEquals(START + 30 * MINUTE, history.get(0).startMillis());
+        }
+    }
+}
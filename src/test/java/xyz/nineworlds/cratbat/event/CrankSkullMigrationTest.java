@@ -0,0 +1,66 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.nbt.CompoundTag;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.util.NBTUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for CrankSkullMigration.
+ * Creating ItemStacks needs the registries bootstrapped, so these tests
+ * cover the tag handling that decides and performs the conversion.
+ */
+class CrankSkullMigrationTest {
+
+    private static CompoundTag legacyTag() {
+        CompoundTag tag = new CompoundTag();
+        tag.put("SkullOwner", NBTUtil.createSkullOwnerTag("TestCrat",
+                "550e8400-e29b-41d4-a716-446655440000", "http://textures.minecraft.net/texture/abc123"));
+        tag.putString(CrankSkullMigration.CRAT_BAT_TYPE_TAG, CrankSkullMigration.CRANK_SKULL_TYPE);
+        return tag;
+    }
+
+    @Test
+    @DisplayName("Tagged heads are recognised as legacy Crank Skulls")
+    void taggedHead_isLegacy() {
+        assertTrue(CrankSkullMigration.isLegacyTag(legacyTag()));
+    }
+
+    @Test
+    @DisplayName("Untagged and differently tagged heads are left alone")
+    void otherHeads_areNotLegacy() {
+        CompoundTag other = new CompoundTag();
+        other.putString(CrankSkullMigration.CRAT_BAT_TYPE_TAG, "SomeOtherType");
+
+        assertFalse(CrankSkullMigration.isLegacyTag(null));
+        assertFalse(CrankSkullMigration.isLegacyTag(new CompoundTag()));
+        assertFalse(CrankSkullMigration.isLegacyTag(other));
+    }
+
+    @Test
+    @DisplayName("Migration keeps the skull owner and drops the marker")
+    void migrateTag_keepsOwner() {
+        CompoundTag legacy = legacyTag();
+
+        CompoundTag migrated = CrankSkullMigration.migrateTag(legacy);
+
+        assertFalse(migrated.contains(CrankSkullMigration.CRAT_BAT_TYPE_TAG));
+        assertEquals(legacy.getCompound("SkullOwner"), migrated.getCompound("SkullOwner"));
+        // The original tag is not modified
+        assertTrue(legacy.contains(CrankSkullMigration.CRAT_BAT_TYPE_TAG));
+    }
+
+    @Test
+    @DisplayName("A tag holding only the marker migrates to no tag")
+    void migrateTag_markerOnly_returnsNull() {
+        CompoundTag tag = new CompoundTag();
+        tag.putString(CrankSkullMigration.CRAT_BAT_TYPE_TAG, CrankSkullMigration.CRANK_SKULL_TYPE);
+
+        assertNull(CrankSkullMigration.migrateTag(tag));
+    }
+}
@@ -0,0 +1,172 @@
+package xyz.nineworlds.cratbat.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.core.ShieldProtectionCache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ShieldReconciler.
+ * Replays player lifecycle events in the order Forge and Curios fire them.
+ * A set of player entities stands in for the Curios inventories, and the
+ * lookup counts how often the inventory is scanned.
+ */
+class ShieldReconcilerTest {
+
+    private static final UUID PLAYER_UUID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    /**
+     * A player entity. Respawning creates a new one with the same UUID.
+     */
+    private record FakePlayer(UUID uuid, int generation) {
+        FakePlayer respawned() {
+            return new FakePlayer(uuid, generation + 1);
+        }
+    }
+
+    // Player entities whose curio inventory holds a shield
+    private final Set<FakePlayer> wearingShield = new HashSet<>();
+    private int scans;
+    private final ShieldReconciler<FakePlayer> reconciler = new ShieldReconciler<>(FakePlayer::uuid, player -> {
+        scans++;
+        return wearingShield.contains(player);
+    });
+
+    private final FakePlayer player = new FakePlayer(PLAYER_UUID, 0);
+
+    @BeforeEach
+    void setUp() {
+        ShieldProtectionCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShieldProtectionCache.clear();
+    }
+
+    /**
+     * Equips a shield the way Curios reports it: the inventory changes, then the callback fires.
+     */
+    private void equip(FakePlayer entity) {
+        wearingShield.add(entity);
+        ShieldProtectionCache.onEquip(entity.uuid());
+    }
+
+    @Nested
+    @DisplayName("Death and respawn")
+    class RespawnTests {
+
+        @Test
+        @DisplayName("Clone after death leaves the player unprotected until the respawn scan")
+        void deathClone_unprotectedUntilRespawn() {
+            equip(player);
+
+            reconciler.onClone(player, true);
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER_UUID));
+            assertEquals(0, scans);
+        }
+
+        @Test
+        @DisplayName("Respawn with keepInventory scans the new entity and restores protection")
+        void respawnWithKeptShield_restoresProtection() {
+            equip(player);
+            FakePlayer respawned = player.respawned();
+
+            reconciler.onClone(player, true);
+            // Curios copies kept curios to the new entity during Clone
+            wearingShield.add(respawned);
+            reconciler.onLoaded(respawned);
+
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER_UUID));
+            assertEquals(1, scans);
+        }
+
+        @Test
+        @DisplayName("Respawn after the shield dropped stays unprotected")
+        void respawnWithoutShield_staysUnprotected() {
+            equip(player);
+            FakePlayer respawned = player.respawned();
+
+            reconciler.onClone(player, true);
+            reconciler.onLoaded(respawned);
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+
+        @Test
+        @DisplayName("Returning from the End keeps protection through the clone")
+        void endReturnClone_keepsProtection() {
+            equip(player);
+            FakePlayer returned = player.respawned();
+            wearingShield.add(returned);
+
+            reconciler.onClone(player, false);
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER_UUID));
+
+            reconciler.onLoaded(returned);
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Login, logout and dimension change")
+    class LoadTests {
+
+        @Test
+        @DisplayName("Login with a shield equipped restores protection")
+        void loginWithShield_restoresProtection() {
+            equip(player);
+            reconciler.onLogout(player);
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER_UUID));
+
+            FakePlayer relogged = player.respawned();
+            wearingShield.add(relogged);
+            reconciler.onLoaded(relogged);
+
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+
+        @Test
+        @DisplayName("Login after the shield was removed offline stays unprotected")
+        void loginWithoutShield_staysUnprotected() {
+            equip(player);
+            reconciler.onLogout(player);
+
+            reconciler.onLoaded(player.respawned());
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+
+        @Test
+        @DisplayName("Dimension change corrects a flag left stale by a missed unequip")
+        void dimensionChange_correctsStaleFlag() {
+            equip(player);
+            wearingShield.remove(player);
+
+            reconciler.onLoaded(player);
+
+            assertFalse(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+
+        @Test
+        @DisplayName("Dimension change picks up a shield equipped without a callback")
+        void dimensionChange_picksUpMissedEquip() {
+            wearingShield.add(player);
+
+            reconciler.onLoaded(player);
+
+            assertTrue(ShieldProtectionCache.isProtected(PLAYER_UUID));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package xyz.nineworlds.cratbat.event;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for SwatAnnouncer's per-tick batching.
+ */
+class SwatAnnouncerTest {
+
+    private static final ResourceKey<Level> OVERWORLD = dimension("overworld");
+    private static final ResourceKey<Level> NETHER = dimension("the_nether");
+    private static final double RADIUS_SQR = 16.0 * 16.0;
+
+    private static final SwatAnnouncer.Swat OVERWORLD_ORIGIN = swat(OVERWORLD, new Vec3(0, 64, 0), "A");
+    private static final SwatAnnouncer.Swat OVERWORLD_FAR = swat(OVERWORLD, new Vec3(1000, 64, 0), "B");
+    private static final SwatAnnouncer.Swat NETHER_ORIGIN = swat(NETHER, Vec3.ZERO, "C");
+    private static final List<SwatAnnouncer.Swat> SWATS = List.of(OVERWORLD_ORIGIN, OVERWORLD_FAR, NETHER_ORIGIN);
+
+    private static final SwatAnnouncer.Viewer NEAR_ORIGIN = new SwatAnnouncer.Viewer(OVERWORLD, new Vec3(10, 64, 0));
+
+    private static ResourceKey<Level> dimension(String path) {
+        return ResourceKey.create(Registries.DIMENSION, ResourceLocation.fromNamespaceAndPath("minecraft", path));
+    }
+
+    private static SwatAnnouncer.Swat swat(ResourceKey<Level> dimension, Vec3 position, String message) {
+        return new SwatAnnouncer.Swat(dimension, position, Component.literal(message));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    @Nested
+    @DisplayName("Visible swats")
+    class VisibleSwatsTests {
+
+        @Test
+        @DisplayName("ALL shows every swat, in any dimension")
+        void all_showsEverySwat() {
+            BitSet visible = SwatAnnouncer.visibleSwats(NEAR_ORIGIN, SWATS, SwatAnnouncer.Scope.ALL, RADIUS_SQR);
+
+            assertEquals(bits(0, 1, 2), visible);
+        }
+
+        @Test
+        @DisplayName("DIMENSION shows swats in the viewer's dimension at any distance")
+        void dimension_showsSameDimension() {
+            BitSet visible = SwatAnnouncer.visibleSwats(NEAR_ORIGIN, SWATS, SwatAnnouncer.Scope.DIMENSION, RADIUS_SQR);
+
+            assertEquals(bits(0, 1), visible);
+        }
+
+        @Test
+        @DisplayName("RADIUS shows swats in the viewer's dimension within the radius")
+        void radius_showsNearbySwats() {
+            BitSet visible = SwatAnnouncer.visibleSwats(NEAR_ORIGIN, SWATS, SwatAnnouncer.Scope.RADIUS, RADIUS_SQR);
+
+            assertEquals(bits(0), visible);
+        }
+
+        @Test
+        @DisplayName("RADIUS ignores a nearby position in another dimension")
+        void radius_ignoresOtherDimension() {
+            SwatAnnouncer.Viewer inNether = new SwatAnnouncer.Viewer(NETHER, new Vec3(1000, 64, 0));
+
+            BitSet visible = SwatAnnouncer.visibleSwats(inNether, SWATS, SwatAnnouncer.Scope.RADIUS, RADIUS_SQR);
+
+            assertEquals(new BitSet(), visible);
+        }
+    }
+
+    @Nested
+    @DisplayName("Combined messages")
+    class CombineTests {
+
+        @Test
+        @DisplayName("A single visible swat is sent as its own message")
+        void single_isOwnMessage() {
+            assertSame(NETHER_ORIGIN.message(), SwatAnnouncer.combine(SWATS, bits(2)));
+        }
+
+        @Test
+        @DisplayName("Several visible swats are listed one per line")
+        void several_areListedPerLine() {
+            assertEquals("A\nC", SwatAnnouncer.combine(SWATS, bits(0, 2)).getString());
+        }
+
+        @Test
+        @DisplayName("Swats past the fifth are summarised")
+        void manySwats_areCutOff() {
+            List<SwatAnnouncer.Swat> swats = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                swats.add(swat(OVERWORLD, Vec3.ZERO, "Swat " + i));
+            }
+            BitSet all = new BitSet();
+            all.set(0, swats.size());
+
+            assertEquals("Swat 0\nSwat 1\nSwat 2\nSwat 3\nSwat 4\n...and 3 more swats",
+                    SwatAnnouncer.combine(swats, all).getString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Messages per viewer")
+    class MessagesTests {
+
+        private final SwatAnnouncer.Viewer alsoNearOrigin = new SwatAnnouncer.Viewer(OVERWORLD, new Vec3(-5, 64, 5));
+        private final SwatAnnouncer.Viewer farAway = new SwatAnnouncer.Viewer(OVERWORLD, new Vec3(500, 64, 500));
+        private final SwatAnnouncer.Viewer inNether = new SwatAnnouncer.Viewer(NETHER, Vec3.ZERO);
+        private final List<SwatAnnouncer.Viewer> viewers = List.of(NEAR_ORIGIN, alsoNearOrigin, farAway, inNether);
+
+        @Test
+        @DisplayName("ALL gives every viewer the same message")
+        void all_sharesOneMessage() {
+            List<Component> messages = SwatAnnouncer.messagesFor(SWATS, viewers, SwatAnnouncer.Scope.ALL, RADIUS_SQR);
+
+            for (Component message : messages) {
+                assertSame(messages.get(0), message);
+            }
+            assertEquals("A\nB\nC", messages.get(0).getString());
+        }
+
+        @Test
+        @DisplayName("DIMENSION shares a message between viewers in the same dimension")
+        void dimension_sharesPerDimension() {
+            List<Component> messages = SwatAnnouncer.messagesFor(SWATS, viewers, SwatAnnouncer.Scope.DIMENSION, RADIUS_SQR);
+
+            assertSame(messages.get(0), messages.get(1));
+            assertSame(messages.get(0), messages.get(2));
+            assertNotSame(messages.get(0), messages.get(3));
+            assertEquals("A\nB", messages.get(0).getString());
+            assertEquals("C", messages.get(3).getString());
+        }
+
+        @Test
+        @DisplayName("RADIUS shares a message between viewers that see the same swats, and skips the rest")
+        void radius_sharesPerVisibleSet() {
+            List<Component> messages = SwatAnnouncer.messagesFor(SWATS, viewers, SwatAnnouncer.Scope.RADIUS, RADIUS_SQR);
+
+            assertSame(messages.get(0), messages.get(1));
+            assertEquals("A", messages.get(0).getString());
+            assertNull(messages.get(2));
+            assertEquals("C", messages.get(3).getString());
+        }
+    }
+}
@@ -1,23 +1,26 @@
 package xyz.nineworlds.cratbat.item;
 
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.ConfigSnapshot;
 import xyz.nineworlds.cratbat.CratBatConfig;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for CrankSkullItem.
- * Tests skull creation with various config states and identification methods.
+ * Tests skull creation with various config states.
  *
  * Note: These tests require Minecraft's registry to be bootstrapped,
  * so they test the logic paths rather than full ItemStack creation.
@@ -31,9 +34,7 @@ class CrankSkullItemTest {
     @BeforeEach
     void setUp() {
         // Set up config values
-        CratBatConfig.targetPlayerName = TEST_PLAYER_NAME;
-        CratBatConfig.targetPlayerUUID = TEST_PLAYER_UUID;
-        CratBatConfig.targetPlayerTexture = TEST_TEXTURE_URL;
+        CratBatConfig.setLocalSnapshot(new ConfigSnapshot(TEST_PLAYER_NAME, TEST_PLAYER_UUID, TEST_TEXTURE_URL, false));
         CratBatConfig.clearServerConfig();
     }
 
@@ -42,49 +43,6 @@ class CrankSkullItemTest {
         CratBatConfig.clearServerConfig();
     }
 
-    @Nested
-    @DisplayName("isCrankSkull tests")
-    class IsCrankSkullTests {
-
-        @Test
-        @DisplayName("Returns false for null ItemStack tag")
-        void returnsFalseForNullTag() {
-            // Create a mock-like test using a simple ItemStack simulation
-            // Since we can't easily create ItemStacks without Minecraft bootstrap,
-            // we test the logic with CompoundTag directly
-            CompoundTag tag = null;
-
-            // The method checks if tag is null, so this validates that code path
-            assertFalse(tag != null && "CrankSkull".equals(tag.getString("CratBatType")));
-        }
-
-        @Test
-        @DisplayName("Returns false for tag without CratBatType")
-        void returnsFalseForTagWithoutCratBatType() {
-            CompoundTag tag = new CompoundTag();
-
-            assertFalse("CrankSkull".equals(tag.getString("CratBatType")));
-        }
-
-        @Test
-        @DisplayName("Returns false for tag with wrong CratBatType")
-        void returnsFalseForWrongCratBatType() {
-            CompoundTag tag = new CompoundTag();
-            tag.putString("CratBatType", "SomeOtherType");
-
-            assertFalse("CrankSkull".equals(tag.getString("CratBatType")));
-        }
-
-        @Test
-        @DisplayName("Returns true for tag with correct CratBatType")
-        void returnsTrueForCorrectCratBatType() {
-            CompoundTag tag = new CompoundTag();
-            tag.putString("CratBatType", "CrankSkull");
-
-            assertTrue("CrankSkull".equals(tag.getString("CratBatType")));
-        }
-    }
-
     @Nested
     @DisplayName("getSkullPlayerName tests")
     class GetSkullPlayerNameTests {
@@ -292,4 +250,82 @@ class CrankSkullItemTest {
             // Should be essentially empty but not null
         }
     }
+
+    @Nested
+    @DisplayName("Skull template")
+    class TemplateTests {
+
+        // A skull's tag stands in for the ItemStack, which ItemStack.copy() deep-copies the same way
+        private ConfigSnapshot current = new ConfigSnapshot(TEST_PLAYER_NAME, TEST_PLAYER_UUID, TEST_TEXTURE_URL, false);
+        private int builds;
+        private final ConfigTemplate<CompoundTag> template = new ConfigTemplate<>(() -> current, config -> {
+            builds++;
+            CompoundTag tag = new CompoundTag();
+            tag.put("SkullOwner", xyz.nineworlds.cratbat.util.NBTUtil.createSkullOwnerTag(
+                    config.targetPlayerName(), config.targetPlayerUUID(), config.targetPlayerTexture()));
+            return tag;
+        }, CompoundTag::copy);
+
+        @Test
+        @DisplayName("Copies do not share tag state with the template")
+        void copies_doNotShareTagState() {
+            CompoundTag first = template.create();
+            first.getCompound("SkullOwner").putString("Name", "Renamed");
+            first.getCompound("SkullOwner").remove("Properties");
+
+            CompoundTag second = template.create();
+
+            assertEquals(TEST_PLAYER_NAME, second.getCompound("SkullOwner").getString("Name"));
+            assertTrue(second.getCompound("SkullOwner").contains("Properties"));
+            assertEquals(1, builds);
+        }
+
+        @Test
+        @DisplayName("A new config snapshot rebuilds the template")
+        void newSnapshot_rebuildsTemplate() {
+            template.create();
+
+            current = new ConfigSnapshot("OtherCrat", TEST_PLAYER_UUID, TEST_TEXTURE_URL, false);
+            CompoundTag rebuilt = template.create();
+
+            assertEquals("OtherCrat", rebuilt.getCompound("SkullOwner").getString("Name"));
+            assertEquals(2, builds);
+        }
+
+        @Test
+        @DisplayName("An equal but new snapshot also rebuilds the template")
+        void equalSnapshot_rebuildsTemplate() {
+            template.create();
+
+            current = new ConfigSnapshot(TEST_PLAYER_NAME, TEST_PLAYER_UUID, TEST_TEXTURE_URL, false);
+            template.create();
+
+            assertEquals(2, builds);
+        }
+
+        @Test
+        @DisplayName("Creating n skulls returns n separate stacks")
+        void createMany_returnsSeparateCopies() {
+            List<CompoundTag> skulls = template.create(3);
+
+            assertEquals(3, skulls.size());
+            assertNotSame(skulls.get(0), skulls.get(1));
+            assertNotSame(skulls.get(0).getCompound("SkullOwner"), skulls.get(1).getCompound("SkullOwner"));
+            skulls.get(0).getCompound("SkullOwner").putString("Name", "Renamed");
+            assertEquals(TEST_PLAYER_NAME, skulls.get(2).getCompound("SkullOwner").getString("Name"));
+            assertEquals(1, builds);
+        }
+
+        @Test
+        @DisplayName("Creating zero skulls returns an empty list")
+        void createZero_returnsEmptyList() {
+            assertTrue(template.create(0).isEmpty());
+        }
+
+        @Test
+        @DisplayName("A negative count throws")
+        void createNegative_throws() {
+            assertThrows(IllegalArgumentException.class, () -> template.create(-1));
+        }
+    }
 }
@@ -0,0 +1,136 @@
+package xyz.nineworlds.cratbat.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ConfigDeltaPacket.
+ * Tests diffing two configs, applying a delta and the wire format.
+ */
+class ConfigDeltaPacketTest {
+
+    private static final ConfigSyncPacket BASE = new ConfigSyncPacket("TestPlayer",
+            "12345678-1234-1234-1234-123456789012", "http://textures.minecraft.net/texture/abc123", false);
+
+    private static ConfigDeltaPacket roundTrip(ConfigDeltaPacket delta) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        delta.encode(buf);
+        ConfigDeltaPacket decoded = ConfigDeltaPacket.decode(buf);
+        assertFalse(buf.isReadable(), "All bytes should be consumed");
+        return decoded;
+    }
+
+    private static int encodedSize(Object packet) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        if (packet instanceof ConfigDeltaPacket delta) {
+            delta.encode(buf);
+        } else {
+            ((ConfigSyncPacket) packet).encode(buf);
+        }
+        return buf.readableBytes();
+    }
+
+    private static void assertSameConfig(ConfigSyncPacket expected, ConfigSyncPacket actual) {
+        assertEquals(expected.getTargetPlayerName(), actual.getTargetPlayerName());
+        assertEquals(expected.getTargetPlayerUUID(), actual.getTargetPlayerUUID());
+        assertEquals(expected.getTargetPlayerTexture(), actual.getTargetPlayerTexture());
+        assertEquals(expected.isEnableTestCrat(), actual.isEnableTestCrat());
+    }
+
+    @Nested
+    @DisplayName("Diff")
+    class DiffTests {
+
+        @Test
+        @DisplayName("Equal configs produce no delta")
+        void diff_equalConfigs_returnsNull() {
+            ConfigSyncPacket copy = new ConfigSyncPacket(BASE.getTargetPlayerName(), BASE.getTargetPlayerUUID(),
+                    BASE.getTargetPlayerTexture(), BASE.isEnableTestCrat());
+
+            assertNull(ConfigDeltaPacket.diff(BASE, copy));
+        }
+
+        @Test
+        @DisplayName("Only the changed fields are marked")
+        void diff_marksChangedFields() {
+            ConfigSyncPacket current = new ConfigSyncPacket("OtherPlayer", BASE.getTargetPlayerUUID(),
+                    BASE.getTargetPlayerTexture(), true);
+
+            ConfigDeltaPacket delta = ConfigDeltaPacket.diff(BASE, current);
+
+            assertNotNull(delta);
+            assertEquals(ConfigDeltaPacket.CHANGED_NAME | ConfigDeltaPacket.CHANGED_TEST_CRAT, delta.getChanged());
+        }
+
+        @Test
+        @DisplayName("Applying the delta to the previous config gives the current one")
+        void applyTo_reproducesCurrentConfig() {
+            ConfigSyncPacket current = new ConfigSyncPacket("OtherPlayer", "not-a-uuid",
+                    "https://crafatar.com/skins/99aabb", true);
+
+            assertSameConfig(current, ConfigDeltaPacket.diff(BASE, current).applyTo(BASE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Wire format")
+    class WireFormatTests {
+
+        @Test
+        @DisplayName("Every combination of changed fields survives a round trip")
+        void roundTrip_allCombinations() {
+            String[] names = {BASE.getTargetPlayerName(), "OtherPlayer"};
+            String[] uuids = {BASE.getTargetPlayerUUID(), "87654321-4321-4321-4321-210987654321", "Not-Canonical"};
+            String[] textures = {BASE.getTargetPlayerTexture(), "", "https://textures.minecraft.net/texture/f00d"};
+
+            for (String name : names) {
+                for (String uuid : uuids) {
+                    for (String texture : textures) {
+                        for (boolean testCrat : new boolean[]{false, true}) {
+                            ConfigSyncPacket current = new ConfigSyncPacket(name, uuid, texture, testCrat);
+                            ConfigDeltaPacket delta = ConfigDeltaPacket.diff(BASE, current);
+                            if (delta == null) {
+                                continue;
+                            }
+
+                            ConfigDeltaPacket decoded = roundTrip(delta);
+
+                            assertEquals(delta.getChanged(), decoded.getChanged());
+                            assertSameConfig(current, decoded.applyTo(BASE));
+                        }
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("A single changed flag encodes to one byte")
+        void testCratOnly_isOneByte() {
+            ConfigSyncPacket current = new ConfigSyncPacket(BASE.getTargetPlayerName(), BASE.getTargetPlayerUUID(),
+                    BASE.getTargetPlayerTexture(), true);
+
+            assertEquals(1, encodedSize(ConfigDeltaPacket.diff(BASE, current)));
+        }
+
+        @Test
+        @DisplayName("A texture-only delta is smaller than the full config")
+        void textureOnly_isSmallerThanFullConfig() {
+            ConfigSyncPacket current = new ConfigSyncPacket(BASE.getTargetPlayerName(), BASE.getTargetPlayerUUID(),
+                    "http://textures.minecraft.net/texture/def456", false);
+
+            int deltaSize = encodedSize(ConfigDeltaPacket.diff(BASE, current));
+
+            assertTrue(deltaSize < encodedSize(current),
+                    "Delta (" + deltaSize + " bytes) should be smaller than the full config");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package xyz.nineworlds.cratbat.network;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for ConfigFanOut.
+ * Tests that each wire format is encoded once and that the shared packet
+ * writes the same bytes for every connection.
+ */
+class ConfigFanOutTest {
+
+    private static final ResourceLocation CHANNEL_NAME = ResourceLocation.fromNamespaceAndPath("cratbat", "main");
+
+    private final List<Object> encoded = new ArrayList<>();
+    private ConfigFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        encoded.clear();
+        ConfigSyncPacket config = new ConfigSyncPacket("TestPlayer", "12345678-1234-1234-1234-123456789012",
+                "http://textures.minecraft.net/texture/abc123", true);
+        fanOut = new ConfigFanOut(config, this::encode);
+    }
+
+    private Packet<?> encode(Object message) {
+        encoded.add(message);
+        FriendlyByteBuf payload = new FriendlyByteBuf(Unpooled.buffer());
+        if (message instanceof LegacyConfigSyncPacket legacy) {
+            legacy.encode(payload);
+        } else {
+            ((ConfigSyncPacket) message).encode(payload);
+        }
+        return new ClientboundCustomPayloadPacket(CHANNEL_NAME, payload);
+    }
+
+    private static byte[] write(Packet<?> packet) {
+        FriendlyByteBuf wire = new FriendlyByteBuf(Unpooled.buffer());
+        packet.write(wire);
+        return ByteBufUtil.getBytes(wire);
+    }
+
+    @Test
+    @DisplayName("Each wire format is encoded once however many recipients there are")
+    void packetFor_encodesEachFormatOnce() {
+        Packet<?> compact = fanOut.packetFor(false);
+        Packet<?> legacy = fanOut.packetFor(true);
+        for (int i = 0; i < 100; i++) {
+            assertSame(compact, fanOut.packetFor(false));
+            assertSame(legacy, fanOut.packetFor(true));
+        }
+
+        assertNotSame(compact, legacy);
+        assertEquals(2, encoded.size());
+        assertSame(fanOut.getConfig(), encoded.get(0));
+        assertInstanceOf(LegacyConfigSyncPacket.class, encoded.get(1));
+    }
+
+    @Test
+    @DisplayName("Formats that no recipient needs are never encoded")
+    void packetFor_skipsUnusedFormats() {
+        fanOut.packetFor(false);
+
+        assertEquals(1, encoded.size());
+    }
+
+    @Test
+    @DisplayName("The shared packet writes identical bytes for every connection")
+    void sharedPacket_writesSameBytesRepeatedly() {
+        Packet<?> packet = fanOut.packetFor(false);
+
+        byte[] first = write(packet);
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(first, write(packet));
+        }
+    }
+}
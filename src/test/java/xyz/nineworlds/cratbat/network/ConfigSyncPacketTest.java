@@ -1,19 +1,22 @@
 package xyz.nineworlds.cratbat.network;
 
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit tests for ConfigSyncPacket.
- * Tests packet construction, getters, and null handling.
- * Note: encode/decode tests would require mocking FriendlyByteBuf which is complex
- * due to Minecraft's networking infrastructure.
+ * Tests packet construction, getters, null handling, and the compact and
+ * legacy wire formats using heap-backed FriendlyByteBufs.
  */
 class ConfigSyncPacketTest {
 
@@ -205,4 +208,174 @@ class ConfigSyncPacketTest {
             assertEquals(testCrat1, testCrat2);
         }
     }
+
+    @Nested
+    @DisplayName("Content hash")
+    class ContentHashTests {
+
+        @Test
+        @DisplayName("Equal packets have equal hashes")
+        void equalPackets_haveEqualHashes() {
+            ConfigSyncPacket first = new ConfigSyncPacket(TEST_NAME, TEST_UUID, TEST_TEXTURE, true);
+            ConfigSyncPacket second = new ConfigSyncPacket(TEST_NAME, TEST_UUID, TEST_TEXTURE, true);
+
+            assertEquals(first.contentHash(), second.contentHash());
+        }
+
+        @Test
+        @DisplayName("Null and empty values hash the same")
+        void nullAndEmpty_hashTheSame() {
+            ConfigSyncPacket withNulls = new ConfigSyncPacket(null, null, null, false);
+            ConfigSyncPacket withEmpty = new ConfigSyncPacket("", "", "", false);
+
+            assertEquals(withNulls.contentHash(), withEmpty.contentHash());
+        }
+
+        @Test
+        @DisplayName("Every field contributes to the hash")
+        void everyField_changesHash() {
+            long base = new ConfigSyncPacket(TEST_NAME, TEST_UUID, TEST_TEXTURE, false).contentHash();
+
+            assertNotEquals(base, new ConfigSyncPacket("Other", TEST_UUID, TEST_TEXTURE, false).contentHash());
+            assertNotEquals(base, new ConfigSyncPacket(TEST_NAME, "550e8400-e29b-41d4-a716-446655440000", TEST_TEXTURE, false).contentHash());
+            assertNotEquals(base, new ConfigSyncPacket(TEST_NAME, TEST_UUID, "", false).contentHash());
+            assertNotEquals(base, new ConfigSyncPacket(TEST_NAME, TEST_UUID, TEST_TEXTURE, true).contentHash());
+        }
+
+        @Test
+        @DisplayName("Moving characters between fields changes the hash")
+        void shiftedFieldBoundary_changesHash() {
+            ConfigSyncPacket first = new ConfigSyncPacket("ab", "c", "", false);
+            ConfigSyncPacket second = new ConfigSyncPacket("a", "bc", "", false);
+
+            assertNotEquals(first.contentHash(), second.contentHash());
+        }
+
+        @Test
+        @DisplayName("Hash never equals the no-cache marker")
+        void hash_neverEqualsNoCache() {
+            ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, TEST_UUID, TEST_TEXTURE, true);
+
+            assertNotEquals(ConfigHelloPacket.NO_CACHE, packet.contentHash());
+        }
+    }
+
+    @Nested
+    @DisplayName("Wire format")
+    class WireFormatTests {
+
+        private static final String FULL_TEXTURE =
+                "http://textures.minecraft.net/texture/1a4af718455d4aab528e7a61f86fa25e6a369d1768dcb13f7df319a713eb810b";
+
+        private ConfigSyncPacket roundTrip(ConfigSyncPacket packet) {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            packet.encode(buf);
+            ConfigSyncPacket decoded = ConfigSyncPacket.decode(buf);
+            assertEquals(0, buf.readableBytes(), "decode should consume the whole packet");
+            return decoded;
+        }
+
+        private void assertSameValues(ConfigSyncPacket expected, ConfigSyncPacket actual) {
+            assertEquals(expected.getTargetPlayerName(), actual.getTargetPlayerName());
+            assertEquals(expected.getTargetPlayerUUID(), actual.getTargetPlayerUUID());
+            assertEquals(expected.getTargetPlayerTexture(), actual.getTargetPlayerTexture());
+            assertEquals(expected.isEnableTestCrat(), actual.isEnableTestCrat());
+        }
+
+        private int encodedSize(ConfigSyncPacket packet, boolean legacy) {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            if (legacy) {
+                packet.encodeLegacy(buf);
+            } else {
+                packet.encode(buf);
+            }
+            return buf.readableBytes();
+        }
+
+        @Test
+        @DisplayName("Typical config round-trips")
+        void typicalConfig_roundTrips() {
+            ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, "550e8400-e29b-41d4-a716-446655440000", FULL_TEXTURE, true);
+
+            assertSameValues(packet, roundTrip(packet));
+        }
+
+        @Test
+        @DisplayName("Every texture prefix round-trips")
+        void texturePrefixes_roundTrip() {
+            String[] textures = {
+                    FULL_TEXTURE,
+                    "https://textures.minecraft.net/texture/abc123",
+                    "https://crafatar.com/skins/550e8400-e29b-41d4-a716-446655440000",
+                    "https://crafatar.com/skins/not-a-uuid",
+                    "https://example.com/skin.png",
+                    ""
+            };
+            for (String texture : textures) {
+                ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, TEST_UUID, texture, false);
+
+                assertEquals(texture, roundTrip(packet).getTargetPlayerTexture());
+            }
+        }
+
+        @Test
+        @DisplayName("Odd-length and zero-led texture hashes round-trip")
+        void oddLengthHashes_roundTrip() {
+            String[] hashes = {"abc", "0bc", "0", "00", "f", "0a1b2c3d4e5f6"};
+            for (String hash : hashes) {
+                String texture = "http://textures.minecraft.net/texture/" + hash;
+                ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, TEST_UUID, texture, false);
+
+                assertEquals(texture, roundTrip(packet).getTargetPlayerTexture());
+            }
+        }
+
+        @Test
+        @DisplayName("Non-canonical UUID strings are preserved exactly")
+        void nonCanonicalUuids_arePreserved() {
+            String[] uuids = {"", "not-a-uuid", "550E8400-E29B-41D4-A716-446655440000", "1-2-3-4-5"};
+            for (String uuid : uuids) {
+                ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, uuid, "", false);
+
+                assertEquals(uuid, roundTrip(packet).getTargetPlayerUUID());
+            }
+        }
+
+        @Test
+        @DisplayName("Legacy format round-trips")
+        void legacyFormat_roundTrips() {
+            ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, TEST_UUID, FULL_TEXTURE, true);
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+
+            packet.encodeLegacy(buf);
+
+            assertSameValues(packet, ConfigSyncPacket.decodeLegacy(buf));
+        }
+
+        @Test
+        @DisplayName("Compact format is less than half the legacy size for a typical config")
+        void compactFormat_isSmallerThanLegacy() {
+            ConfigSyncPacket packet = new ConfigSyncPacket(TEST_NAME, "550e8400-e29b-41d4-a716-446655440000", FULL_TEXTURE, true);
+
+            int compact = encodedSize(packet, false);
+            int legacy = encodedSize(packet, true);
+
+            // flags + name + 16 UUID bytes + texture header + length + 32 hash bytes
+            assertEquals(1 + 1 + TEST_NAME.length() + 16 + 1 + 1 + 32, compact);
+            assertEquals(1 + TEST_NAME.length() + 1 + 36 + 1 + FULL_TEXTURE.length() + 1, legacy);
+            assertTrue(compact * 2 < legacy, "compact=" + compact + " legacy=" + legacy);
+        }
+
+        @Test
+        @DisplayName("Unknown texture prefix ids are rejected")
+        void unknownTexturePrefix_isRejected() {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeByte(0);
+            buf.writeUtf(TEST_NAME);
+            buf.writeUtf(TEST_UUID);
+            buf.writeByte(15 << 2);
+
+            assertThrows(IllegalArgumentException.class, () -> ConfigSyncPacket.decode(buf));
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package xyz.nineworlds.cratbat.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import xyz.nineworlds.cratbat.diagnostics.NetStats;
+import xyz.nineworlds.cratbat.diagnostics.NetStats.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for SharedSend.
+ * Sends a swat effect through the counting encoder to several recipients
+ * and checks that it is encoded once but counted for every recipient.
+ */
+class SharedSendTest {
+
+    private static final ResourceLocation CHANNEL_NAME = ResourceLocation.fromNamespaceAndPath("cratbat", "main");
+
+    private final BiConsumer<SwatEffectPacket, FriendlyByteBuf> encoder =
+            NetStats.countingEncoder(SwatEffectPacket.class, SwatEffectPacket::encode);
+    private final List<Packet<?>> encoded = new ArrayList<>();
+    private final List<Packet<?>> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        NetStats.reset();
+    }
+
+    private Packet<?> encode(Object message) {
+        FriendlyByteBuf payload = new FriendlyByteBuf(Unpooled.buffer());
+        encoder.accept((SwatEffectPacket) message, payload);
+        Packet<?> packet = new ClientboundCustomPayloadPacket(CHANNEL_NAME, payload);
+        encoded.add(packet);
+        return packet;
+    }
+
+    private static NetStats.MessageStats stats() {
+        return NetStats.register(SwatEffectPacket.class);
+    }
+
+    @Test
+    @DisplayName("Several recipients share one encode but are each counted as sent")
+    void send_countsEveryRecipient() {
+        int sends = SharedSend.send(List.of(1, 2, 3, 4, 5), recipient -> true, new SwatEffectPacket(1.5, 64, -3.25),
+                this::encode, (recipient, packet) -> received.add(packet));
+
+        assertEquals(5, sends);
+        assertEquals(1, encoded.size());
+        assertEquals(5, received.size());
+        for (Packet<?> packet : received) {
+            assertSame(encoded.get(0), packet);
+        }
+        assertEquals(5, stats().getPackets(Direction.SENT));
+        assertEquals(5 * 3 * Double.BYTES, stats().getBytes(Direction.SENT));
+    }
+
+    @Test
+    @DisplayName("Rejected recipients are neither sent to nor counted")
+    void send_skipsRejectedRecipients() {
+        int sends = SharedSend.send(List.of(1, 2, 3, 4, 5), recipient -> recipient % 2 == 1, new SwatEffectPacket(0, 0, 0),
+                this::encode, (recipient, packet) -> received.add(packet));
+
+        assertEquals(3, sends);
+        assertEquals(1, encoded.size());
+        assertEquals(3, stats().getPackets(Direction.SENT));
+    }
+
+    @Test
+    @DisplayName("A send with no recipients never encodes the message")
+    void send_noRecipients() {
+        int sends = SharedSend.send(List.<Integer>of(), recipient -> true, new SwatEffectPacket(0, 0, 0),
+                this::encode, (recipient, packet) -> received.add(packet));
+
+        assertEquals(0, sends);
+        assertEquals(0, encoded.size());
+        assertEquals(0, stats().getPackets(Direction.SENT));
+    }
+}
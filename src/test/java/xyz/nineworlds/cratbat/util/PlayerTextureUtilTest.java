@@ -1,25 +1,167 @@
 package xyz.nineworlds.cratbat.util;
 
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for PlayerTextureUtil.
- * Note: Tests for getTextureUrl(GameProfile) would require mocking
- * Mojang's authlib which is complex. These tests focus on the
- * fallback and UUID-based methods.
+ * GameProfile and Property are plain value classes, so texture properties
+ * are built directly in the same format Mojang's session server uses.
  */
 class PlayerTextureUtilTest {
 
     private static final String VALID_UUID = "550e8400-e29b-41d4-a716-446655440000";
     private static final UUID VALID_UUID_OBJ = UUID.fromString(VALID_UUID);
+    private static final String SKIN_URL = "http://textures.minecraft.net/texture/"
+            + "4ab2f0c8e1d7a3b5c9e2f1a0b3c4d5e6f7a8b9c0d1e2f3a4b5c6d7e8f9a0b1c2";
+    private static final String SESSION_JSON = "{\n  \"timestamp\" : 1700000000000,\n"
+            + "  \"profileId\" : \"550e8400e29b41d4a716446655440000\",\n  \"profileName\" : \"SKIN\",\n"
+            + "  \"signatureRequired\" : true,\n  \"textures\" : {\n    \"SKIN\" : {\n"
+            + "      \"url\" : \"" + SKIN_URL + "\",\n      \"metadata\" : {\n        \"model\" : \"slim\"\n      }\n"
+            + "    },\n    \"CAPE\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/cape\"\n    }\n  }\n}";
+
+    private static String encode(String json) {
+        return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static GameProfile profileWith(String value, String signature) {
+        GameProfile profile = new GameProfile(VALID_UUID_OBJ, "TestCrat");
+        profile.getProperties().put("textures", new Property("textures", value, signature));
+        return profile;
+    }
+
+    @Nested
+    @DisplayName("Skin URL scanner")
+    class ScannerTests {
+
+        @Test
+        @DisplayName("Finds the skin URL in a session server payload")
+        void scan_sessionPayload() {
+            assertEquals(SKIN_URL, PlayerTextureUtil.scanSkinUrl(bytes(SESSION_JSON)));
+        }
+
+        @Test
+        @DisplayName("Finds the skin URL in compact JSON")
+        void scan_compactJson() {
+            String json = "{\"textures\":{\"SKIN\":{\"url\":\"" + SKIN_URL + "\"}}}";
+
+            assertEquals(SKIN_URL, PlayerTextureUtil.scanSkinUrl(bytes(json)));
+        }
+
+        @Test
+        @DisplayName("Leaves a url after other SKIN keys to Gson")
+        void scan_urlNotFirst_returnsNull() {
+            String json = "{\"textures\":{\"SKIN\":{\"metadata\":{\"model\":\"slim\"},\"url\":\"" + SKIN_URL + "\"}}}";
+
+            assertNull(PlayerTextureUtil.scanSkinUrl(bytes(json)));
+            assertEquals(SKIN_URL, PlayerTextureUtil.parseSkinUrl(bytes(json)));
+        }
+
+        @Test
+        @DisplayName("Leaves escaped URLs to Gson")
+        void scan_escapedUrl_returnsNull() {
+            String json = "{\"textures\":{\"SKIN\":{\"url\":\"http:\\/\\/textures.minecraft.net\\/texture\\/abc\"}}}";
+
+            assertNull(PlayerTextureUtil.scanSkinUrl(bytes(json)));
+            assertEquals("http://textures.minecraft.net/texture/abc", PlayerTextureUtil.parseSkinUrl(bytes(json)));
+        }
+
+        @Test
+        @DisplayName("Payloads without a skin are left to Gson")
+        void scan_noSkin_returnsNull() {
+            String json = "{\"textures\":{\"CAPE\":{\"url\":\"http://textures.minecraft.net/texture/cape\"}}}";
+
+            assertNull(PlayerTextureUtil.scanSkinUrl(bytes(json)));
+            assertEquals("", PlayerTextureUtil.decodeSkinUrl(encode(json)));
+        }
+
+        @Test
+        @DisplayName("Truncated payloads are left to Gson")
+        void scan_truncated_returnsNull() {
+            String json = "{\"textures\":{\"SKIN\":{\"url\":\"http://textures.mine";
+
+            assertNull(PlayerTextureUtil.scanSkinUrl(bytes(json)));
+            assertEquals("", PlayerTextureUtil.decodeSkinUrl(encode(json)));
+        }
+
+        @Test
+        @DisplayName("Invalid base64 yields an empty URL")
+        void decode_invalidBase64_returnsEmpty() {
+            assertEquals("", PlayerTextureUtil.decodeSkinUrl("not base64!"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Texture URL cache")
+    class CacheTests {
+
+        @BeforeEach
+        void setUp() {
+            PlayerTextureUtil.clearCache();
+        }
+
+        @Test
+        @DisplayName("Repeated lookups of a property are cache hits")
+        void repeatedLookup_hitsCache() {
+            GameProfile profile = profileWith(encode(SESSION_JSON), "signature");
+
+            assertEquals(SKIN_URL, PlayerTextureUtil.getTextureUrl(profile));
+            assertEquals(SKIN_URL, PlayerTextureUtil.getTextureUrl(profile));
+            assertEquals(SKIN_URL, PlayerTextureUtil.getTextureUrl(profileWith(encode(SESSION_JSON), "signature")));
+
+            PlayerTextureUtil.CacheStats stats = PlayerTextureUtil.getCacheStats();
+            assertEquals(1, stats.misses());
+            assertEquals(2, stats.hits());
+            assertEquals(1, stats.size());
+        }
+
+        @Test
+        @DisplayName("The same value with another signature is cached separately")
+        void differentSignature_misses() {
+            PlayerTextureUtil.getTextureUrl(profileWith(encode(SESSION_JSON), "first"));
+            PlayerTextureUtil.getTextureUrl(profileWith(encode(SESSION_JSON), "second"));
+            PlayerTextureUtil.getTextureUrl(profileWith(encode(SESSION_JSON), null));
+
+            assertEquals(3, PlayerTextureUtil.getCacheStats().misses());
+        }
+
+        @Test
+        @DisplayName("The cache stays bounded")
+        void manyProperties_boundedSize() {
+            for (int i = 0; i < 1000; i++) {
+                String json = "{\"textures\":{\"SKIN\":{\"url\":\"http://textures.minecraft.net/texture/" + i + "\"}}}";
+                PlayerTextureUtil.getTextureUrl(profileWith(encode(json), null));
+            }
+
+            assertTrue(PlayerTextureUtil.getCacheStats().size() < 1000);
+        }
+
+        @Test
+        @DisplayName("Profiles without a skin fall back to the UUID-based URL")
+        void noSkin_usesFallback() {
+            String json = "{\"textures\":{}}";
+
+            assertEquals(PlayerTextureUtil.getFallbackTextureUrl(VALID_UUID_OBJ),
+                    PlayerTextureUtil.getTextureUrl(profileWith(encode(json), null)));
+        }
+    }
 
     @Nested
     @DisplayName("getFallbackTextureUrl tests")
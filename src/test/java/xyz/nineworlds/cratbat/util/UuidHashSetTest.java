@@ -0,0 +1,173 @@
+package xyz.nineworlds.cratbat.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for UuidHashSet.
+ * Tests membership, removal with probe chains, growth and copies.
+ */
+class UuidHashSetTest {
+
+    private static final UUID UUID_A = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final UUID UUID_B = UUID.fromString("12345678-1234-1234-1234-123456789012");
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    @Nested
+    @DisplayName("Membership tests")
+    class MembershipTests {
+
+        @Test
+        @DisplayName("Added UUID is contained")
+        void addedUuid_isContained() {
+            UuidHashSet set = new UuidHashSet();
+
+            assertTrue(set.add(UUID_A));
+            assertTrue(set.contains(UUID_A));
+            assertFalse(set.contains(UUID_B));
+            assertEquals(1, set.size());
+        }
+
+        @Test
+        @DisplayName("Adding a duplicate does not change the set")
+        void duplicateAdd_returnsFalse() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A);
+
+            assertFalse(set.add(UUID.fromString(UUID_A.toString())));
+            assertEquals(1, set.size());
+        }
+
+        @Test
+        @DisplayName("Nil and null UUIDs are never stored")
+        void nilAndNull_areRejected() {
+            UuidHashSet set = new UuidHashSet();
+
+            assertFalse(set.add(NIL_UUID));
+            assertFalse(set.add((UUID) null));
+            assertFalse(set.contains(NIL_UUID));
+            assertFalse(set.contains((UUID) null));
+            assertTrue(set.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Primitive overloads match UUID overloads")
+        void primitiveOverloads_matchUuidOverloads() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A.getMostSignificantBits(), UUID_A.getLeastSignificantBits());
+
+            assertTrue(set.contains(UUID_A));
+        }
+    }
+
+    @Nested
+    @DisplayName("Removal tests")
+    class RemovalTests {
+
+        @Test
+        @DisplayName("Removed UUID is no longer contained")
+        void removedUuid_isNotContained() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A);
+            set.add(UUID_B);
+
+            assertTrue(set.remove(UUID_A));
+            assertFalse(set.contains(UUID_A));
+            assertTrue(set.contains(UUID_B));
+            assertEquals(1, set.size());
+        }
+
+        @Test
+        @DisplayName("Removing a missing UUID returns false")
+        void removingMissing_returnsFalse() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A);
+
+            assertFalse(set.remove(UUID_B));
+            assertEquals(1, set.size());
+        }
+
+        @Test
+        @DisplayName("Random adds and removes agree with HashSet")
+        void randomOperations_matchHashSet() {
+            Random random = new Random(42);
+            UuidHashSet set = new UuidHashSet();
+            Set<UUID> expected = new HashSet<>();
+
+            // Small bit ranges force plenty of collisions and long probe chains
+            for (int i = 0; i < 10_000; i++) {
+                UUID uuid = new UUID(random.nextInt(64) + 1, random.nextInt(4));
+                if (random.nextBoolean()) {
+                    assertEquals(expected.add(uuid), set.add(uuid));
+                } else {
+                    assertEquals(expected.remove(uuid), set.remove(uuid));
+                }
+            }
+
+            assertEquals(expected.size(), set.size());
+            for (UUID uuid : expected) {
+                assertTrue(set.contains(uuid));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Growth and copy tests")
+    class GrowthAndCopyTests {
+
+        @Test
+        @DisplayName("Set grows past its initial capacity")
+        void set_growsPastInitialCapacity() {
+            UuidHashSet set = new UuidHashSet(1);
+            for (int i = 1; i <= 1000; i++) {
+                set.add(new UUID(i, -i));
+            }
+
+            assertEquals(1000, set.size());
+            for (int i = 1; i <= 1000; i++) {
+                assertTrue(set.contains(new UUID(i, -i)));
+            }
+        }
+
+        @Test
+        @DisplayName("Copy is independent of the original")
+        void copy_isIndependent() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A);
+
+            UuidHashSet copy = set.copy();
+            copy.add(UUID_B);
+            set.remove(UUID_A);
+
+            assertTrue(copy.contains(UUID_A));
+            assertTrue(copy.contains(UUID_B));
+            assertFalse(set.contains(UUID_A));
+            assertFalse(set.contains(UUID_B));
+        }
+
+        @Test
+        @DisplayName("toList returns every UUID")
+        void toList_returnsEveryUuid() {
+            UuidHashSet set = new UuidHashSet();
+            set.add(UUID_A);
+            set.add(UUID_B);
+
+            List<UUID> list = set.toList();
+
+            assertEquals(2, list.size());
+            assertTrue(list.contains(UUID_A));
+            assertTrue(list.contains(UUID_B));
+        }
+    }
+}